@@ -0,0 +1,84 @@
+package highlighter.bench;
+
+import highlighter.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Parantez indeksinin kurulması, sorguları ve düzenlemeyle güncellenmesi
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BracketBenchmark {
+    @Param({"MIXED", "NESTED"})
+    public Inputs.Shape shape;
+
+    @Param({"262144"})
+    public int size;
+
+    private static final int QUERIES = 1024;
+
+    private final Lexer lexer = new Lexer(true);
+    private TokenStream tokens;
+    private BracketIndex brackets;
+    private final int[] offsets = new int[QUERIES];
+    private int editOffset;
+    private String withLetter; // Ortadaki bir token'ın başına "z" eklenmiş
+    private String withBrace;  // Aynı yere "{" eklenmiş; sonraki bütün eşler değişir
+
+    @Setup
+    public void setup() throws LexicalException {
+        String source = Inputs.generate(shape, size);
+        tokens = lexer.tokenizeStream(source);
+        brackets = tokens.getBrackets();
+        Random random = new Random(42);
+        for (int i = 0; i < QUERIES; i++) {
+            offsets[i] = random.nextInt(source.length());
+        }
+        editOffset = tokens.start(tokens.size() / 2);
+        withLetter = source.substring(0, editOffset) + "z" + source.substring(editOffset);
+        withBrace = source.substring(0, editOffset) + "{" + source.substring(editOffset);
+    }
+
+    // Lexer'dan geçmemiş bir akış için baştan kurulum
+    @Benchmark
+    public BracketIndex build() {
+        return BracketIndex.of(tokens);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int matchAt() {
+        int sum = 0;
+        for (int offset : offsets) {
+            sum += brackets.matchAt(offset);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int enclosing() {
+        int sum = 0;
+        for (int offset : offsets) {
+            sum += brackets.enclosing(offset);
+        }
+        return sum;
+    }
+
+    // Eşleşmeler değişmez, sadece düzenlemenin bloğu yeniden eşleştirilir
+    @Benchmark
+    public RelexResult retokenizeLetter() throws LexicalException {
+        return lexer.retokenize(tokens, withLetter, editOffset, 0, 1);
+    }
+
+    // Sonraki bütün parantezlerin eşleri değişir, en kötü durum
+    @Benchmark
+    public RelexResult retokenizeBrace() throws LexicalException {
+        return lexer.retokenize(tokens, withBrace, editOffset, 0, 1);
+    }
+}
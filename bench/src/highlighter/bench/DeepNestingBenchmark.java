@@ -0,0 +1,40 @@
+package highlighter.bench;
+
+import highlighter.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Bir milyon seviye iç içe ifadenin ayrıştırma süresi. Bütün ayrıştırma yollarının küçük yığında
+// hatasız bittiği DeepNestingTest'te denetlenir.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xss512k")
+public class DeepNestingBenchmark {
+    @Param({"PARENTHESES", "UNARY", "MIXED"})
+    public Inputs.Nesting nesting;
+
+    @Param({"1000000"})
+    public int depth;
+
+    private TokenStream tokens;
+
+    @Setup
+    public void setup() throws LexicalException {
+        tokens = new Lexer().tokenizeStream(Inputs.deeplyNested(nesting, depth));
+    }
+
+    @Benchmark
+    public List<String> parse() {
+        return new Parser(tokens).parse();
+    }
+
+    @Benchmark
+    public SyntaxTree parseTree() {
+        return new Parser(tokens).parseTree();
+    }
+}
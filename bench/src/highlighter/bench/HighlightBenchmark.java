@@ -0,0 +1,43 @@
+package highlighter.bench;
+
+import highlighter.core.*;
+import highlighter.gui.DocumentHighlighter;
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultStyledDocument;
+import java.util.concurrent.TimeUnit;
+
+// Arayüzdeki stil uygulama döngüsü, ekran açmadan bir DefaultStyledDocument üzerinde
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class HighlightBenchmark {
+    @Param({"MIXED", "COMMENTS"})
+    public Inputs.Shape shape;
+
+    @Param({"65536"})
+    public int size;
+
+    private DefaultStyledDocument doc;
+    private DocumentHighlighter highlighter;
+    private TokenStream tokens;
+
+    @Setup(Level.Iteration)
+    public void setup() throws LexicalException, BadLocationException {
+        String source = Inputs.generate(shape, size);
+        doc = new DefaultStyledDocument();
+        doc.insertString(0, source, null);
+        highlighter = new DocumentHighlighter(doc);
+        tokens = new Lexer().tokenizeStream(source);
+    }
+
+    // Bütün belgenin her tuş vuruşunda yeniden boyanması
+    @Benchmark
+    public void applyFullDocument() {
+        highlighter.apply(tokens, 0, doc.getLength());
+    }
+}
@@ -0,0 +1,96 @@
+package highlighter.bench;
+
+import java.util.Random;
+
+// Benchmark'lar için farklı biçimlerde, tekrarlanabilir kaynak metinleri üretir.
+// COMMENTS dışındaki biçimler Parser'ın kabul ettiği ifadelerden oluşur, böylece parse
+// benchmark'ları ilk hatada durmadan bütün girdiyi işler.
+public final class Inputs {
+    public enum Shape {
+        MIXED,      // Karışık deyimler, bildirimler ve döngüler
+        COMMENTS,   // Yorum ağırlıklı
+        STRINGS,    // String ve karakter literali ağırlıklı
+        OPERATORS,  // Operatör yoğun ifadeler
+        NESTED      // İç içe bloklar ve parantezler
+    }
+
+    private Inputs() {
+    }
+
+    public static String generate(Shape shape, int size) {
+        StringBuilder sb = new StringBuilder(size + 256);
+        Random random = new Random(42);
+        while (sb.length() < size) {
+            int n = random.nextInt(1000);
+            switch (shape) {
+                case MIXED:
+                    sb.append("int count").append(n).append(" = ").append(n).append(";\n")
+                            .append("for (int i = 0; i < count").append(n).append("; i++) { total + values * 2.5f; }\n")
+                            .append("if (x != y) { return x; } else { y++; }\n")
+                            .append("while (a && !b) { n--; }\n");
+                    break;
+                case COMMENTS:
+                    sb.append("// satır yorumu ").append(n).append('\n')
+                            .append("/* blok yorum\n * ").append(n).append("\n */\n")
+                            .append("int value").append(n).append(" = ").append(n).append("; // sonda yorum\n");
+                    break;
+                case STRINGS:
+                    sb.append("name + \"value \\\"quoted\\\" text ").append(n).append("\" + '\\n' + 'x';\n")
+                            .append("char c").append(n).append(" = 'q';\n");
+                    break;
+                case OPERATORS:
+                    sb.append("a + b * c - d / e % f < g && h >= i || !j != k == l;\n")
+                            .append("x++ + ++y - -z * (p <= q);\n");
+                    break;
+                case NESTED:
+                    appendNested(sb, 20, n);
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    public enum Nesting {
+        PARENTHESES, // x + ((((1))));
+        UNARY,       // x + !!!!y;
+        MIXED        // x + (-!(-!(-!y)));
+    }
+
+    // Tek bir ifade statement'ı, ifade depth seviye iç içe
+    public static String deeplyNested(Nesting nesting, int depth) {
+        StringBuilder sb = new StringBuilder(depth * 3 + 16).append("x + ");
+        for (int i = 0; i < depth; i++) {
+            switch (nesting) {
+                case PARENTHESES:
+                    sb.append('(');
+                    break;
+                case UNARY:
+                    sb.append('!');
+                    break;
+                case MIXED:
+                    sb.append(i % 3 == 0 ? '(' : i % 3 == 1 ? '-' : '!');
+                    break;
+            }
+        }
+        sb.append(nesting == Nesting.PARENTHESES ? "1" : "y");
+        if (nesting != Nesting.UNARY) {
+            int closing = nesting == Nesting.MIXED ? (depth + 2) / 3 : depth;
+            for (int i = 0; i < closing; i++) sb.append(')');
+        }
+        return sb.append(";\n").toString();
+    }
+
+    private static void appendNested(StringBuilder sb, int depth, int n) {
+        for (int i = 0; i < depth; i++) {
+            sb.append("if (a").append(i).append(") {\n");
+        }
+        sb.append("x + ");
+        for (int i = 0; i < depth; i++) sb.append('(');
+        sb.append(n);
+        for (int i = 0; i < depth; i++) sb.append(')');
+        sb.append(";\n");
+        for (int i = 0; i < depth; i++) {
+            sb.append("}\n");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package highlighter.bench;
+
+import highlighter.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Lexer'ın farklı girdi biçimlerindeki tarama hızı
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+    @Param({"MIXED", "COMMENTS", "STRINGS", "OPERATORS", "NESTED"})
+    public Inputs.Shape shape;
+
+    @Param({"262144"})
+    public int size;
+
+    private final Lexer lexer = new Lexer();
+    private String source;
+    private TokenStream previous;
+    private String edited;
+    private int editOffset;
+
+    @Setup
+    public void setup() throws LexicalException {
+        source = Inputs.generate(shape, size);
+        previous = lexer.tokenizeStream(source);
+        // Dosyanın ortasındaki bir token'ın başına tek karakter eklenir
+        editOffset = previous.start(previous.size() / 2);
+        edited = source.substring(0, editOffset) + "z" + source.substring(editOffset);
+    }
+
+    @Benchmark
+    public List<Token> tokenize() throws LexicalException {
+        return lexer.tokenize(source);
+    }
+
+    @Benchmark
+    public TokenStream tokenizeStream() throws LexicalException {
+        return lexer.tokenizeStream(source);
+    }
+
+    @Benchmark
+    public int tokenizeReader() throws IOException, LexicalException {
+        int[] count = new int[1];
+        lexer.tokenize(new StringReader(source), (type, start, end) -> count[0]++);
+        return count[0];
+    }
+
+    @Benchmark
+    public RelexResult retokenizeSingleEdit() throws LexicalException {
+        return lexer.retokenize(previous, edited, editOffset, 0, 1);
+    }
+}
@@ -0,0 +1,79 @@
+package highlighter.bench;
+
+import highlighter.core.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Önceden taranmış token akışı üzerinde Parser.parse, accepts, checkBalancedBrackets ve hata denetimi
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    // Parser yorum token'larını kabul etmediği için COMMENTS biçimi burada yok
+    @Param({"MIXED", "STRINGS", "OPERATORS", "NESTED"})
+    public Inputs.Shape shape;
+
+    @Param({"262144"})
+    public int size;
+
+    private TokenStream tokens;
+
+    // Dosyanın ortasına tek karakter ekleyen düzenleme ve onu geri alan düzenleme
+    private final IncrementalParser incremental = new IncrementalParser();
+    private RelexResult edit;
+    private RelexResult undo;
+
+    @Setup
+    public void setup() throws LexicalException {
+        String source = Inputs.generate(shape, size);
+        Lexer lexer = new Lexer(true);
+        tokens = lexer.tokenizeStream(source);
+        List<String> errors = new Parser(tokens).parse();
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Benchmark girdisi ayrıştırılamadı: " + errors);
+        }
+
+        int offset = tokens.start(tokens.size() / 2);
+        String edited = source.substring(0, offset) + "z" + source.substring(offset);
+        edit = lexer.retokenize(tokens, edited, offset, 0, 1);
+        undo = lexer.retokenize(edit.getTokens(), source, offset, 1, 0);
+        incremental.parse(tokens);
+    }
+
+    @Benchmark
+    public List<String> parse() {
+        return new Parser(tokens).parse();
+    }
+
+    // LL(1) tablosuyla kabul denetimi, hata mesajı üretilmez
+    @Benchmark
+    public boolean accepts() {
+        return new Parser(tokens).accepts();
+    }
+
+    @Benchmark
+    public SyntaxTree parseTree() {
+        return new Parser(tokens).parseTree();
+    }
+
+    @Benchmark
+    public List<Diagnostic> diagnose() {
+        return new Parser(tokens).diagnose();
+    }
+
+    // Düzenleme ve geri alma sırayla uygulanır, böylece ağaç her çağrıda akışla uyumlu kalır
+    @Benchmark
+    public int diagnoseIncrementalEditAndUndo() {
+        return incremental.update(edit).size() + incremental.update(undo).size();
+    }
+
+    @Benchmark
+    public boolean checkBalancedBrackets() {
+        return new Parser(tokens).checkBalancedBrackets();
+    }
+}
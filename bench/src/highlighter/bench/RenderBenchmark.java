@@ -0,0 +1,50 @@
+package highlighter.bench;
+
+import highlighter.core.LexicalException;
+import highlighter.gui.Theme;
+import highlighter.render.AnsiRenderer;
+import highlighter.render.HtmlRenderer;
+import highlighter.render.SourceRenderer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+// HTML ve ANSI çıktısının hızı. Çıktı atılır, ölçülen tarama ve yazma maliyetidir;
+// MB/s = ops/s * size / 1e6. Bellek kullanımı boyuttan bağımsız olmalıdır (B/op sabit kalır).
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    public enum Format { HTML, ANSI }
+
+    @Param({"MIXED", "COMMENTS"})
+    public Inputs.Shape shape;
+
+    @Param({"HTML", "ANSI"})
+    public Format format;
+
+    @Param({"262144", "4194304"})
+    public int size;
+
+    private String source;
+    private SourceRenderer renderer;
+    private Writer out;
+
+    @Setup
+    public void setup() {
+        source = Inputs.generate(shape, size);
+        renderer = format == Format.HTML ? new HtmlRenderer(Theme.DARK) : new AnsiRenderer(Theme.DARK);
+        out = Writer.nullWriter();
+    }
+
+    @Benchmark
+    public void render() throws IOException, LexicalException {
+        renderer.render(new StringReader(source), out);
+    }
+}
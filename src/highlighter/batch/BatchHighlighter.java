@@ -0,0 +1,232 @@
+package highlighter.batch;
+
+import highlighter.cache.AnalysisCache;
+import highlighter.core.*;
+import highlighter.index.MappedTokenIndex;
+import highlighter.metrics.Metrics;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Bir dizindeki bütün kaynak dosyalarını arayüz olmadan tarayıp denetleyen komut satırı modu.
+// Kullanım: BatchHighlighter <dizin> [-t thread sayısı] [-e uzantı] [-q] [-c önbellek (MB)] [-i indeks dizini] [-s ölçüm dosyası]
+public class BatchHighlighter {
+    private final int threads;
+    private final String extension;
+    private final boolean quiet;
+    private final PrintStream out;
+    private final AnalysisCache cache; // Aynı içerikli dosyalar ve tekrarlanan run çağrıları için, yoksa null
+    private final Path indexDirectory; // Çalıştırmalar arasında saklanan token indeksleri, yoksa null
+
+    // Lexer durum tuttuğu ve thread-safe olmadığı için her worker kendi örneğini kullanır.
+    // Hata kurtarma modunda çalışır, böylece bir dosyadaki bütün hatalar tek geçişte raporlanır.
+    private final ThreadLocal<Lexer> lexers = ThreadLocal.withInitial(() -> new Lexer(true));
+
+    private final LongAdder files = new LongAdder();
+    private final LongAdder failedFiles = new LongAdder();
+    private final LongAdder tokens = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder indexHits = new LongAdder();
+
+    public BatchHighlighter(int threads, String extension, boolean quiet, PrintStream out) {
+        this(threads, extension, quiet, out, null);
+    }
+
+    public BatchHighlighter(int threads, String extension, boolean quiet, PrintStream out, AnalysisCache cache) {
+        this(threads, extension, quiet, out, cache, null);
+    }
+
+    // indexDirectory verilirse her dosyanın token'ları orada, dizindeki göreli yoluyla ve ".tok"
+    // uzantısıyla saklanır; içeriği değişmeyen dosyalar sonraki çalıştırmalarda yeniden taranmaz.
+    // cache ile indexDirectory'den en fazla biri verilebilir.
+    public BatchHighlighter(int threads, String extension, boolean quiet, PrintStream out, AnalysisCache cache,
+                            Path indexDirectory) {
+        if (cache != null && indexDirectory != null) {
+            throw new IllegalArgumentException("cache and indexDirectory cannot be combined");
+        }
+        this.threads = threads;
+        this.extension = extension;
+        this.quiet = quiet;
+        this.out = out;
+        this.cache = cache;
+        this.indexDirectory = indexDirectory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path root = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String extension = ".java";
+        boolean quiet = false;
+        AnalysisCache cache = null;
+        Path indexDirectory = null;
+        Path metricsFile = null; // Verilirse aşama süreleri toplanır ve sonunda JSON olarak yazılır
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-t": threads = Integer.parseInt(args[++i]); break;
+                case "-e": extension = args[++i]; break;
+                case "-q": quiet = true; break;
+                case "-c": cache = new AnalysisCache(Long.parseLong(args[++i]) * 1024 * 1024); break;
+                case "-i": indexDirectory = Paths.get(args[++i]); break;
+                case "-s": metricsFile = Paths.get(args[++i]); break;
+                default: root = Paths.get(args[i]);
+            }
+        }
+        // Önbellek token akışı tuttuğu için eşlenmiş indeksle birlikte kullanılamaz
+        if (root == null || cache != null && indexDirectory != null) {
+            if (root != null) System.err.println("-c ve -i birlikte kullanılamaz");
+            System.err.println("Kullanım: BatchHighlighter <dizin> [-t thread sayısı] [-e uzantı] [-q] [-c önbellek (MB)] [-i indeks dizini] [-s ölçüm dosyası]");
+            System.exit(2);
+        }
+        if (metricsFile != null) Metrics.setEnabled(true);
+        BatchHighlighter batch = new BatchHighlighter(threads, extension, quiet, System.out, cache, indexDirectory);
+        boolean clean = batch.run(root);
+        if (metricsFile != null) Metrics.writeSnapshot(metricsFile);
+        System.exit(clean ? 0 : 1);
+    }
+
+    // Dizini dolaşır, sonuçları bittikçe yazar ve hatasız bittiyse true döner
+    public boolean run(Path root) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // Bellekte bekleyen iş sayısı sınırlı tutulur, dosya listesi toplanmaz
+        Semaphore inFlight = new Semaphore(threads * 4);
+        long begin = System.nanoTime();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.filter(this::accepts)::iterator) {
+                inFlight.acquire();
+                pool.execute(() -> {
+                    try {
+                        report(check(root, path));
+                    } catch (RuntimeException | Error e) {
+                        // check beklenmeyen hataları kendisi raporlar; yine de kaçan olursa dosya
+                        // sessizce atlanmaz, hatalı sayılır
+                        report(new FileResult(path, 0, 0, List.of("Denetlenemedi: " + e)));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        printSummary(System.nanoTime() - begin);
+        return failedFiles.sum() == 0;
+    }
+
+    private boolean accepts(Path path) {
+        return Files.isRegularFile(path) && path.getFileName().toString().endsWith(extension);
+    }
+
+    // Tek bir dosyayı tarar, ayrıştırır ve parantez dengesini kontrol eder; ilk hatada durmaz
+    FileResult check(Path root, Path path) {
+        List<String> diagnostics = new ArrayList<>();
+        int tokenCount = 0;
+        long size = 0;
+        try {
+            byte[] content = Files.readAllBytes(path);
+            size = content.length;
+            String source = new String(content, StandardCharsets.UTF_8);
+            TokenSource stream;
+            List<Diagnostic> found;
+            if (cache != null) {
+                AnalysisCache.Analysis analysis = cache.analyze(source, lexers.get());
+                stream = analysis.getTokens();
+                found = analysis.getDiagnostics();
+            } else {
+                stream = indexDirectory != null ? indexed(root, path, source) : lexers.get().tokenizeStream(source);
+                found = new ArrayList<>(Lexer.diagnostics(stream));
+                found.addAll(new Parser(stream).diagnose());
+            }
+            tokenCount = stream.size();
+            for (Diagnostic diagnostic : found) {
+                diagnostics.add(diagnostic.toString());
+            }
+            if (!new Parser(stream).checkBalancedBrackets()) {
+                diagnostics.add("Unbalanced brackets");
+            }
+        } catch (LexicalException e) {
+            diagnostics.add(e.getMessage());
+        } catch (IOException e) {
+            diagnostics.add("Okunamadı: " + e.getMessage());
+        } catch (RuntimeException | StackOverflowError e) {
+            // Çok derin iç içe bloklar gibi girdiler dosyanın hatası olarak raporlanır
+            diagnostics.add("Denetlenemedi: " + e);
+        }
+        return new FileResult(path, size, tokenCount, diagnostics);
+    }
+
+    // Dosyanın indeksi güncelse eşlenmiş indeks, değilse taranıp indeksi yeniden yazılmış akış
+    private TokenSource indexed(Path root, Path path, String source) throws IOException, LexicalException {
+        Path file = indexDirectory.resolve(root.relativize(path) + ".tok");
+        MappedTokenIndex index = MappedTokenIndex.open(file, source);
+        if (index != null) {
+            indexHits.increment();
+            return index;
+        }
+        TokenStream stream = lexers.get().tokenizeStream(source);
+        MappedTokenIndex.write(file, stream);
+        return stream;
+    }
+
+    private void report(FileResult result) {
+        files.increment();
+        tokens.add(result.tokenCount);
+        bytes.add(result.size);
+        if (!result.diagnostics.isEmpty()) {
+            failedFiles.increment();
+        }
+        if (quiet && result.diagnostics.isEmpty()) return;
+
+        StringBuilder line = new StringBuilder();
+        if (result.diagnostics.isEmpty()) {
+            line.append(result.path).append(": OK (").append(result.tokenCount).append(" tokens)");
+        } else {
+            for (String diagnostic : result.diagnostics) {
+                if (line.length() > 0) line.append('\n');
+                line.append(result.path).append(": ").append(diagnostic);
+            }
+        }
+        out.println(line); // PrintStream kendi içinde senkronize, satırlar karışmaz
+    }
+
+    private void printSummary(long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        long fileCount = files.sum();
+        long tokenCount = tokens.sum();
+        long byteCount = bytes.sum();
+        out.printf("%d dosya (%d hatalı), %d token, %.1f MB, %.2f sn, %d thread%n",
+                fileCount, failedFiles.sum(), tokenCount, byteCount / 1e6, seconds, threads);
+        out.printf("%.0f dosya/sn, %.0f token/sn, %.1f MB/sn%n",
+                fileCount / seconds, tokenCount / seconds, byteCount / 1e6 / seconds);
+        if (cache != null) {
+            out.println("Önbellek: " + cache);
+        }
+        if (indexDirectory != null) {
+            out.printf("İndeks: %d dosya taranmadan okundu%n", indexHits.sum());
+        }
+    }
+
+    // Bir dosyanın denetim sonucu
+    static class FileResult {
+        final Path path;
+        final long size;
+        final int tokenCount;
+        final List<String> diagnostics;
+
+        FileResult(Path path, long size, int tokenCount, List<String> diagnostics) {
+            this.path = path;
+            this.size = size;
+            this.tokenCount = tokenCount;
+            this.diagnostics = diagnostics;
+        }
+    }
+}
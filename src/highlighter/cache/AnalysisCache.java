@@ -0,0 +1,264 @@
+package highlighter.cache;
+
+import highlighter.core.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Kaynak metnin içerik özetine göre token akışı ve hata listesi tutan önbellek. Değişmeyen bir
+// dosya tekrar denetlendiğinde tarama ve ayrıştırma atlanır.
+//
+// Sınır girdi sayısıyla değil tahmini bayt ile konur. Önbellek özetin alt bitlerine göre
+// SEGMENTS parçaya bölünür; her parçanın kendi kilidi ve kendi LRU sırası vardır, böylece worker'lar
+// tek bir kilitte beklemez. Bütçe bütün parçalar için ortaktır: toplam aşılınca parçaların en
+// eski girdileri arasından en uzun süredir kullanılmayanı çıkarılır. Bütçeden büyük tek bir
+// girdi dışında her girdi saklanabilir.
+//
+// Anahtar SourceHash özeti ve metnin uzunluğudur, metin anahtarda karşılaştırılmaz. Çakışma
+// olasılığı önbellek boyutundaki girdi sayıları için ihmal edilecek kadar küçüktür. Saklanan akış
+// put'a verilen metne bağlıdır ve onu bellekte tutar, bu yüzden metin girdinin boyutuna sayılır.
+public final class AnalysisCache {
+    private static final int SEGMENTS = 16;
+    private static final long ENTRY_OVERHEAD = 128; // Girdi, anahtar ve LinkedHashMap düğümü
+
+    private final long maxBytes;
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejected = new LongAdder(); // Bütçenin tamamından büyük olduğu için saklanmayanlar
+    private final AtomicLong bytes = new AtomicLong();  // Saklanan girdilerin tahmini toplam boyutu
+    private final AtomicLong clock = new AtomicLong();  // Girdilerin son kullanım sırası
+
+    public AnalysisCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(clock);
+        }
+    }
+
+    // Kaynağı önbellekten verir ya da lexer ile tarayıp ayrıştırır ve saklar. Lexer hata kurtarma
+    // modunda olmalıdır; hatalar Lexer.diagnostics ve Parser.diagnose sırasıyla listelenir.
+    public Analysis analyze(CharSequence source, Lexer lexer) throws LexicalException {
+        long hash = SourceHash.of(source);
+        Analysis cached = get(hash, source);
+        if (cached != null) return cached;
+
+        TokenStream tokens = lexer.tokenizeStream(source);
+        List<Diagnostic> diagnostics = new ArrayList<>(Lexer.diagnostics(tokens));
+        diagnostics.addAll(new Parser(tokens).diagnose());
+        Analysis analysis = new Analysis(tokens, Collections.unmodifiableList(diagnostics), false);
+        put(hash, source, analysis);
+        return analysis;
+    }
+
+    // Önbellekte varsa kaynağa bağlı bir kopya, yoksa null
+    public Analysis get(CharSequence source) {
+        return get(SourceHash.of(source), source);
+    }
+
+    public void put(CharSequence source, TokenStream tokens, List<Diagnostic> diagnostics) {
+        put(SourceHash.of(source), source, new Analysis(tokens, Collections.unmodifiableList(new ArrayList<>(diagnostics)), false));
+    }
+
+    private Analysis get(long hash, CharSequence source) {
+        Entry entry = segmentOf(hash).get(new Key(hash, source.length()));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // Saklanan akış hiç değiştirilmez, her okuyucu kendi kopyasını alır
+        return new Analysis(entry.tokens.copy(source), entry.diagnostics, true);
+    }
+
+    private void put(long hash, CharSequence source, Analysis analysis) {
+        TokenStream tokens = analysis.getTokens().copy(source);
+        long weight = ENTRY_OVERHEAD + tokens.estimatedBytes() + 2L * source.length();
+        for (Diagnostic diagnostic : analysis.getDiagnostics()) {
+            weight += 64 + 2L * diagnostic.getMessage().length();
+        }
+        if (weight > maxBytes) {
+            rejected.increment();
+            return;
+        }
+        Entry entry = new Entry(tokens, analysis.getDiagnostics(), weight);
+        if (bytes.addAndGet(segmentOf(hash).put(new Key(hash, source.length()), entry)) > maxBytes) {
+            evict(entry);
+        }
+    }
+
+    // Toplam bütçeye inene kadar en uzun süredir kullanılmayan girdileri çıkarır; keep çıkarılmaz.
+    // Parçaların kilitleri sırayla ve tek tek alınır, aynı anda çıkaran thread'ler olursa sıra yaklaşıktır.
+    private void evict(Entry keep) {
+        while (bytes.get() > maxBytes) {
+            Segment victim = null;
+            long oldest = Long.MAX_VALUE;
+            for (Segment segment : segments) {
+                long used = segment.eldestUse(keep);
+                if (used < oldest) {
+                    oldest = used;
+                    victim = segment;
+                }
+            }
+            if (victim == null) return;
+            long freed = victim.removeEldest(oldest);
+            if (freed > 0) {
+                bytes.addAndGet(-freed);
+                evictions.increment();
+            }
+        }
+    }
+
+    private Segment segmentOf(long hash) {
+        return segments[(int) hash & (SEGMENTS - 1)];
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    // Saklanan girdilerin tahmini toplam boyutu
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public int getEntries() {
+        int entries = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                entries += segment.map.size();
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d isabet, %d kayıp, %d çıkarılan, %d girdi, %.1f/%.1f MB",
+                getHits(), getMisses(), getEvictions(), getEntries(), getBytes() / 1e6, maxBytes / 1e6);
+    }
+
+    // Önbellekten ya da yeni taramadan gelen sonuç
+    public static final class Analysis {
+        private final TokenStream tokens;
+        private final List<Diagnostic> diagnostics;
+        private final boolean cached;
+
+        Analysis(TokenStream tokens, List<Diagnostic> diagnostics, boolean cached) {
+            this.tokens = tokens;
+            this.diagnostics = diagnostics;
+            this.cached = cached;
+        }
+
+        // Çağırana ait akış, değiştirilebilir
+        public TokenStream getTokens() {
+            return tokens;
+        }
+
+        // Değiştirilemez liste
+        public List<Diagnostic> getDiagnostics() {
+            return diagnostics;
+        }
+
+        public boolean isCached() {
+            return cached;
+        }
+    }
+
+    private static final class Key {
+        final long hash;
+        final int length;
+
+        Key(long hash, int length) {
+            this.hash = hash;
+            this.length = length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).hash == hash && ((Key) o).length == length;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (hash >>> 32) ^ length; // Alt bitler parçayı seçmekte kullanıldı
+        }
+    }
+
+    private static final class Entry {
+        final TokenStream tokens;
+        final List<Diagnostic> diagnostics;
+        final long weight;
+        long used; // Son get ya da put'taki clock değeri, parçanın kilidiyle korunur
+
+        Entry(TokenStream tokens, List<Diagnostic> diagnostics, long weight) {
+            this.tokens = tokens;
+            this.diagnostics = diagnostics;
+            this.weight = weight;
+        }
+    }
+
+    // Erişim sıralı LinkedHashMap ile LRU; en eski girdi haritanın başındadır
+    private static final class Segment {
+        final AtomicLong clock;
+        final LinkedHashMap<Key, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(AtomicLong clock) {
+            this.clock = clock;
+        }
+
+        synchronized Entry get(Key key) {
+            Entry entry = map.get(key);
+            if (entry != null) entry.used = clock.incrementAndGet();
+            return entry;
+        }
+
+        // Toplam boyuttaki değişimi döndürür
+        synchronized long put(Key key, Entry entry) {
+            entry.used = clock.incrementAndGet();
+            Entry old = map.put(key, entry);
+            return old == null ? entry.weight : entry.weight - old.weight;
+        }
+
+        // En eski girdinin son kullanımı; parça boşsa ya da en eskisi keep ise Long.MAX_VALUE.
+        // keep yeni eklendiği için parçasının en yenisidir, en eski olması tek girdi olmasıdır.
+        synchronized long eldestUse(Entry keep) {
+            if (map.isEmpty()) return Long.MAX_VALUE;
+            Entry eldest = map.values().iterator().next();
+            return eldest == keep ? Long.MAX_VALUE : eldest.used;
+        }
+
+        // En eski girdi hâlâ used'da kullanılmış olan ise çıkarır ve ağırlığını döndürür, değilse 0
+        synchronized long removeEldest(long used) {
+            Iterator<Entry> eldest = map.values().iterator();
+            if (!eldest.hasNext()) return 0;
+            Entry victim = eldest.next();
+            if (victim.used != used) return 0;
+            eldest.remove();
+            return victim.weight;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package highlighter.core;
+
+import java.util.Arrays;
+
+// Parantezlerin ( ) { } [ ] eşleşme indeksi. Parantezler pozisyona göre sıralı dizilerde tutulur;
+// her birinin eşi, onu içine alan açılış parantezi ve iç içelik derinliği kayıtlıdır. Pozisyondaki
+// parantez, eşi ve bir pozisyonu içine alan blok ikili aramayla O(log n)'de bulunur.
+//
+// TokenStream.getBrackets ilk çağrıldığında kurulur, Lexer.retokenize güncel tutar. Nesne değişmez;
+// düzenlemede edit ile yenisi üretilir: düzenlemeden önceki parantezler olduğu gibi kalır,
+// eşleştirme düzenlemenin içinde bulunduğu blokların yığınıyla (iç içelik yolu) başlar ve yığın
+// eski indeksteki haline döndüğü ilk parantezde durur, sonrası sadece kaydırılır.
+//
+// Eşleştirme checkBalancedBrackets ile aynıdır: kapanış, yığının üstündeki açılışla aynı türdeyse
+// onu kapatır; değilse ya da yığın boşsa eşsiz kalır ve yığını değiştirmez. Sonda yığında kalan
+// açılışlar da eşsizdir.
+public final class BracketIndex {
+    private static final int FIRST = TokenType.LPAREN.ordinal(); // LPAREN, RPAREN, LBRACE, RBRACE, LBRACKET, RBRACKET
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final int[] offsets;  // Parantezin pozisyonu, artan
+    private final byte[] kinds;   // TokenType ordinal'i - FIRST: çiftse açılış, tekse kapanış
+    private final int[] partners; // Eşinin indeksi, eşsizse -1
+    private final int[] parents;  // İçinde bulunduğu açılış parantezinin indeksi, en dıştaysa -1
+    private final int[] depths;   // İç içelik derinliği, en dış blok 0; eşler aynı derinliktedir
+    private final int count;
+    private final int unmatched;
+
+    private BracketIndex(int[] offsets, byte[] kinds, int[] partners, int[] parents, int[] depths,
+                         int count, int unmatched) {
+        this.offsets = offsets;
+        this.kinds = kinds;
+        this.partners = partners;
+        this.parents = parents;
+        this.depths = depths;
+        this.count = count;
+        this.unmatched = unmatched;
+    }
+
+    // Akıştan kurar; diziler tam boyutta ayrılsın diye önce parantezler sayılır
+    public static BracketIndex of(TokenSource tokens) {
+        int size = tokens.size();
+        int brackets = 0;
+        for (int i = 0; i < size; i++) {
+            if (kindOf(tokens.type(i)) >= 0) brackets++;
+        }
+        Builder builder = new Builder(brackets);
+        for (int i = 0; i < size; i++) {
+            int kind = kindOf(tokens.type(i));
+            if (kind >= 0) builder.push(kind, tokens.start(i));
+        }
+        return builder.build();
+    }
+
+    static int kindOf(TokenType type) {
+        int kind = type.ordinal() - FIRST;
+        return kind >= 0 && kind < 6 ? kind : -1;
+    }
+
+    // Bellekte kapladığı yaklaşık bayt
+    public long estimatedBytes() {
+        return 48 + 5 * 16 + 17L * offsets.length;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Eşsiz parantez sayısı; 0 ise parantezler dengelidir
+    public int unmatchedCount() {
+        return unmatched;
+    }
+
+    public boolean isBalanced() {
+        return unmatched == 0;
+    }
+
+    public int offset(int i) {
+        return offsets[i];
+    }
+
+    public TokenType type(int i) {
+        return TYPES[FIRST + kinds[i]];
+    }
+
+    public boolean isOpen(int i) {
+        return (kinds[i] & 1) == 0;
+    }
+
+    // Eşinin indeksi, eşsizse -1
+    public int partner(int i) {
+        return partners[i];
+    }
+
+    // İçinde bulunduğu açılış parantezinin indeksi, en dıştaysa -1
+    public int parent(int i) {
+        return parents[i];
+    }
+
+    public int depth(int i) {
+        return depths[i];
+    }
+
+    // Pozisyondan sonraki ya da pozisyondaki ilk parantezin indeksi, yoksa count()
+    public int firstAtOrAfter(int offset) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (offsets[mid] < offset) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Pozisyondaki parantezin indeksi, orada parantez yoksa -1
+    public int indexAt(int offset) {
+        int i = firstAtOrAfter(offset);
+        return i < count && offsets[i] == offset ? i : -1;
+    }
+
+    // Pozisyondaki parantezin eşinin pozisyonu; parantez yoksa ya da eşsizse -1
+    public int matchAt(int offset) {
+        int i = indexAt(offset);
+        return i < 0 || partners[i] < 0 ? -1 : offsets[partners[i]];
+    }
+
+    // Pozisyonu içine alan en içteki açılış parantezinin indeksi, yoksa -1. Pozisyon iki karakter
+    // arasıdır: açılıştan hemen sonrası ve kapanıştan hemen öncesi bloğun içindedir.
+    public int enclosing(int offset) {
+        int i = firstAtOrAfter(offset) - 1; // Pozisyondan önceki son parantez
+        if (i < 0) return -1;
+        // Açılışsa eşi pozisyondan sonradır, kapanışsa bloğu pozisyondan önce bitmiştir
+        return isOpen(i) ? i : parents[i];
+    }
+
+    // Düzenlemeden sonraki indeks. result, bu indeksin ait olduğu akışın Lexer.retokenize sonucudur.
+    BracketIndex edit(RelexResult result) {
+        TokenStream tokens = result.getTokens();
+        int delta = result.getDelta();
+        int editStart = result.getEditOffset();
+        int editEnd = editStart + result.getInsertedLength();
+        int prefix = firstAtOrAfter(result.getChangeStart());       // Önceki parantezler değişmez
+        int suffix = firstAtOrAfter(result.getChangeEnd() - delta); // Sonrakiler kayar
+        int changed = 0;
+        for (int i = result.getFirstChanged(); i < result.getChangedEnd(); i++) {
+            if (kindOf(tokens.type(i)) >= 0) changed++;
+        }
+        int shift = prefix + changed - suffix;
+        Builder builder = new Builder(count + shift);
+        System.arraycopy(offsets, 0, builder.offsets, 0, prefix);
+        System.arraycopy(kinds, 0, builder.kinds, 0, prefix);
+        System.arraycopy(partners, 0, builder.partners, 0, prefix);
+        System.arraycopy(parents, 0, builder.parents, 0, prefix);
+        System.arraycopy(depths, 0, builder.depths, 0, prefix);
+        builder.count = prefix;
+
+        // Düzenlemenin içinde bulunduğu blokların yığını, son değişmeyen parantezden dışa doğru.
+        // olds[k], yığının k. elemanının eski indeksteki karşılığıdır; yığın o seviyeye kadar eskisiyle
+        // aynı değilse -2.
+        int top = prefix == 0 ? -1 : isOpen(prefix - 1) ? prefix - 1 : parents[prefix - 1];
+        int path = top < 0 ? 0 : depths[top] + 1;
+        builder.stack = new int[path + 16];
+        int[] olds = new int[path + 16];
+        builder.depth = path;
+        for (int level = path - 1; top >= 0; top = parents[top], level--) {
+            builder.stack[level] = top;
+            olds[level] = top;
+        }
+        int[] pathStack = Arrays.copyOf(builder.stack, path);
+
+        // Eşsiz sayısı: eşleşmesi değişebilen eski parantezler çıkarılır, yenileri sonda eklenir
+        int unmatched = this.unmatched;
+        for (int open : pathStack) {
+            if (partners[open] < 0) unmatched--;
+        }
+        for (int i = prefix; i < suffix; i++) {
+            if (partners[i] < 0) unmatched--;
+        }
+
+        // Yeniden taranan bölge. Düzenlemeden önceki ya da sonraki metinde kalan bir açılış eski
+        // indekste aynı yerde ve aynı blokta varsa ona karşılık gelir.
+        for (int i = result.getFirstChanged(); i < result.getChangedEnd(); i++) {
+            int kind = kindOf(tokens.type(i));
+            if (kind < 0) continue;
+            int offset = tokens.start(i);
+            builder.push(kind, offset);
+            if ((kind & 1) != 0) continue;
+            int level = builder.depth - 1;
+            if (olds.length <= level) olds = Arrays.copyOf(olds, builder.stack.length);
+            int oldOffset = offset < editStart ? offset : offset >= editEnd ? offset - delta : -1;
+            int oldParent = level == 0 ? -1 : olds[level - 1];
+            int old = oldOffset < 0 || oldParent == -2 ? -1 : indexAt(oldOffset);
+            olds[level] = old >= 0 && kinds[old] == kind && parents[old] == oldParent ? old : -2;
+        }
+
+        // Sonraki parantezler, yığın eskisiyle aynı olana kadar yeniden eşleştirilir
+        int j = suffix;
+        for (; j < count; j++) {
+            int oldTop = isOpen(j) || partners[j] < 0 ? parents[j] : partners[j];
+            if (oldTop == (builder.depth == 0 ? -1 : olds[builder.depth - 1])) break;
+            if (partners[j] < 0) unmatched--;
+            builder.push(kinds[j], offsets[j] + delta);
+            if (isOpen(j)) {
+                int level = builder.depth - 1;
+                if (olds.length <= level) olds = Arrays.copyOf(olds, builder.stack.length);
+                olds[level] = parents[j] == (level == 0 ? -1 : olds[level - 1]) ? j : -2;
+            }
+        }
+        int resync = j;
+        int[] newPartners = builder.partners;
+
+        if (resync < count) {
+            // Yığın eskisiyle aynı; sonraki parantezlerin eski indekslerdeki eşleri ve blokları ya
+            // kendileri gibi kayar ya da yığında aynı seviyededir
+            int[] stack = builder.stack;
+            boolean same = shift == 0; // Yığın aynı parantezlerden oluşuyorsa indeksler değişmez
+            for (int level = 0; level < builder.depth; level++) {
+                newPartners[stack[level]] = shifted(partners[olds[level]], resync, shift, stack);
+                same &= stack[level] == olds[level];
+            }
+            builder.depth = 0;
+            int tail = count - resync;
+            System.arraycopy(kinds, resync, builder.kinds, resync + shift, tail);
+            System.arraycopy(depths, resync, builder.depths, resync + shift, tail);
+            if (same) {
+                System.arraycopy(partners, resync, newPartners, resync, tail);
+                System.arraycopy(parents, resync, builder.parents, resync, tail);
+            } else {
+                for (int i = resync; i < count; i++) {
+                    newPartners[i + shift] = shifted(partners[i], resync, shift, stack);
+                    builder.parents[i + shift] = shifted(parents[i], resync, shift, stack);
+                }
+            }
+            for (int i = resync; i < count; i++) {
+                builder.offsets[i + shift] = offsets[i] + delta;
+            }
+            builder.count = count + shift;
+        }
+        BracketIndex index = builder.build();
+
+        for (int open : pathStack) {
+            if (newPartners[open] < 0) unmatched++;
+        }
+        for (int n = prefix; n < resync + shift; n++) {
+            if (newPartners[n] < 0) unmatched++;
+        }
+        return new BracketIndex(index.offsets, index.kinds, index.partners, index.parents, index.depths,
+                index.count, unmatched);
+    }
+
+    // Eşitlenmeden sonra eski bir indeksin yenisindeki karşılığı: eşitlenme noktasından önceyse
+    // yığında derinliği kadar seviyededir
+    private int shifted(int i, int resync, int shift, int[] stack) {
+        if (i < 0) return -1;
+        return i >= resync ? i + shift : stack[depths[i]];
+    }
+
+    // Parantezler sırayla verilerek indeksi kurar
+    private static final class Builder {
+        int[] offsets, partners, parents, depths;
+        byte[] kinds;
+        int count;
+        int[] stack = new int[16]; // Kapanmamış açılışların indeksleri
+        int depth;                 // Yığındaki açılış sayısı
+        private int closedUnmatched;
+
+        Builder(int capacity) { // Parantez sayısı kadar
+            offsets = new int[capacity];
+            kinds = new byte[capacity];
+            partners = new int[capacity];
+            parents = new int[capacity];
+            depths = new int[capacity];
+        }
+
+        void push(int kind, int offset) {
+            int n = count++;
+            offsets[n] = offset;
+            kinds[n] = (byte) kind;
+            int top = depth == 0 ? -1 : stack[depth - 1];
+            if ((kind & 1) == 0) {
+                partners[n] = -1;
+                parents[n] = top;
+                depths[n] = depth;
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = n;
+            } else if (top >= 0 && kinds[top] == kind - 1) {
+                depth--;
+                partners[top] = n;
+                partners[n] = top;
+                parents[n] = parents[top];
+                depths[n] = depths[top];
+            } else {
+                partners[n] = -1;
+                parents[n] = top;
+                depths[n] = depth;
+                closedUnmatched++;
+            }
+        }
+
+        // Yığında kalan açılışlar eşsiz kalır
+        BracketIndex build() {
+            for (int level = 0; level < depth; level++) {
+                partners[stack[level]] = -1;
+            }
+            return new BracketIndex(offsets, kinds, partners, parents, depths, count, closedUnmatched + depth);
+        }
+    }
+}
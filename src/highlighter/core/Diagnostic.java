@@ -0,0 +1,52 @@
+package highlighter.core;
+
+// Tarama ya da ayrıştırma sırasında bulunan tek bir hata. Hata fırlatılmadan toplanır,
+// konumu metindeki karakter pozisyonu ve uzunluğu ile tutulur; satır ve sütun akışın
+// satır indeksinden oluşturulurken hesaplanır. Satır indeksi yoksa (kaynak metni bilinmeyen
+// token listesi) satır ve sütun 0 olur ve metinde gösterilmez.
+public class Diagnostic {
+    private final int offset;
+    private final int length;
+    private final int line;
+    private final int column;
+    private final String message;
+
+    public Diagnostic(int offset, int length, LineIndex lines, String message) {
+        this.offset = offset;
+        this.length = length;
+        this.line = lines == null ? 0 : lines.lineOf(offset) + 1;
+        this.column = lines == null ? 0 : lines.columnOf(offset) + 1;
+        this.message = message;
+    }
+
+    // Hatalı bölgenin başlangıç pozisyonu
+    public int getOffset() {
+        return offset;
+    }
+
+    // Hatalı bölgenin uzunluğu, dosya sonundaki hatalar için 0
+    public int getLength() {
+        return length;
+    }
+
+    // 1'den başlayan satır numarası, LexicalException ile aynı; bilinmiyorsa 0
+    public int getLine() {
+        return line;
+    }
+
+    // 1'den başlayan sütun numarası; bilinmiyorsa 0
+    public int getColumn() {
+        return column;
+    }
+
+    // Konum bilgisi içermeyen hata mesajı
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        if (line == 0) return String.format("Pozisyon %d: %s", offset, message);
+        return String.format("Satır %d, sütun %d: %s", line, column, message);
+    }
+}
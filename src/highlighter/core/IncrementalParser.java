@@ -0,0 +1,43 @@
+package highlighter.core;
+
+import java.util.List;
+
+// Her düzenlemeden sonra sadece değişen statement'ları yeniden ayrıştıran hata denetleyicisi.
+// Önceki ayrıştırmanın statement ağacı saklanır; değişen token aralığına dokunmayan statement
+// ve blokların sonuçları olduğu gibi kullanılır, böylece maliyet dosyaya değil düzenlemeye bağlıdır.
+// Parser.diagnose() ile aynı hataları aynı sırada üretir.
+public class IncrementalParser {
+    private StatementCache.Node tree; // Son ayrıştırılan akışın statement ağacı
+    private int reusedStatements;
+    private int parsedStatements;
+
+    // Akışın tamamını ayrıştırır
+    public List<Diagnostic> parse(TokenStream tokens) {
+        return run(tokens, null);
+    }
+
+    // Lexer.retokenize sonucunu ayrıştırır; sonuç, bir önceki parse ya da update çağrısına
+    // verilen akışın yeniden taranmasıyla elde edilmiş olmalıdır
+    public List<Diagnostic> update(RelexResult result) {
+        return run(result.getTokens(), tree == null ? null : result);
+    }
+
+    private List<Diagnostic> run(TokenStream tokens, RelexResult edit) {
+        StatementCache cache = new StatementCache(tree, edit);
+        List<Diagnostic> diagnostics = new Parser(tokens, cache).diagnose();
+        tree = cache.getRoot();
+        reusedStatements = cache.getReused();
+        parsedStatements = cache.getParsed();
+        return diagnostics;
+    }
+
+    // Son çağrıda olduğu gibi kullanılan statement sayısı (alt statement'ları sayılmaz)
+    public int getReusedStatements() {
+        return reusedStatements;
+    }
+
+    // Son çağrıda yeniden ayrıştırılan statement sayısı
+    public int getParsedStatements() {
+        return parsedStatements;
+    }
+}
@@ -0,0 +1,129 @@
+package highlighter.core;
+
+// Java anahtar kelimeleri ve kaynak metindeki bir karakter aralığının anahtar kelime olup
+// olmadığını String oluşturmadan bulan mükemmel özetleme. Özet fonksiyonu ilk, ikinci ve son
+// karakter ile uzunluğu tek bir çarpımla 128 yuvaya dağıtır; çarpan anahtar kelimeler çakışmasız
+// yerleşecek şekilde önceden seçilmiştir. Her yuvada en fazla bir aday olduğu için arama bir
+// çarpım ve tek bir karşılaştırmadır.
+//
+// Anahtar kelime id'leri alfabetik sıradır ve SymbolTable'daki id'lerin ilk COUNT tanesidir.
+public final class Keywords {
+    public static final int ABSTRACT = 0;
+    public static final int ASSERT = 1;
+    public static final int BOOLEAN = 2;
+    public static final int BREAK = 3;
+    public static final int BYTE = 4;
+    public static final int CASE = 5;
+    public static final int CATCH = 6;
+    public static final int CHAR = 7;
+    public static final int CLASS = 8;
+    public static final int CONST = 9;
+    public static final int CONTINUE = 10;
+    public static final int DEFAULT = 11;
+    public static final int DO = 12;
+    public static final int DOUBLE = 13;
+    public static final int ELSE = 14;
+    public static final int ENUM = 15;
+    public static final int EXTENDS = 16;
+    public static final int FINAL = 17;
+    public static final int FINALLY = 18;
+    public static final int FLOAT = 19;
+    public static final int FOR = 20;
+    public static final int IF = 21;
+    public static final int IMPLEMENTS = 22;
+    public static final int IMPORT = 23;
+    public static final int INSTANCEOF = 24;
+    public static final int INT = 25;
+    public static final int INTERFACE = 26;
+    public static final int LONG = 27;
+    public static final int NATIVE = 28;
+    public static final int NEW = 29;
+    public static final int PACKAGE = 30;
+    public static final int PRIVATE = 31;
+    public static final int PROTECTED = 32;
+    public static final int PUBLIC = 33;
+    public static final int RETURN = 34;
+    public static final int SHORT = 35;
+    public static final int STATIC = 36;
+    public static final int STRICTFP = 37;
+    public static final int SUPER = 38;
+    public static final int SWITCH = 39;
+    public static final int SYNCHRONIZED = 40;
+    public static final int THIS = 41;
+    public static final int THROW = 42;
+    public static final int THROWS = 43;
+    public static final int TRANSIENT = 44;
+    public static final int TRY = 45;
+    public static final int VOID = 46;
+    public static final int VOLATILE = 47;
+    public static final int WHILE = 48;
+
+    private static final String[] NAMES = {
+            "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class",
+            "const", "continue", "default", "do", "double", "else", "enum", "extends", "final",
+            "finally", "float", "for", "if", "implements", "import", "instanceof", "int",
+            "interface", "long", "native", "new", "package", "private", "protected", "public",
+            "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+            "throw", "throws", "transient", "try", "void", "volatile", "while"
+    };
+
+    public static final int COUNT = NAMES.length;
+    public static final int NONE = -1;
+
+    private static final int MULTIPLIER = 0x1876adc9;
+    private static final int SLOT_BITS = 7;
+    private static final int MIN_LENGTH = 2;
+    private static final int MAX_LENGTH = 12;
+
+    private static final byte[] SLOTS = new byte[1 << SLOT_BITS]; // Yuvadaki anahtar kelime id'si + 1, boşsa 0
+    private static final char[][] CHARS = new char[COUNT][];
+
+    static {
+        for (int id = 0; id < COUNT; id++) {
+            char[] chars = NAMES[id].toCharArray();
+            CHARS[id] = chars;
+            int slot = slot(chars[0], chars[1], chars[chars.length - 1], chars.length);
+            if (SLOTS[slot] != 0) {
+                throw new IllegalStateException("Anahtar kelime özetleri çakışıyor: " + NAMES[id] + ", " + NAMES[SLOTS[slot] - 1]);
+            }
+            SLOTS[slot] = (byte) (id + 1);
+        }
+    }
+
+    private Keywords() {
+    }
+
+    private static int slot(char first, char second, char last, int length) {
+        int key = first << 16 ^ second << 8 ^ last ^ length << 24;
+        return (key * MULTIPLIER) >>> (32 - SLOT_BITS);
+    }
+
+    // chars[offset, offset + length) bir anahtar kelimeyse id'si, değilse NONE
+    public static int match(char[] chars, int offset, int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) return NONE;
+        int id = SLOTS[slot(chars[offset], chars[offset + 1], chars[offset + length - 1], length)] - 1;
+        if (id < 0) return NONE;
+        char[] keyword = CHARS[id];
+        if (keyword.length != length) return NONE;
+        for (int i = 0; i < length; i++) {
+            if (chars[offset + i] != keyword[i]) return NONE;
+        }
+        return id;
+    }
+
+    public static int match(CharSequence text, int start, int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) return NONE;
+        int id = SLOTS[slot(text.charAt(start), text.charAt(start + 1), text.charAt(start + length - 1), length)] - 1;
+        if (id < 0) return NONE;
+        char[] keyword = CHARS[id];
+        if (keyword.length != length) return NONE;
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(start + i) != keyword[i]) return NONE;
+        }
+        return id;
+    }
+
+    public static String name(int id) {
+        return NAMES[id];
+    }
+}
@@ -1,43 +1,78 @@
 package highlighter.core;
 
+import highlighter.metrics.LexEvent;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 public class Lexer { // Sözdizimi çözümleme sınıfı sebesta programming language kitabı 4. ünite referans alınarak tasarlanmıştır.
 
     private static final int LETTER_LIKE = 0;
     private static final int DIGIT = 1;
+    private static final int WHITESPACE = 2;
     private static final int OTHER = 99;
     private static final int EOF_CHAR_CLASS = -1;
 
-    // Java anahtar kelimeleri
-    private static final Set<String> JAVA_KEYWORDS = new HashSet<>(Arrays.asList(
-            "abstract", "continue", "for", "new", "switch",
-            "assert", "default", "package", "synchronized",
-            "boolean", "do", "if", "private", "this",
-            "break", "double", "implements", "protected", "throw",
-            "byte", "else", "import", "public", "throws",
-            "case", "enum", "instanceof", "return", "transient",
-            "catch", "extends", "int", "short", "try",
-            "char", "final", "interface", "static", "void",
-            "class", "finally", "long", "strictfp", "volatile",
-            "const", "float", "native", "super", "while"
-    ));
-
-    private String input;
+    // ASCII karakterlerin sınıf tablosu, diğer karakterler için Character metodlarına düşülür
+    private static final byte[] CHAR_CLASSES = new byte[128];
+    private static final TokenType[] TYPES = TokenType.values();
+    private static final OperatorTrie OPERATORS = new OperatorTrie();
+
+    static {
+        for (char c = 0; c < CHAR_CLASSES.length; c++) {
+            CHAR_CLASSES[c] = (byte) slowCharClass(c);
+        }
+    }
+
+    private static final int WINDOW_SIZE = 8192;
+    // Hata kurtarma modunda string, başladığı satırın sonundan bu kadar karakter sonra da kapanmamışsa
+    // kapanmayan sayılır; kapanışı aramak için dosyanın geri kalanı pencerede tutulmaz
+    private static final int STRING_LOOKAHEAD = WINDOW_SIZE * 8;
+
+    // Karakterler kaynaktan sabit boyutlu bir pencereye parça parça okunur. Pencere sadece
+    // keepFrom'dan sonrasını tutar, bu yüzden bellek kullanımı girdinin boyutundan bağımsızdır.
+    private CharSequence input;  // Metin kaynağı, Reader ile taranırken null
+    private Reader reader;       // Akış kaynağı, metin taranırken null
+    private char[] window = new char[WINDOW_SIZE];
+    private int base;            // window[0]'ın girdideki pozisyonu
+    private int limit;           // Pencereye okunmuş son karakterin pozisyonu + 1
+    private int keepFrom;        // Bu pozisyondan önceki karakterler atılabilir
+    private boolean exhausted;
+
     private int pos;
     private char currentChar;
     private int charClass;
     private int lineNumber;
+    private int[] lineStarts;    // tokenizeStream sırasında kurulan satır başları, ilk lineNumber tanesi geçerli
+    private SymbolTable symbols; // Tanımlayıcıların eklendiği tablo, isim tutulmayan taramalarda null
+    private int symbol;          // Son taranan anahtar kelime ya da tanımlayıcının id'si
+    private final boolean recover; // Hatada istisna fırlatmak yerine UNKNOWN token üretilir
 
     public Lexer() {
+        this(false);
+    }
+
+    // recover true ise kapanmayan literaller ve tanınmayan karakterler UNKNOWN token olarak
+    // işaretlenir ve tarama devam eder; hatalar diagnostics ile akıştan okunabilir
+    public Lexer(boolean recover) {
         this.lineNumber = 1;
+        this.recover = recover;
     }
 
         // Sonraki karakteri okumak için
     private void advance() {
-        if (pos < input.length()) {
-            currentChar = input.charAt(pos);
-            if (currentChar == '\n') lineNumber++; //eğer alt satıra geçiyorsa line numarası artırılır
+        if (pos < limit || fill(pos)) {
+            currentChar = window[pos - base];
+            if (currentChar == '\n') { //eğer alt satıra geçiyorsa line numarası artırılır
+                if (lineStarts != null) addLineStart(pos + 1);
+                lineNumber++;
+            }
             pos++;
             updateCharClass();
         } else {
@@ -45,224 +80,464 @@ public class Lexer { // Sözdizimi çözümleme sınıfı sebesta programming la
             charClass = EOF_CHAR_CLASS;
         }
     }
+
+    // Yeni satırın başı lineNumber indeksine yazılır. unclosedString geri sardığında lineNumber
+    // da geri alındığı için fazladan yazılanların üzerine yeniden yazılır.
+    private void addLineStart(int start) {
+        if (lineNumber == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, lineNumber * 2);
+        lineStarts[lineNumber] = start;
+    }
+
     // Sonraki karakterin sınıfını bulma
     private void updateCharClass() {
-        if (Character.isLetter(currentChar) || currentChar == '_' || currentChar == '$') {
-            charClass = LETTER_LIKE;
-        } else if (Character.isDigit(currentChar)) {
-            charClass = DIGIT;
+        charClass = charClassOf(currentChar);
+    }
+
+    private static int charClassOf(char c) {
+        return c < 128 ? CHAR_CLASSES[c] : slowCharClass(c);
+    }
+
+    private static int slowCharClass(char c) {
+        if (Character.isLetter(c) || c == '_' || c == '$') {
+            return LETTER_LIKE;
+        } else if (Character.isDigit(c)) {
+            return DIGIT;
+        } else if (Character.isWhitespace(c)) {
+            return WHITESPACE;
         } else {
-            charClass = OTHER;
+            return OTHER;
         }
     }
     // Sonraki karakterleri almak  için peek fonksiyonları
     private char peek() {
-        return (pos < input.length()) ? input.charAt(pos) : '\0';
+        return (pos < limit || fill(pos)) ? window[pos - base] : '\0';
     }
 
     private char peekNext() {
-        return (pos + 1 < input.length()) ? input.charAt(pos + 1) : '\0';
+        return (pos + 1 < limit || fill(pos + 1)) ? window[pos + 1 - base] : '\0';
+    }
+
+    // Şu anki karakterin pozisyonu, dosya sonunda metnin uzunluğu
+    private int offset() {
+        return charClass == EOF_CHAR_CLASS ? pos : pos - 1;
     }
-    // Token oluşturma
-    private Token createToken(TokenType type, String value, int start) {
-        int end = start + value.length() - 1;
-        return new Token(type, value, start, end);
+
+    // Pencereyi verilen pozisyonu içerene kadar doldurur, girdi bittiyse false döner
+    private boolean fill(int position) {
+        while (position >= limit) {
+            if (exhausted) return false;
+            int keep = keepFrom - base;
+            if (keep > 0) {
+                System.arraycopy(window, keep, window, 0, limit - keepFrom);
+                base = keepFrom;
+            }
+            if (limit - base == window.length) {
+                // Pencereden uzun bir token (örneğin dev bir blok yorum) için pencere büyütülür
+                window = Arrays.copyOf(window, window.length * 2);
+            }
+            int offset = limit - base;
+            int count = read(window, offset, window.length - offset);
+            if (count < 0) {
+                exhausted = true;
+                return false;
+            }
+            if (limit + count < 0) {
+                throw new UncheckedIOException(new IOException("Input exceeds " + Integer.MAX_VALUE + " characters"));
+            }
+            limit += count;
+        }
+        return true;
+    }
+
+    private int read(char[] buffer, int offset, int length) {
+        if (reader != null) {
+            try {
+                return reader.read(buffer, offset, length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        int count = Math.min(length, input.length() - limit);
+        if (count <= 0) return -1;
+        if (input instanceof String) {
+            ((String) input).getChars(limit, limit + count, buffer, offset);
+        } else {
+            for (int i = 0; i < count; i++) {
+                buffer[offset + i] = input.charAt(limit + i);
+            }
+        }
+        return count;
     }
 
     public List<Token> tokenize(String text) throws LexicalException {
-        this.input = text;
-        this.pos = 0;
-        this.lineNumber = 1;
+        reset(text, 0);
+        symbols = new SymbolTable(); // Tekrar eden isimler aynı String'i paylaşır
         List<Token> tokens = new ArrayList<>();
 
-        if (input.length() > 0) {
-            advance();
+        while (skipWhitespace()) {
+            int start = keepFrom = offset();
+            TokenType type = scanToken();
+            int end = offset() - 1;
+            String value = type.getText() != null ? type.getText()
+                    : symbol != SymbolTable.NONE ? symbols.name(symbol) : text.substring(start, end + 1);
+            tokens.add(new Token(type, value, start, end));
         }
 
-        while (charClass != EOF_CHAR_CLASS) {
-            int start = pos - 1; // Şu anki karakterin başlangıç pozisyonu
-            StringBuilder buffer = new StringBuilder(); //string işlemlerini yapabilmek ve kolaylaştırmak için string builder kullandım
+        tokens.add(new Token(TokenType.EOF, "EOF", pos, pos));
+        return tokens;
+    }
 
-            // Boşluk karakterlerini atla
-            if (Character.isWhitespace(currentChar)) {
-                advance();
-                continue;
+    // Token nesnesi ve String oluşturmadan tarar, sonuç kaynak metne bağlı bir akıştır
+    public TokenStream tokenizeStream(CharSequence text) throws LexicalException {
+        LexEvent event = LexEvent.start();
+        lineStarts = new int[Math.max(16, text.length() / 32)]; // lineStarts[0] = 0
+        try {
+            reset(text, 0);
+            symbols = new SymbolTable();
+            TokenStream tokens = new TokenStream(text, Math.max(16, text.length() / 4), symbols);
+
+            while (skipWhitespace()) {
+                int start = keepFrom = offset();
+                TokenType type = scanToken();
+                tokens.add(type, start, offset() - 1, symbol);
             }
 
-            // Yorum satırları
-            if (currentChar == '/') {
-                if (peek() == '/') {
-                    // Tek satır yorum
-                    buffer.append(currentChar); advance();
-                    buffer.append(currentChar); advance();
-                    while (currentChar != '\n' && charClass != EOF_CHAR_CLASS) {
-                        buffer.append(currentChar);
-                        advance();
-                    }
-                    tokens.add(createToken(TokenType.LINE_COMMENT, buffer.toString(), start));
-                    continue;
-                } else if (peek() == '*') {
-                    // Çok satır yorum
-                    buffer.append(currentChar); advance();
-                    buffer.append(currentChar); advance();
-                    while (charClass != EOF_CHAR_CLASS) {
-                        if (currentChar == '*' && peek() == '/') {
-                            buffer.append(currentChar); advance();
-                            buffer.append(currentChar); advance();
-                            break;
-                        }
-                        buffer.append(currentChar);
-                        advance();
-                    }
-                    tokens.add(createToken(TokenType.BLOCK_COMMENT, buffer.toString(), start));
-                    continue;
-                }
+            tokens.add(TokenType.EOF, pos, pos);
+            tokens.setLines(new LineIndex(lineStarts, lineNumber, text.length()));
+            event.finish(false, text.length(), tokens.size());
+            return tokens;
+        } finally {
+            lineStarts = null;
+        }
+    }
+
+    // Girdiyi bütünüyle belleğe almadan tarar ve her token'ı oluştuğu anda sink'e verir.
+    // Bellek kullanımı pencere boyutuyla sınırlıdır; pozisyonlar girdinin başından sayılır.
+    public void tokenize(Reader source, TokenSink sink) throws IOException, LexicalException {
+        reset(source);
+        try {
+            int gapStart = 0;
+            while (true) {
+                keepFrom = gapStart; // Token'lar arasındaki boşluklar da sink için pencerede kalır
+                if (!skipWhitespace()) break;
+                int start = offset();
+                TokenType type = scanToken();
+                int end = offset() - 1;
+                sink.token(type, start, end);
+                gapStart = end + 1;
             }
+            keepFrom = gapStart;
+            sink.token(TokenType.EOF, pos, pos);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            reader = null;
+        }
+    }
 
-            // Tanımlayıcılar ve anahtar kelimeler
-            if (charClass == LETTER_LIKE) {
-                while (charClass == LETTER_LIKE || charClass == DIGIT) {
-                    buffer.append(currentChar);
-                    advance();
+    public void tokenize(Path path, TokenSink sink) throws IOException, LexicalException {
+        try (Reader source = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            tokenize(source, sink);
+        }
+    }
+
+    // Akış taranırken, sink içinden son token'dan önceki boşluk ile token'ın kendisini yazar.
+    // Sadece pencerede duran aralık, yani önceki token'ın bitişinden sonrası yazılabilir.
+    public void writeText(int from, int to, Writer out) throws IOException {
+        if (from < base || to > limit || from > to) {
+            throw new IndexOutOfBoundsException("Range " + from + "-" + to + " is outside the lexer window " + base + "-" + limit);
+        }
+        out.write(window, from - base, to - from);
+    }
+
+    // Düzenlemeden sonra sadece etkilenen bölgeyi yeniden tarar.
+    // previous: düzenlemeden önceki akış (EOF dahil), text: düzenlenmiş metin,
+    // offset/removedLength/insertedLength: DocumentEvent'ten gelen değişiklik bilgisi.
+    public RelexResult retokenize(TokenStream previous, CharSequence text, int offset,
+                                  int removedLength, int insertedLength) throws LexicalException {
+        LexEvent event = LexEvent.start();
+        int delta = insertedLength - removedLength;
+        int oldCount = previous.size() - 1; // EOF hariç
+
+        // Token'lar en fazla 2 karakter ileriye bakarak karar verildiği için, bitişi
+        // düzenlemeye 2 karakterden yakın olan ilk token'dan itibaren yeniden taranır
+        int first = firstAffected(previous, oldCount, offset);
+        if (recover) {
+            // Kapanmayan string'in sonu metnin geri kalanına bağlıdır (sonradan eklenen bir '"' onu
+            // kapatabilir, '\"' kaçışları yüzünden sonraki kapanmayan string'leri de içine alabilir).
+            // İlk kapanmayan string düzenlemeden önceyse taramaya ondan başlanır: ondan önceki
+            // token'lar düzenlemeden etkilenmez, baştan tarama da oraya aynı durumda gelir.
+            int unclosed = previous.firstUnclosedString();
+            if (unclosed >= 0 && unclosed < first) first = unclosed;
+        }
+        int restart = first == 0 ? 0 : previous.end(first - 1) + 1;
+
+        // Satır indeksi baştan kurulmaz: düzenlenen bölgenin satırları değiştirilir, sonrakiler kaydırılır
+        LineIndex lines = previous.getLines().edit(text, offset, removedLength, insertedLength);
+        reset(text, restart);
+        lineNumber += lines.lineOf(restart);
+
+        // Yeni isimler önceki akışın tablosuna eklenir, böylece değişmeyen token'ların id'leri geçerli kalır
+        symbols = previous.getSymbols();
+        TokenStream changed = new TokenStream(text, 16, symbols);
+        int editEnd = offset + insertedLength;   // yeni metinde düzenlemenin bitişi
+        int oldEditEnd = offset + removedLength; // eski metinde düzenlemenin bitişi
+        int j = first;
+        int resync = -1;
+        int changeEnd = text.length();
+
+        while (skipWhitespace()) {
+            int start = keepFrom = offset();
+            if (start >= editEnd) {
+                // Eski akışta aynı konuma kayan bir token başlangıcı varsa geri kalanı aynıdır
+                while (j < oldCount && previous.start(j) + delta < start) j++;
+                if (j < oldCount && previous.start(j) >= oldEditEnd && previous.start(j) + delta == start) {
+                    resync = j;
+                    changeEnd = start;
+                    break;
                 }
-                String value = buffer.toString();
-                TokenType type = JAVA_KEYWORDS.contains(value) ? TokenType.KEYWORD : TokenType.IDENTIFIER;
-                tokens.add(createToken(type, value, start));
-                continue;
             }
+            TokenType type = scanToken();
+            changed.add(type, start, offset() - 1, symbol);
+        }
 
-            // Sayısal değerler
-            if (charClass == DIGIT) {
-                boolean isFloat = false;
-                while (charClass == DIGIT) {
-                    buffer.append(currentChar);
+        if (resync < 0) {
+            // Dosya sonuna kadar tarandı, eski EOF da değiştirilir
+            resync = oldCount + 1;
+            changed.add(TokenType.EOF, pos, pos);
+        }
+        TokenStream tokens = previous.splice(text, first, resync - first, changed, delta);
+        tokens.setLines(lines);
+        RelexResult result = new RelexResult(tokens, first, first + changed.size(), resync - first, restart,
+                changeEnd, offset, removedLength, insertedLength);
+        // Parantez indeksi önceki akış için istendiyse güncel tutulur; eşleşmeler sadece düzenlemenin
+        // içinde bulunduğu bloklar için yeniden kurulur
+        if (previous.hasBrackets()) tokens.setBrackets(previous.getBrackets().edit(result));
+        event.finish(true, changeEnd - restart, changed.size());
+        return result;
+    }
+
+    private static int firstAffected(TokenStream tokens, int count, int offset) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (tokens.end(mid) + 2 < offset) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Lexer'ı verilen metnin verilen pozisyonundan başlatır
+    private void reset(CharSequence text, int from) {
+        this.input = text;
+        this.reader = null;
+        resetWindow(from);
+    }
+
+    private void reset(Reader source) {
+        this.input = null;
+        this.reader = source;
+        this.symbols = null;
+        resetWindow(0);
+    }
+
+    private void resetWindow(int from) {
+        if (window.length > WINDOW_SIZE * 8) {
+            window = new char[WINDOW_SIZE]; // Önceki taramada büyüyen pencere serbest bırakılır
+        }
+        this.base = this.limit = this.keepFrom = this.pos = from;
+        this.exhausted = false;
+        this.lineNumber = 1;
+        this.charClass = OTHER;
+        advance();
+    }
+
+    // Boşluk karakterlerini atlar, token kaldıysa true döner
+    private boolean skipWhitespace() {
+        while (charClass == WHITESPACE) {
+            advance();
+        }
+        return charClass != EOF_CHAR_CLASS;
+    }
+
+    // Şu anki karakterden başlayan tek bir token'ı okur ve türünü döndürür,
+    // token'ın bitişi çağıran tarafından offset() - 1 olarak alınır
+    private TokenType scanToken() throws LexicalException {
+        int start = pos - 1; // Şu anki karakterin başlangıç pozisyonu
+        symbol = SymbolTable.NONE;
+
+        // Yorum satırları
+        if (currentChar == '/') {
+            if (peek() == '/') {
+                // Tek satır yorum
+                advance();
+                advance();
+                while (currentChar != '\n' && charClass != EOF_CHAR_CLASS) {
                     advance();
                 }
-                if (currentChar == '.' && Character.isDigit(peek())) {
-                    isFloat = true;
-                    buffer.append(currentChar);
-                    advance();
-                    while (charClass == DIGIT) {
-                        buffer.append(currentChar);
+                return TokenType.LINE_COMMENT;
+            } else if (peek() == '*') {
+                // Çok satır yorum
+                advance();
+                advance();
+                while (charClass != EOF_CHAR_CLASS) {
+                    if (currentChar == '*' && peek() == '/') {
                         advance();
+                        advance();
+                        break;
                     }
-                }
-                if ("fFdDlL".indexOf(currentChar) != -1) { // float, double, long, float literal'larını tespit ediyorum
-                    buffer.append(currentChar);
                     advance();
                 }
-                tokens.add(createToken(isFloat ? TokenType.FLOAT_LITERAL : TokenType.INTEGER_LITERAL, buffer.toString(), start));
-                continue;
+                return TokenType.BLOCK_COMMENT;
             }
+        }
 
-            // String literalleri
-            if (currentChar == '"') {
-                buffer.append(currentChar);
-                advance();
-                while (currentChar != '"' && charClass != EOF_CHAR_CLASS) {
-                    if (currentChar == '\\' && charClass != EOF_CHAR_CLASS) {
-                        buffer.append(currentChar);
-                        advance();
-                        if (charClass != EOF_CHAR_CLASS) {
-                            buffer.append(currentChar);
-                            advance();
-                        }
-                    } else {
-                        buffer.append(currentChar);
-                        advance();
-                    }
-                }
-                if (currentChar != '"') {
-                    throw new LexicalException("Unclosed string literal", lineNumber, start);
-                }
-                buffer.append(currentChar);
+        // Tanımlayıcılar ve anahtar kelimeler
+        if (charClass == LETTER_LIKE) {
+            while (charClass == LETTER_LIKE || charClass == DIGIT) {
                 advance();
-                tokens.add(createToken(TokenType.STRING_LITERAL, buffer.toString(), start));
-                continue;
             }
+            // İsim pencereden String oluşturulmadan önce anahtar kelimelerde, sonra sembol tablosunda aranır
+            int length = offset() - start;
+            int keyword = Keywords.match(window, start - base, length);
+            if (keyword != Keywords.NONE) {
+                symbol = keyword;
+                return TokenType.KEYWORD;
+            }
+            if (symbols != null) symbol = symbols.intern(window, start - base, length);
+            return TokenType.IDENTIFIER;
+        }
 
-            // Karakter literalleri
-            if (currentChar == '\'') {
-                buffer.append(currentChar);
+        // Sayısal değerler
+        if (charClass == DIGIT) {
+            boolean isFloat = false;
+            while (charClass == DIGIT) {
                 advance();
-                if (currentChar == '\\' && charClass != EOF_CHAR_CLASS) {
-                    buffer.append(currentChar);
+            }
+            if (currentChar == '.' && charClassOf(peek()) == DIGIT) {
+                isFloat = true;
+                advance();
+                while (charClass == DIGIT) {
                     advance();
                 }
-                if (charClass != EOF_CHAR_CLASS) {
-                    buffer.append(currentChar);
+            }
+            switch (currentChar) { // float, double, long, float literal'larını tespit ediyorum
+                case 'f': case 'F': case 'd': case 'D': case 'l': case 'L':
                     advance();
+            }
+            return isFloat ? TokenType.FLOAT_LITERAL : TokenType.INTEGER_LITERAL;
+        }
+
+        // String literalleri
+        if (currentChar == '"') {
+            int startLine = lineNumber;
+            int lineEnd = -1; // Başladığı satırdan sonraki ilk karakterin pozisyonu
+            advance();
+            while (currentChar != '"' && charClass != EOF_CHAR_CLASS) {
+                if (recover && lineNumber != startLine) {
+                    if (lineEnd < 0) {
+                        lineEnd = pos;
+                    } else if (pos - lineEnd > STRING_LOOKAHEAD) {
+                        return unclosedString(start, startLine);
+                    }
                 }
-                if (currentChar != '\'') {
-                    throw new LexicalException("Unclosed character literal", lineNumber, start);
+                if (currentChar == '\\' && charClass != EOF_CHAR_CLASS) {
+                    advance();
+                    if (charClass != EOF_CHAR_CLASS) {
+                        advance();
+                    }
+                } else {
+                    advance();
                 }
-                buffer.append(currentChar);
-                advance();
-                tokens.add(createToken(TokenType.CHAR_LITERAL, buffer.toString(), start));
-                continue;
             }
-
-            // Operatörler
-            String op3 = "" + currentChar + peek() + peekNext();
-            String op2 = "" + currentChar + peek();
-            String op1 = "" + currentChar;
-
-            if (op3.equals(">>>")) {
-                tokens.add(createToken(TokenType.UNSIGNED_RIGHT_SHIFT, op3, start));
-                advance(); advance(); advance();
-                continue;
+            if (currentChar != '"') {
+                if (recover) return unclosedString(start, startLine);
+                throw new LexicalException("Unclosed string literal", lineNumber, start);
             }
+            advance();
+            return TokenType.STRING_LITERAL;
+        }
 
-            switch (op2) {
-                case "==": tokens.add(createToken(TokenType.EQUAL_TO, op2, start)); advance(); advance(); continue;
-                case "!=": tokens.add(createToken(TokenType.NOT_EQUAL_TO, op2, start)); advance(); advance(); continue;
-                case ">=": tokens.add(createToken(TokenType.GREATER_THAN_OR_EQUAL, op2, start)); advance(); advance(); continue;
-                case "<=": tokens.add(createToken(TokenType.LESS_THAN_OR_EQUAL, op2, start)); advance(); advance(); continue;
-                case "&&": tokens.add(createToken(TokenType.LOGICAL_AND, op2, start)); advance(); advance(); continue;
-                case "||": tokens.add(createToken(TokenType.LOGICAL_OR, op2, start)); advance(); advance(); continue;
-                case "++": tokens.add(createToken(TokenType.INCREMENT, op2, start)); advance(); advance(); continue;
-                case "--": tokens.add(createToken(TokenType.DECREMENT, op2, start)); advance(); advance(); continue;
-                case "+=": tokens.add(createToken(TokenType.PLUS_ASSIGN, op2, start)); advance(); advance(); continue;
-                case "-=": tokens.add(createToken(TokenType.MINUS_ASSIGN, op2, start)); advance(); advance(); continue;
-                case "*=": tokens.add(createToken(TokenType.MULTIPLY_ASSIGN, op2, start)); advance(); advance(); continue;
-                case "/=": tokens.add(createToken(TokenType.DIVIDE_ASSIGN, op2, start)); advance(); advance(); continue;
-                case "%=": tokens.add(createToken(TokenType.MODULO_ASSIGN, op2, start)); advance(); advance(); continue;
-                case "<<": tokens.add(createToken(TokenType.LEFT_SHIFT, op2, start)); advance(); advance(); continue;
-                case ">>": tokens.add(createToken(TokenType.RIGHT_SHIFT, op2, start)); advance(); advance(); continue;
+        // Karakter literalleri
+        if (currentChar == '\'') {
+            advance();
+            if (currentChar == '\\' && charClass != EOF_CHAR_CLASS) {
+                advance();
+            }
+            if (charClass != EOF_CHAR_CLASS) {
+                advance();
             }
+            if (currentChar != '\'') {
+                if (recover) return TokenType.UNKNOWN; // Okunan kısım hatalı token olur
+                throw new LexicalException("Unclosed character literal", lineNumber, start);
+            }
+            advance();
+            return TokenType.CHAR_LITERAL;
+        }
 
-            switch (currentChar) {
-                case '.': tokens.add(createToken(TokenType.DOT, op1, start)); break;
-                case '+': tokens.add(createToken(TokenType.PLUS, op1, start)); break;
-                case '-': tokens.add(createToken(TokenType.MINUS, op1, start)); break;
-                case '*': tokens.add(createToken(TokenType.MULTIPLY, op1, start)); break;
-                case '/': tokens.add(createToken(TokenType.DIVIDE, op1, start)); break;
-                case '%': tokens.add(createToken(TokenType.MODULO, op1, start)); break;
-                case '=': tokens.add(createToken(TokenType.ASSIGN, op1, start)); break;
-                case '<': tokens.add(createToken(TokenType.LESS_THAN, op1, start)); break;
-                case '>': tokens.add(createToken(TokenType.GREATER_THAN, op1, start)); break;
-                case '!': tokens.add(createToken(TokenType.LOGICAL_NOT, op1, start)); break;
-                case '&': tokens.add(createToken(TokenType.BITWISE_AND, op1, start)); break;
-                case '|': tokens.add(createToken(TokenType.BITWISE_OR, op1, start)); break;
-                case '^': tokens.add(createToken(TokenType.BITWISE_XOR, op1, start)); break;
-                case '~': tokens.add(createToken(TokenType.BITWISE_NOT, op1, start)); break;
-                case '(': tokens.add(createToken(TokenType.LPAREN, op1, start)); break;
-                case ')': tokens.add(createToken(TokenType.RPAREN, op1, start)); break;
-                case '{': tokens.add(createToken(TokenType.LBRACE, op1, start)); break;
-                case '}': tokens.add(createToken(TokenType.RBRACE, op1, start)); break;
-                case '[': tokens.add(createToken(TokenType.LBRACKET, op1, start)); break;
-                case ']': tokens.add(createToken(TokenType.RBRACKET, op1, start)); break;
-                case ';': tokens.add(createToken(TokenType.SEMICOLON, op1, start)); break;
-                case ',': tokens.add(createToken(TokenType.COMMA, op1, start)); break;
-                default:
-                    tokens.add(createToken(TokenType.UNKNOWN, op1, start));
-                    throw new LexicalException("Unrecognized character '" + currentChar + "'", lineNumber, start);
+        // Operatörler: trie üzerinde en uzun eşleşme (en fazla 3 karakter)
+        int node = OPERATORS.step(0, currentChar);
+        int matched = OPERATORS.accept(node);
+        int matchedLength = 1;
+        int second = node == 0 ? 0 : OPERATORS.step(node, peek());
+        if (second != 0) {
+            if (OPERATORS.accept(second) != OperatorTrie.NO_MATCH) {
+                matched = OPERATORS.accept(second);
+                matchedLength = 2;
             }
+            int third = OPERATORS.step(second, peekNext());
+            if (third != 0 && OPERATORS.accept(third) != OperatorTrie.NO_MATCH) {
+                matched = OPERATORS.accept(third);
+                matchedLength = 3;
+            }
+        }
+        if (node == 0 || matched == OperatorTrie.NO_MATCH) {
+            if (recover) {
+                advance();
+                return TokenType.UNKNOWN;
+            }
+            throw new LexicalException("Unrecognized character '" + currentChar + "'", lineNumber, start);
+        }
+        for (int i = 0; i < matchedLength; i++) {
             advance();
         }
+        return TYPES[matched];
+    }
 
-        tokens.add(new Token(TokenType.EOF, "EOF", pos, pos));
-        return tokens;
+    // Kapanmayan string dosya sonuna ya da satır sonundan STRING_LOOKAHEAD sonrasına kadar
+    // okunduktan sonra başına geri dönülür ve sadece başladığı satırın sonuna kadarki kısım
+    // UNKNOWN token yapılır. Token'ın başı keepFrom olduğu için hâlâ penceredir.
+    private TokenType unclosedString(int start, int startLine) {
+        pos = start;
+        lineNumber = startLine;
+        advance(); // '"'
+        advance();
+        while (currentChar != '\n' && charClass != EOF_CHAR_CLASS) {
+            advance();
+        }
+        return TokenType.UNKNOWN;
+    }
+
+    // Hata kurtarma moduyla üretilmiş akıştaki UNKNOWN token'lardan hata listesi çıkarır
+    public static List<Diagnostic> diagnostics(TokenSource tokens) {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        CharSequence source = tokens.getSource();
+        LineIndex lines = tokens.getLines();
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.type(i) != TokenType.UNKNOWN) continue;
+            int start = tokens.start(i);
+            char first = source.charAt(start);
+            String message;
+            if (first == '"') {
+                message = "Unclosed string literal";
+            } else if (first == '\'') {
+                message = "Unclosed character literal";
+            } else {
+                message = "Unrecognized character '" + first + "'";
+            }
+            diagnostics.add(new Diagnostic(start, tokens.length(i), lines, message));
+        }
+        return diagnostics;
     }
 
     public static TokenCategory getCategory(TokenType type) {
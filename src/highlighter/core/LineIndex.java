@@ -0,0 +1,108 @@
+package highlighter.core;
+
+import java.util.Arrays;
+
+// Metindeki satır başlangıçlarının sıralı dizisi. Lexer tararken kurar, pozisyon -> (satır, sütun)
+// ve satır -> pozisyon dönüşümleri ikili aramayla O(log n)'dir. Nesne değişmez; düzenlemede
+// edit ile, sadece düzenlenen bölgedeki satırlar değiştirilip sonrakiler kaydırılarak yenisi üretilir.
+// Satır ve sütunlar 0'dan başlar.
+public final class LineIndex {
+    private final int[] starts; // starts[0] = 0, sonrakiler '\n' karakterlerinden sonraki pozisyonlar
+    private final int count;    // starts dizisinin kullanılan kısmı, yani satır sayısı
+    private final int length;   // Metnin uzunluğu
+
+    LineIndex(int[] starts, int count, int length) {
+        this.starts = starts;
+        this.count = count;
+        this.length = length;
+    }
+
+    // Kaydedilmiş satır başlarından kurar (ör. diskteki indeks); dizi kopyalanmaz.
+    // Başlar 0 ile başlamalı, artan olmalı ve metnin uzunluğunu geçmemelidir.
+    public static LineIndex of(int[] starts, int count, int length) {
+        if (count < 1 || count > starts.length || starts[0] != 0) {
+            throw new IllegalArgumentException("Invalid line starts");
+        }
+        for (int i = 1; i < count; i++) {
+            if (starts[i] <= starts[i - 1] || starts[i] > length) {
+                throw new IllegalArgumentException("Invalid line start " + starts[i] + " at line " + i);
+            }
+        }
+        return new LineIndex(starts, count, length);
+    }
+
+    // Lexer'dan geçmemiş metinler için baştan kurar
+    public static LineIndex of(CharSequence text) {
+        int[] starts = new int[16];
+        int count = 1;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) != '\n') continue;
+            if (count == starts.length) starts = Arrays.copyOf(starts, count * 2);
+            starts[count++] = i + 1;
+        }
+        return new LineIndex(starts, count, text.length());
+    }
+
+    // Bellekte kapladığı yaklaşık bayt
+    public long estimatedBytes() {
+        return 32 + 16 + 4L * starts.length;
+    }
+
+    public int lineCount() {
+        return count;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    // Pozisyonu içeren satır; metnin sonu son satırdadır
+    public int lineOf(int offset) {
+        int lo = 0, hi = count - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= offset) lo = mid;
+            else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    public int columnOf(int offset) {
+        return offset - starts[lineOf(offset)];
+    }
+
+    public int lineStart(int line) {
+        if (line < 0 || line >= count) throw new IndexOutOfBoundsException("Line " + line + " of " + count);
+        return starts[line];
+    }
+
+    // Satırın bitişi, satır sonu karakteri hariç
+    public int lineEnd(int line) {
+        if (line < 0 || line >= count) throw new IndexOutOfBoundsException("Line " + line + " of " + count);
+        return line + 1 < count ? starts[line + 1] - 1 : length;
+    }
+
+    // Düzenlenmiş metnin indeksi. Silinen aralıktaki satır başları atılır, eklenen metin
+    // satır sonları için taranır, düzenlemeden sonraki satır başları delta kadar kaydırılır.
+    // text düzenlenmiş metindir.
+    public LineIndex edit(CharSequence text, int offset, int removedLength, int insertedLength) {
+        int keep = lineOf(offset) + 1;                    // offset'te ya da önce başlayan satırlar
+        int resume = lineOf(offset + removedLength) + 1;  // Silinen aralıktan sonra başlayan ilk satır
+        int added = 0;
+        for (int i = offset; i < offset + insertedLength; i++) {
+            if (text.charAt(i) == '\n') added++;
+        }
+
+        int[] result = new int[Math.max(keep + added + count - resume, 1)];
+        System.arraycopy(starts, 0, result, 0, keep);
+        int at = keep;
+        for (int i = offset; i < offset + insertedLength; i++) {
+            if (text.charAt(i) == '\n') result[at++] = i + 1;
+        }
+        int delta = insertedLength - removedLength;
+        for (int i = resume; i < count; i++) {
+            result[at++] = starts[i] + delta;
+        }
+        return new LineIndex(result, at, length + delta);
+    }
+}
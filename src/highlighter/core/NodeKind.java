@@ -0,0 +1,24 @@
+package highlighter.core;
+
+// Sözdizimi ağacındaki düğüm türleri
+public enum NodeKind {
+    // Statement'lar
+    PROGRAM,              // Kök düğüm, bütün dosya
+    BLOCK,                // { ... }
+    IF,                   // Çocuklar: koşul, statement, varsa else statement'ı
+    WHILE,                // Çocuklar: koşul, statement
+    FOR,                  // Çocuklar: varsa başlangıç, koşul ve artırım, en sonda statement
+    RETURN,               // Çocuk: varsa dönüş ifadesi
+    DECLARATION,          // İlk iki token tür ve isim; çocuk: varsa başlangıç değeri
+    EXPRESSION_STATEMENT, // Çocuk: ifade
+    ERROR,                // Hata yüzünden atlanan token'lar, ayrıştırılabilen kısmı çocuk olarak tutar
+
+    // İfadeler
+    BINARY,               // Çocuklar: sol ve sağ taraf, operatör sol tarafın ardından gelen token
+    UNARY,                // !x, -x, +x; operatör ilk token
+    PREFIX,               // ++x, --x; operatör ilk token
+    POSTFIX,              // x++, x--; operatör son token
+    PARENTHESIZED,        // ( ifade )
+    IDENTIFIER,
+    LITERAL
+}
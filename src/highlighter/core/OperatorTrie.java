@@ -0,0 +1,52 @@
+package highlighter.core;
+
+import java.util.Arrays;
+
+// Operatör ve ayraçlar için karakter bazlı trie. TokenType'taki sabit metinlerden bir kez
+// kurulur, geçişler düz bir dizide tutulduğu için arama sırasında nesne oluşturulmaz.
+final class OperatorTrie {
+    static final int NO_MATCH = -1;
+    private static final int ALPHABET = 128;
+
+    private int[] next;      // next[node * ALPHABET + c] = çocuk düğüm, yoksa 0
+    private int[] accept;    // Düğümde biten token'ın ordinal'i, yoksa NO_MATCH
+    private int nodeCount;
+
+    OperatorTrie() {
+        next = new int[8 * ALPHABET];
+        accept = new int[8];
+        Arrays.fill(accept, NO_MATCH);
+        nodeCount = 1; // 0 kök düğüm
+        for (TokenType type : TokenType.values()) {
+            String text = type.getText();
+            if (text != null && type != TokenType.EOF) insert(text, type);
+        }
+    }
+
+    private void insert(String text, TokenType type) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int slot = node * ALPHABET + text.charAt(i);
+            if (next[slot] == 0) {
+                if (nodeCount == accept.length) {
+                    next = Arrays.copyOf(next, next.length * 2);
+                    accept = Arrays.copyOf(accept, accept.length * 2);
+                    Arrays.fill(accept, nodeCount, accept.length, NO_MATCH);
+                }
+                next[slot] = nodeCount++;
+            }
+            node = next[slot];
+        }
+        accept[node] = type.ordinal();
+    }
+
+    // Düğümden c karakteriyle geçilen düğüm, geçiş yoksa 0
+    int step(int node, char c) {
+        return c < ALPHABET ? next[node * ALPHABET + c] : 0;
+    }
+
+    // Düğümde biten token'ın ordinal'i ya da NO_MATCH
+    int accept(int node) {
+        return accept[node];
+    }
+}
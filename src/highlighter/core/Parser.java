@@ -2,40 +2,77 @@
 package highlighter.core;
 
 import highlighter.grammar.SimpleGrammar;
-import highlighter.grammar.GrammarRule;
+import highlighter.grammar.TableParser;
+import highlighter.metrics.ParseEvent;
 
 import java.util.*;
 
 public class Parser {
-    private final List<Token> tokens;
+    private final TokenSource tokens;
     private int index;
-    private Token current;
+    private TokenType currentType; // Şu anki token'ın türü, akışın sonunu geçince EOF
     private final List<String> errors;
-    private final List<GrammarRule> grammar;
+    private final List<Diagnostic> diagnostics = new ArrayList<>();
+    private boolean recovering; // Hatada durmak yerine bir sonraki statement'tan devam edilir
+    private StatementCache cache; // Artımlı ayrıştırmada statement sonuçları, yoksa null
+    private SyntaxTree tree;      // parseTree sırasında kurulan ağaç, yoksa null
+    private boolean linesUnknown; // Akış kaynak metni olmadan kuruldu, hatalarda satır ve sütun verilmez
 
+    // Kaynak metin olmadan token listesi; satırlar bilinmediği için hatalar sadece pozisyon taşır
     public Parser(List<Token> tokens) {
+        this(TokenStream.of(tokens));
+        this.linesUnknown = true;
+    }
+
+    // Token listesi ve tarandığı metin; hatalar akıştaki gibi satır ve sütun taşır
+    public Parser(List<Token> tokens, CharSequence source) {
+        this(TokenStream.of(tokens, source));
+    }
+
+    // Bellekteki akış ya da diskten eşlenmiş bir indeks (MappedTokenIndex)
+    public Parser(TokenSource tokens) {
         this.tokens = tokens;
         this.index = 0;
-        this.current = tokens.isEmpty() ? new Token(TokenType.EOF, "EOF", -1, -1) : tokens.get(0);
+        this.currentType = tokens.size() == 0 ? TokenType.EOF : tokens.type(0);
         this.errors = new ArrayList<>();
-        this.grammar = SimpleGrammar.getRules();
+    }
+
+    // Artımlı ayrıştırma için, statement'lar cache üzerinden yeniden kullanılır
+    Parser(TokenStream tokens, StatementCache cache) {
+        this(tokens);
+        this.cache = cache;
     }
 
     private void advance() {
         if (index < tokens.size() - 1) {
             index++;
-            current = tokens.get(index);
+            currentType = tokens.type(index);
         } else {
-            current = new Token(TokenType.EOF, "EOF", -1, -1);
+            index = tokens.size();
+            currentType = TokenType.EOF;
         }
     }
 
+    private void seek(int newIndex) {
+        index = newIndex;
+        currentType = index < tokens.size() ? tokens.type(index) : TokenType.EOF;
+    }
+
+    // Şu anki token'ın değeri, sadece hata mesajları için üretilir
+    private String currentValue() {
+        return index < tokens.size() ? tokens.value(index) : "EOF";
+    }
+
+    private int currentStart() {
+        return index < tokens.size() ? tokens.start(index) : -1;
+    }
+
     public List<String> parse() {
         errors.clear();
         try {
             parseStmtList();
-            if (current.getType() != TokenType.EOF) {
-                errors.add("Unexpected token after end of input: " + current.getValue() + " at position " + current.getStartIndex());
+            if (currentType != TokenType.EOF) {
+                errors.add("Unexpected token after end of input: " + currentValue() + " at position " + currentStart());
             }
         } catch (ParseException e) {
             errors.add(e.getMessage());
@@ -43,93 +80,216 @@ public class Parser {
         return errors;
     }
 
+    // Sadece metnin dilbilgisine uyup uymadığını söyler; hata mesajı üretmez. parse ile aynı
+    // dili kabul eder, LL(1) tablosu ve açık bir yığınla çalışır. Tablo ilk çağrıda kurulur ve
+    // paylaşılır; accepts çağırmayan ayrıştırıcılar dilbilgisini hiç yüklemez.
+    public boolean accepts() {
+        ParseEvent event = ParseEvent.start();
+        boolean accepted = SimpleGrammar.getParser().parse(tokens) == TableParser.ACCEPTED;
+        event.finish(tokens.size(), accepted ? 0 : 1);
+        return accepted;
+    }
+
+    // Bütün metni tek geçişte ayrıştırır ve ilk hatada durmadan bütün hataları toplar.
+    // Hatalı statement'lar skipToNextStatement ile atlanır, eşleşmeyen '}' yok sayılır.
+    public List<Diagnostic> diagnose() {
+        ParseEvent event = ParseEvent.start();
+        diagnostics.clear();
+        recovering = true;
+        if (cache != null) {
+            cache.begin(0);
+            seek(cache.reusePrefix());
+        }
+        try {
+            while (true) {
+                parseStmtList();
+                if (currentType == TokenType.EOF) break;
+                report(error("Unexpected token after end of input: " + currentValue()));
+                leaf(NodeKind.ERROR);
+                advance();
+            }
+        } catch (ParseException e) {
+            // Kurtarma modunda parseStmt hataları kendisi toplar, buraya sadece beklenmedik durumlar düşer
+            report(e);
+        } finally {
+            recovering = false;
+        }
+        if (cache != null) {
+            cache.end(index);
+            diagnostics.addAll(cache.diagnostics(tokens));
+        }
+        event.finish(tokens.size(), diagnostics.size());
+        return diagnostics;
+    }
+
+    // diagnose ile aynı şekilde bütün metni ayrıştırır ve sözdizimi ağacını kurar; hatalar
+    // getDiagnostics ile alınır. Hatalı statement'lar ERROR düğümü olur.
+    public SyntaxTree parseTree() {
+        tree = new SyntaxTree(tokens);
+        try {
+            int root = tree.open(NodeKind.PROGRAM, 0);
+            diagnose();
+            tree.close(root, index - 1);
+            return tree;
+        } finally {
+            tree = null;
+        }
+    }
+
+    // Ağaç kurulurken düğüm işlemleri; ağaç yoksa hiçbir şey yapmaz
+    private int open(NodeKind kind) {
+        return tree == null ? SyntaxTree.NONE : tree.open(kind, index);
+    }
+
+    private void close(int node) {
+        if (tree != null) tree.close(node, index - 1);
+    }
+
+    private int leaf(NodeKind kind) {
+        return tree == null ? SyntaxTree.NONE : tree.leaf(kind, index);
+    }
+
+    private int wrap(int node, NodeKind kind) {
+        return tree == null ? SyntaxTree.NONE : tree.wrap(node, kind);
+    }
+
+    private ParseException error(String reason) {
+        return new ParseException(reason, index, currentStart());
+    }
+
+    private void report(ParseException e) {
+        if (cache != null) {
+            cache.report(e.getToken(), e.getReason());
+        } else {
+            diagnostics.add(diagnosticAt(tokens, linesUnknown ? null : tokens.getLines(), e.getToken(), e.getReason()));
+        }
+    }
+
+    // Verilen token'daki hata; akışın sonundaki hatalar metnin sonunu gösterir
+    static Diagnostic diagnosticAt(TokenSource tokens, int token, String reason) {
+        return diagnosticAt(tokens, tokens.getLines(), token, reason);
+    }
+
+    private static Diagnostic diagnosticAt(TokenSource tokens, LineIndex lines, int token, String reason) {
+        if (token >= tokens.size()) {
+            return new Diagnostic(tokens.getSource().length(), 0, lines, reason);
+        }
+        int length = tokens.type(token) == TokenType.EOF ? 0 : tokens.length(token);
+        return new Diagnostic(tokens.start(token), length, lines, reason);
+    }
+
     private void parseStmtList() throws ParseException {
-        while (current.getType() != TokenType.EOF && current.getType() != TokenType.RBRACE) {
+        while (currentType != TokenType.EOF && currentType != TokenType.RBRACE) {
             parseStmt();
         }
     }
 
     private void parseStmt() throws ParseException {
+        if (cache == null || currentType == TokenType.EOF || currentType == TokenType.RBRACE) {
+            parseStmtBody();
+            return;
+        }
+        // Önceki ayrıştırmada aynı token'larla ayrıştırılmış statement varsa sonucu kullanılır
+        int start = index;
+        int end = cache.reuse(start);
+        if (end >= 0) {
+            seek(end);
+            return;
+        }
+        cache.begin(start);
+        parseStmtBody();
+        cache.end(index);
+    }
+
+    private void parseStmtBody() throws ParseException {
+        int parent = tree == null ? SyntaxTree.NONE : tree.current();
+        int first = index;
         try {
-            if (current.getType() == TokenType.KEYWORD) {
-                String keywordValue = current.getValue();
-                switch (keywordValue) {
-                    case "if":
+            if (currentType == TokenType.KEYWORD) {
+                switch (tokens.id(index)) {
+                    case Keywords.IF:
                         parseIfStmt();
                         break;
-                    case "while":
+                    case Keywords.WHILE:
                         parseWhileStmt();
                         break;
-                    case "for":
+                    case Keywords.FOR:
                         parseForStmt();
                         break;
-                    case "return":
+                    case Keywords.RETURN:
                         parseReturnStmt();
                         break;
                     default:
-                        if (isType(keywordValue)) {
+                        if (isType()) {
                             parseDecl();
                         } else {
-                            throw new ParseException("Invalid statement keyword: " + keywordValue + " at position " + current.getStartIndex());
+                            throw error("Invalid statement keyword: " + currentValue());
                         }
                         break;
                 }
-            } else if (current.getType() == TokenType.LBRACE) {
+            } else if (currentType == TokenType.LBRACE) {
                 parseBlock();
-            } else if (current.getType() == TokenType.IDENTIFIER) {
+            } else if (currentType == TokenType.IDENTIFIER) {
                 parseExprStmt();
-            } else if (current.getType() == TokenType.EOF || current.getType() == TokenType.RBRACE) {
+            } else if (currentType == TokenType.EOF || currentType == TokenType.RBRACE) {
                 return; // Normal sonlanma
             } else {
-                throw new ParseException("Unexpected token: " + current.getValue() + " at position " + current.getStartIndex());
+                throw error("Unexpected token: " + currentValue());
             }
         } catch (ParseException e) {
             // Hata durumunda bir sonraki statement'a atla
             skipToNextStatement();
-            throw e;
+            if (tree != null) tree.recover(parent, first, index - 1, e.getToken());
+            if (!recovering) throw e;
+            report(e);
         }
     }
 
     private void skipToNextStatement() {
-        while (current.getType() != TokenType.EOF &&
-                current.getType() != TokenType.SEMICOLON &&
-                current.getType() != TokenType.RBRACE &&
-                current.getType() != TokenType.LBRACE) {
+        while (currentType != TokenType.EOF &&
+                currentType != TokenType.SEMICOLON &&
+                currentType != TokenType.RBRACE &&
+                currentType != TokenType.LBRACE) {
             advance();
         }
-        if (current.getType() == TokenType.SEMICOLON) {
+        if (currentType == TokenType.SEMICOLON) {
             advance();
         }
     }
 
     private void parseIfStmt() throws ParseException {
-        expect(TokenType.KEYWORD, "if");
+        int node = open(NodeKind.IF);
+        expectKeyword(Keywords.IF);
         expect(TokenType.LPAREN);
         parseExpr();
         expect(TokenType.RPAREN);
         parseStmt(); // Statement or block
 
         // Optional else clause
-        if (current.getType() == TokenType.KEYWORD && current.getValue().equals("else")) {
+        if (currentType == TokenType.KEYWORD && tokens.id(index) == Keywords.ELSE) {
             advance();
             parseStmt();
         }
+        close(node);
     }
 
     private void parseWhileStmt() throws ParseException {
-        expect(TokenType.KEYWORD, "while");
+        int node = open(NodeKind.WHILE);
+        expectKeyword(Keywords.WHILE);
         expect(TokenType.LPAREN);
         parseExpr();
         expect(TokenType.RPAREN);
         parseStmt(); // Statement or block
+        close(node);
     }
 
     private void parseForStmt() throws ParseException {
-        expect(TokenType.KEYWORD, "for");
+        int node = open(NodeKind.FOR);
+        expectKeyword(Keywords.FOR);
         expect(TokenType.LPAREN);
 
-        if (current.getType() != TokenType.SEMICOLON) {
-            if (isType(current.getValue())) {
+        if (currentType != TokenType.SEMICOLON) {
+            if (isType()) {
                 parseDecl();
             } else {
                 parseExpr();
@@ -139,192 +299,244 @@ public class Parser {
             expect(TokenType.SEMICOLON);
         }
 
-        if (current.getType() != TokenType.SEMICOLON) {
+        if (currentType != TokenType.SEMICOLON) {
             parseExpr();
         }
         expect(TokenType.SEMICOLON);
 
 
-        if (current.getType() != TokenType.RPAREN) {
+        if (currentType != TokenType.RPAREN) {
             parseExpr();
         }
         expect(TokenType.RPAREN);
 
         parseStmt();
+        close(node);
     }
 
     private void parseReturnStmt() throws ParseException {
-        expect(TokenType.KEYWORD, "return");
+        int node = open(NodeKind.RETURN);
+        expectKeyword(Keywords.RETURN);
 
 
-        if (current.getType() != TokenType.SEMICOLON) {
+        if (currentType != TokenType.SEMICOLON) {
             parseExpr();
         }
         expect(TokenType.SEMICOLON);
+        close(node);
     }
 
     private void parseDecl() throws ParseException {
+        int node = open(NodeKind.DECLARATION);
         expect(TokenType.KEYWORD); // type
         expect(TokenType.IDENTIFIER);
 
 
-        if (current.getType() == TokenType.ASSIGN) {
+        if (currentType == TokenType.ASSIGN) {
             advance();
             parseExpr();
         }
         expect(TokenType.SEMICOLON);
+        close(node);
     }
 
     private void parseExprStmt() throws ParseException {
+        int node = open(NodeKind.EXPRESSION_STATEMENT);
         parseExpr();
         expect(TokenType.SEMICOLON);
+        close(node);
     }
 
     private void parseBlock() throws ParseException {
+        int node = open(NodeKind.BLOCK);
         expect(TokenType.LBRACE);
         parseStmtList();
         expect(TokenType.RBRACE);
+        close(node);
     }
 
-    private void parseExpr() throws ParseException {
-        parseLogicalOr();
+    // İfade ayrıştırıcısının çerçeveleri. İkili operatör çerçevesi operatörün öncelik seviyesidir
+    // (0 '||' ... 4 '*'), sağ operandı beklenir. Tekli operatör ve parantez çerçeveleri negatiftir.
+    private static final int UNARY_FRAME = -1;
+    private static final int PAREN_FRAME = -2;
+    private static final int NOT_BINARY = -1;
+    private static final int[] LEVELS = new int[TokenType.values().length];
+
+    static {
+        Arrays.fill(LEVELS, NOT_BINARY);
+        LEVELS[TokenType.LOGICAL_OR.ordinal()] = 0;
+        LEVELS[TokenType.LOGICAL_AND.ordinal()] = 1;
+        LEVELS[TokenType.LESS_THAN.ordinal()] = 2;
+        LEVELS[TokenType.GREATER_THAN.ordinal()] = 2;
+        LEVELS[TokenType.LESS_THAN_OR_EQUAL.ordinal()] = 2;
+        LEVELS[TokenType.GREATER_THAN_OR_EQUAL.ordinal()] = 2;
+        LEVELS[TokenType.EQUAL_TO.ordinal()] = 2;
+        LEVELS[TokenType.NOT_EQUAL_TO.ordinal()] = 2;
+        LEVELS[TokenType.PLUS.ordinal()] = 3;
+        LEVELS[TokenType.MINUS.ordinal()] = 3;
+        LEVELS[TokenType.MULTIPLY.ordinal()] = 4;
+        LEVELS[TokenType.DIVIDE.ordinal()] = 4;
+        LEVELS[TokenType.MODULO.ordinal()] = 4;
     }
 
-    private void parseLogicalOr() throws ParseException {
-        parseLogicalAnd();
-        while (current.getType() == TokenType.LOGICAL_OR) {
-            advance();
-            parseLogicalAnd();
-        }
-    }
-
-    private void parseLogicalAnd() throws ParseException {
-        parseComparison();
-        while (current.getType() == TokenType.LOGICAL_AND) {
-            advance();
-            parseComparison();
-        }
-    }
-
-    private void parseComparison() throws ParseException {
-        parseAdditive();
-        while (current.getType() == TokenType.LESS_THAN ||
-                current.getType() == TokenType.GREATER_THAN ||
-                current.getType() == TokenType.LESS_THAN_OR_EQUAL ||
-                current.getType() == TokenType.GREATER_THAN_OR_EQUAL ||
-                current.getType() == TokenType.EQUAL_TO ||
-                current.getType() == TokenType.NOT_EQUAL_TO) {
-            advance();
-            parseAdditive();
-        }
-    }
-
-    private void parseAdditive() throws ParseException {
-        parseTerm();
-        while (current.getType() == TokenType.PLUS || current.getType() == TokenType.MINUS) {
-            advance();
-            parseTerm();
+    private int[] frames = new int[16];
+    private int[] frameNodes = new int[16]; // Çerçevenin ağaçtaki düğümü
+
+    // Öncelik tırmanmalı ifade ayrıştırıcısı. İç içe parantezler ve tekli operatörler özyineleme
+    // yerine çerçeve yığınında tutulur, derinlik Java yığınını kullanmaz. Kabul ettiği dil, hata
+    // mesajları ve kurulan ağaç seviye başına bir metodla yazılmış eski ayrıştırıcıyla aynıdır:
+    // ikili operatörler sola bağlıdır, tekli operatörler sadece bir çarpana uygulanır.
+    // Ağaç kurulurken ifadenin düğümünü, kurulmuyorsa NONE döndürür.
+    private int parseExpr() throws ParseException {
+        int top = 0;
+        while (true) {
+            // Operandın önündeki tekli operatörler ve açılan parantezler
+            while (true) {
+                if (currentType == TokenType.LOGICAL_NOT ||
+                        currentType == TokenType.MINUS ||
+                        currentType == TokenType.PLUS) {
+                    top = push(top, UNARY_FRAME, open(NodeKind.UNARY));
+                } else if (currentType == TokenType.LPAREN) {
+                    top = push(top, PAREN_FRAME, open(NodeKind.PARENTHESIZED));
+                } else {
+                    break;
+                }
+                advance();
+            }
+            int operand = parsePrimary();
+
+            // Operand tamamlandı: biten çerçeveler kapatılır, yeni ikili operatör varsa sağ
+            // operandı için çerçeve açılıp bir sonraki operanda geçilir
+            while (true) {
+                while (top > 0 && frames[top - 1] == UNARY_FRAME) {
+                    operand = frameNodes[--top];
+                    close(operand);
+                }
+                int level = LEVELS[currentType.ordinal()];
+                int frame = top == 0 ? PAREN_FRAME : frames[top - 1];
+                if (level != NOT_BINARY && level > frame) {
+                    top = push(top, level, wrap(operand, NodeKind.BINARY));
+                    advance();
+                    break;
+                }
+                if (frame >= 0) {
+                    operand = frameNodes[--top];
+                    close(operand);
+                } else if (top == 0) {
+                    return operand;
+                } else {
+                    expect(TokenType.RPAREN);
+                    operand = frameNodes[--top];
+                    close(operand);
+                }
+            }
         }
     }
 
-    private void parseTerm() throws ParseException {
-        parseFactor();
-        while (current.getType() == TokenType.MULTIPLY ||
-                current.getType() == TokenType.DIVIDE ||
-                current.getType() == TokenType.MODULO) {
-            advance();
-            parseFactor();
+    private int push(int top, int frame, int node) {
+        if (top == frames.length) {
+            frames = Arrays.copyOf(frames, top * 2);
+            frameNodes = Arrays.copyOf(frameNodes, top * 2);
         }
+        frames[top] = frame;
+        frameNodes[top] = node;
+        return top + 1;
     }
 
-    private void parseFactor() throws ParseException {
-        // tekli operatör
-        if (current.getType() == TokenType.LOGICAL_NOT ||
-                current.getType() == TokenType.MINUS ||
-                current.getType() == TokenType.PLUS) {
+    // İsim (sonek ++/-- ile), literal ya da önek ++/-- ile isim
+    private int parsePrimary() throws ParseException {
+        int node;
+        if (currentType == TokenType.IDENTIFIER) {
+            node = leaf(NodeKind.IDENTIFIER);
             advance();
-            parseFactor();
-            return;
-        }
 
-        if (current.getType() == TokenType.LPAREN) {
-            advance();
-            parseExpr();
-            expect(TokenType.RPAREN);
-        } else if (current.getType() == TokenType.IDENTIFIER) {
-            advance();
-
-            if (current.getType() == TokenType.INCREMENT || current.getType() == TokenType.DECREMENT) {
+            if (currentType == TokenType.INCREMENT || currentType == TokenType.DECREMENT) {
+                node = wrap(node, NodeKind.POSTFIX);
                 advance();
+                close(node);
             }
-        } else if (current.getType() == TokenType.INTEGER_LITERAL ||
-                current.getType() == TokenType.FLOAT_LITERAL ||
-                current.getType() == TokenType.STRING_LITERAL ||
-                current.getType() == TokenType.CHAR_LITERAL) {
+        } else if (currentType == TokenType.INTEGER_LITERAL ||
+                currentType == TokenType.FLOAT_LITERAL ||
+                currentType == TokenType.STRING_LITERAL ||
+                currentType == TokenType.CHAR_LITERAL) {
+            node = leaf(NodeKind.LITERAL);
             advance();
-        } else if (current.getType() == TokenType.INCREMENT || current.getType() == TokenType.DECREMENT) {
-
+        } else if (currentType == TokenType.INCREMENT || currentType == TokenType.DECREMENT) {
+            node = open(NodeKind.PREFIX);
             advance();
-            if (current.getType() == TokenType.IDENTIFIER) {
+            if (currentType == TokenType.IDENTIFIER) {
+                leaf(NodeKind.IDENTIFIER);
                 advance();
             } else {
-                throw new ParseException("Expected identifier after " + tokens.get(index-1).getValue() + " at position " + current.getStartIndex());
+                throw error("Expected identifier after " + tokens.value(index - 1));
             }
+            close(node);
         } else {
-            throw new ParseException("Expected identifier, number, string, or parenthesized expression, got: " + current.getValue() + " at position " + current.getStartIndex());
+            throw error("Expected identifier, number, string, or parenthesized expression, got: " + currentValue());
         }
+        return node;
     }
 
     private void expect(TokenType type) throws ParseException {
-        if (current.getType() != type) {
-            throw new ParseException("Expected " + type + ", got: " + current.getValue() + " (" + current.getType() + ") at position " + current.getStartIndex());
+        if (currentType != type) {
+            throw error("Expected " + type + ", got: " + currentValue() + " (" + currentType + ")");
         }
         advance();
     }
 
-    private void expect(TokenType type, String value) throws ParseException {
-        if (current.getType() != type || !current.getValue().equals(value)) {
-            throw new ParseException("Expected '" + value + "' (" + type + "), got: " + current.getValue() + " (" + current.getType() + ") at position " + current.getStartIndex());
+    private void expectKeyword(int keyword) throws ParseException {
+        if (currentType != TokenType.KEYWORD || tokens.id(index) != keyword) {
+            throw error("Expected '" + Keywords.name(keyword) + "' (" + TokenType.KEYWORD + "), got: " + currentValue()
+                    + " (" + currentType + ")");
         }
         advance();
     }
 
-    private boolean isType(String value) {
-        return value != null && (value.equals("int") || value.equals("float") ||
-                value.equals("boolean") || value.equals("char") ||
-                value.equals("double") || value.equals("long") ||
-                value.equals("short") || value.equals("byte") ||
-                value.equals("void") || value.equals("String"));
-    }
+    // Tür anahtar kelimelerinin id'leri bit maskesi olarak (Keywords.COUNT 64'ten küçük)
+    private static final long TYPE_KEYWORDS = 1L << Keywords.INT | 1L << Keywords.FLOAT |
+            1L << Keywords.BOOLEAN | 1L << Keywords.CHAR | 1L << Keywords.DOUBLE | 1L << Keywords.LONG |
+            1L << Keywords.SHORT | 1L << Keywords.BYTE | 1L << Keywords.VOID;
 
-    public boolean checkBalancedBrackets() {
-        Deque<TokenType> stack = new ArrayDeque<>();
-        for (Token token : tokens) {
-            TokenType type = token.getType();
-            if (type == TokenType.LPAREN || type == TokenType.LBRACE || type == TokenType.LBRACKET) {
-                stack.push(type);
-            } else if (type == TokenType.RPAREN || type == TokenType.RBRACE || type == TokenType.RBRACKET) {
-                if (stack.isEmpty()) return false;
-                TokenType open = stack.pop();
-                if (!matches(open, type)) return false;
-            }
+    // Şu anki token bir tür adı mı: tür anahtar kelimeleri ve String tanımlayıcısı id ile bakılır
+    private boolean isType() {
+        if (currentType == TokenType.KEYWORD) {
+            int id = tokens.id(index);
+            return id != SymbolTable.NONE && (TYPE_KEYWORDS & 1L << id) != 0;
         }
-        return stack.isEmpty();
+        return currentType == TokenType.IDENTIFIER && tokens.id(index) == SymbolTable.STRING;
     }
 
-    private boolean matches(TokenType open, TokenType close) {
-        return (open == TokenType.LPAREN && close == TokenType.RPAREN) ||
-                (open == TokenType.LBRACE && close == TokenType.RBRACE) ||
-                (open == TokenType.LBRACKET && close == TokenType.RBRACKET);
+    // Akışın parantez indeksinden okunur; indeks akış başına bir kez kurulur, retokenize günceller
+    public boolean checkBalancedBrackets() {
+        return tokens.getBrackets().isBalanced();
     }
 
     public List<String> getErrors() {
         return errors;
     }
+
+    // Son diagnose çağrısında bulunan hatalar
+    public List<Diagnostic> getDiagnostics() {
+        return diagnostics;
+    }
 }
 
 class ParseException extends Exception {
-    public ParseException(String message) {
-        super(message);
+    private final String reason;
+    private final int token;
+
+    public ParseException(String reason, int token, int position) {
+        super(reason + " at position " + position);
+        this.reason = reason;
+        this.token = token;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    // Hatanın bulunduğu token'ın indeksi
+    public int getToken() {
+        return token;
     }
 }
@@ -0,0 +1,74 @@
+package highlighter.core;
+
+// Artımlı yeniden taramanın sonucu: birleştirilmiş token akışı ve değişen aralık
+public class RelexResult {
+    private final TokenStream tokens;     // Düzenlemeden sonraki tüm token'lar (EOF dahil)
+    private final int firstChanged;     // Değişen ilk token'ın indeksi
+    private final int changedEnd;       // Yeni listede değişen aralığın bitişi (hariç)
+    private final int removedCount;     // Eski listeden çıkarılan token sayısı
+    private final int changeStart;      // Yeniden taranan karakter aralığının başlangıcı
+    private final int changeEnd;        // Yeniden taranan karakter aralığının bitişi (hariç)
+    private final int editOffset;       // Düzenlemenin başlangıcı
+    private final int removedLength;    // Silinen karakter sayısı
+    private final int insertedLength;   // Eklenen karakter sayısı
+
+    public RelexResult(TokenStream tokens, int firstChanged, int changedEnd, int removedCount,
+                       int changeStart, int changeEnd, int editOffset, int removedLength, int insertedLength) {
+        this.tokens = tokens;
+        this.firstChanged = firstChanged;
+        this.changedEnd = changedEnd;
+        this.removedCount = removedCount;
+        this.changeStart = changeStart;
+        this.changeEnd = changeEnd;
+        this.editOffset = editOffset;
+        this.removedLength = removedLength;
+        this.insertedLength = insertedLength;
+    }
+
+    public TokenStream getTokens() {
+        return tokens;
+    }
+
+    public int getFirstChanged() {
+        return firstChanged;
+    }
+
+    public int getChangedEnd() {
+        return changedEnd;
+    }
+
+    public int getRemovedCount() {
+        return removedCount;
+    }
+
+    public int getChangeStart() {
+        return changeStart;
+    }
+
+    public int getChangeEnd() {
+        return changeEnd;
+    }
+
+    public int getEditOffset() {
+        return editOffset;
+    }
+
+    public int getRemovedLength() {
+        return removedLength;
+    }
+
+    public int getInsertedLength() {
+        return insertedLength;
+    }
+
+    // Düzenlemeden sonraki token'ların kayma miktarı
+    public int getDelta() {
+        return insertedLength - removedLength;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RelexResult(tokens %d-%d, removed %d, chars %d-%d)",
+                firstChanged, changedEnd, removedCount, changeStart, changeEnd);
+    }
+}
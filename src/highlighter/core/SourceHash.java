@@ -0,0 +1,39 @@
+package highlighter.core;
+
+// Kaynak metnin 64 bit içerik özeti; önbellek anahtarı ve disk indeksinin doğrulaması için.
+// Dört karakter bir long olarak işlenir (MurmurHash3'ün 64 bit karıştırma adımları); String'lerde
+// charAt dışında kopya yapılmaz. Değer sürümler arasında değişmemelidir, diskteki indeksler buna bağlıdır.
+public final class SourceHash {
+    private SourceHash() {
+    }
+
+    public static long of(CharSequence source) {
+        int length = source.length();
+        long h = 0x9e3779b97f4a7c15L ^ length;
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            long k = source.charAt(i) | (long) source.charAt(i + 1) << 16
+                    | (long) source.charAt(i + 2) << 32 | (long) source.charAt(i + 3) << 48;
+            h ^= mixKey(k);
+            h = Long.rotateLeft(h, 27) * 5 + 0x52dce729;
+        }
+        long k = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            k |= (long) source.charAt(i) << shift;
+        }
+        h ^= mixKey(k);
+        // fmix64
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long mixKey(long k) {
+        k *= 0x87c37b91114253d5L;
+        k = Long.rotateLeft(k, 31);
+        return k * 0x4cf5ad432745937fL;
+    }
+}
@@ -0,0 +1,318 @@
+package highlighter.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Artımlı ayrıştırmada statement sonuçlarını tutan ağaç. Her statement ve blok bir düğümdür;
+// pozisyonlar token indeksi olarak üst düğümün başına göre tutulduğu için, düzenlemeden sonra
+// kayan bir alt ağaç kopyalanmadan yeni ağaca bağlanabilir.
+final class StatementCache {
+
+    // Ayrıştırılmış tek bir statement'ın değişmez sonucu
+    static final class Node {
+        final int tokenCount;          // Statement'ın tükettiği token sayısı
+        final int[] childStarts;       // Alt statement'ların bu düğümün başına göre başlangıçları
+        final Node[] children;
+        final int[] errorTokens;       // Statement'ın kendi hatalarının göreli token indeksleri
+        final String[] errorMessages;
+        final int diagnosticCount;     // Alt ağaç dahil toplam hata sayısı
+
+        Node(int tokenCount, int[] childStarts, Node[] children, int[] errorTokens, String[] errorMessages,
+             int diagnosticCount) {
+            this.tokenCount = tokenCount;
+            this.childStarts = childStarts;
+            this.children = children;
+            this.errorTokens = errorTokens;
+            this.errorMessages = errorMessages;
+            this.diagnosticCount = diagnosticCount;
+        }
+    }
+
+    // Ayrıştırılmakta olan statement
+    private static final class Frame {
+        int start;
+        int[] childStarts = new int[4];
+        Node[] children = new Node[4];
+        int childCount;
+        int[] errorTokens = new int[2];
+        String[] errorMessages = new String[2];
+        int errorCount;
+        int diagnosticCount;
+
+        void reset(int start) {
+            this.start = start;
+            Arrays.fill(children, 0, childCount, null);
+            Arrays.fill(errorMessages, 0, errorCount, null);
+            childCount = errorCount = diagnosticCount = 0;
+        }
+
+        void addChild(int absoluteStart, Node node) {
+            if (childCount == children.length) {
+                childStarts = Arrays.copyOf(childStarts, childCount * 2);
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            childStarts[childCount] = absoluteStart - start;
+            children[childCount++] = node;
+            diagnosticCount += node.diagnosticCount;
+        }
+
+        // from düğümünün [begin, end) aralığındaki alt statement'ları ve bu aralıktaki kendi
+        // hatalarını tek seferde ekler; from'un başlangıcı fromStart, pozisyonlar delta kadar kayar
+        void addChildren(Node from, int fromStart, int begin, int end, int delta) {
+            int count = end - begin;
+            if (count <= 0) return;
+            if (childCount + count > children.length) {
+                int capacity = Math.max(childCount + count, childCount * 2);
+                childStarts = Arrays.copyOf(childStarts, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            int offset = fromStart + delta - start;
+            for (int k = 0; k < count; k++) {
+                childStarts[childCount + k] = from.childStarts[begin + k] + offset;
+            }
+            System.arraycopy(from.children, begin, children, childCount, count);
+            for (int k = begin; k < end; k++) {
+                diagnosticCount += from.children[k].diagnosticCount;
+            }
+            childCount += count;
+        }
+
+        // from düğümünün göreli olarak [lo, hi) token aralığındaki kendi hatalarını ekler
+        void addErrors(Node from, int fromStart, int lo, int hi, int delta) {
+            int begin = lowerBound(from.errorTokens, lo);
+            int end = lowerBound(from.errorTokens, hi);
+            for (int e = begin; e < end; e++) {
+                addError(fromStart + from.errorTokens[e] + delta, from.errorMessages[e]);
+            }
+        }
+
+        void addError(int token, String message) {
+            if (errorCount == errorTokens.length) {
+                errorTokens = Arrays.copyOf(errorTokens, errorCount * 2);
+                errorMessages = Arrays.copyOf(errorMessages, errorCount * 2);
+            }
+            errorTokens[errorCount] = token - start;
+            errorMessages[errorCount++] = message;
+            diagnosticCount++;
+        }
+
+        // Kapasiteyi en az capacity alt statement'a çıkarır
+        void reserve(int capacity) {
+            if (capacity > children.length) {
+                childStarts = Arrays.copyOf(childStarts, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+        }
+
+        Node build(int end) {
+            int[] starts;
+            Node[] nodes;
+            if (childCount == children.length && childCount > 4) {
+                // Tam dolu büyük diziler (genelde kök) kopyalanmadan düğüme verilir
+                starts = childStarts;
+                nodes = children;
+                childStarts = new int[4];
+                children = new Node[4];
+                childCount = 0;
+            } else {
+                starts = Arrays.copyOf(childStarts, childCount);
+                nodes = Arrays.copyOf(children, childCount);
+            }
+            return new Node(end - start, starts, nodes,
+                    Arrays.copyOf(errorTokens, errorCount), Arrays.copyOf(errorMessages, errorCount), diagnosticCount);
+        }
+    }
+
+    private final Node previous;    // Önceki ayrıştırmanın ağacı, yeniden kullanım yoksa null
+    private final int firstChanged; // Yeni akışta ilk değişen token
+    private final int changedEnd;   // Yeni akışta değişen aralığın sonu
+    private final int shift;        // Değişen aralıktan sonraki token'ların kayma miktarı
+
+    private Frame[] frames = new Frame[16];
+    private int depth;
+    private Node root;
+
+    // Son bulunan düğümün üstü; bir listede sıradaki statement genelde onun kardeşidir
+    private Node hintParent;
+    private int hintParentStart;
+    private int hintChild;
+
+    private int reused;
+    private int parsed;
+
+    StatementCache(Node previous, RelexResult edit) {
+        this.previous = edit == null ? null : previous;
+        this.firstChanged = edit == null ? 0 : edit.getFirstChanged();
+        this.changedEnd = edit == null ? 0 : edit.getChangedEnd();
+        this.shift = edit == null ? 0 : edit.getChangedEnd() - edit.getFirstChanged() - edit.getRemovedCount();
+    }
+
+    // Önceki ağacın kökünde değişen aralıktan ve ona bakan son token'dan önce biten ilk
+    // statement'lar, kökün kendi hatalarıyla birlikte yeni köke kopyalanır. Ayrıştırmaya
+    // devam edilecek token döndürülür. diagnose, kök statement'ına başladıktan hemen sonra çağırır.
+    int reusePrefix() {
+        if (previous == null) return 0;
+        int[] starts = previous.childStarts;
+        Node[] children = previous.children;
+        // Bitişler başlangıçlarla birlikte artar, ilk yeniden ayrıştırılacak statement ikili aramayla bulunur
+        int lo = 0, hi = children.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] + children[mid].tokenCount < firstChanged) lo = mid + 1;
+            else hi = mid;
+        }
+        Frame frame = frames[depth - 1];
+        // Düzenleme genelde kök statement sayısını değiştirmez, kök dizileri bir kez ayrılır
+        frame.reserve(children.length);
+        if (lo == 0) return 0;
+        int end = starts[lo - 1] + children[lo - 1].tokenCount;
+        frame.addErrors(previous, 0, 0, end, 0);
+        frame.addChildren(previous, 0, 0, lo, 0);
+        reused += lo;
+        return end;
+    }
+
+    // Yeni akışta start'ta başlayan statement önceki ağaçtan kullanılabiliyorsa onu bağlar ve
+    // statement'ın bitişini döndürür, yoksa -1. Statement bir token ileriye baktığı için,
+    // bitişinden sonraki token da değişen aralığın dışında olmalıdır.
+    int reuse(int start) {
+        if (previous == null) return -1;
+        int old;
+        if (start < firstChanged) {
+            old = start;
+        } else if (start >= changedEnd) {
+            old = start - shift;
+        } else {
+            return -1;
+        }
+        if (depth == 1 && start >= changedEnd) {
+            int end = reuseSuffix(old);
+            if (end >= 0) return end;
+        }
+        Node node = find(old);
+        if (node == null || (old < firstChanged && old + node.tokenCount >= firstChanged)) return -1;
+        frames[depth - 1].addChild(start, node);
+        reused++;
+        return start + node.tokenCount;
+    }
+
+    // Kök seviyesinde değişen aralıktan sonra önceki ağaçtaki bir statement başlangıcına
+    // gelinmişse, oradan sonraki bütün kök statement'ları ve hataları aynen tekrar edilir:
+    // kalan hepsi kayarak kopyalanır ve kökün yeni bitişi döndürülür. Değilse -1.
+    private int reuseSuffix(int old) {
+        int k = lastChildAtOrBefore(previous.childStarts, old);
+        if (k < 0 || previous.childStarts[k] != old) return -1;
+        Frame frame = frames[0];
+        int count = previous.children.length;
+        frame.addChildren(previous, 0, k, count, shift);
+        frame.addErrors(previous, 0, old, previous.tokenCount + 1, shift);
+        reused += count - k;
+        return previous.tokenCount + shift;
+    }
+
+    // Önceki ağaçta old token'ında başlayan düğümü bulur
+    private Node find(int old) {
+        if (hintParent != null && hintChild + 1 < hintParent.children.length
+                && hintParentStart + hintParent.childStarts[hintChild + 1] == old) {
+            return hintParent.children[++hintChild];
+        }
+        Node node = previous;
+        int nodeStart = 0;
+        while (true) {
+            int k = lastChildAtOrBefore(node.childStarts, old - nodeStart);
+            if (k < 0) return null;
+            int childStart = nodeStart + node.childStarts[k];
+            Node child = node.children[k];
+            if (childStart == old) {
+                hintParent = node;
+                hintParentStart = nodeStart;
+                hintChild = k;
+                return child;
+            }
+            if (old >= childStart + child.tokenCount) return null;
+            node = child;
+            nodeStart = childStart;
+        }
+    }
+
+    // starts içinde value'dan küçük olmayan ilk eleman
+    private static int lowerBound(int[] starts, int value) {
+        int lo = 0, hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int lastChildAtOrBefore(int[] starts, int offset) {
+        int lo = 0, hi = starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (starts[mid] <= offset) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo - 1;
+    }
+
+    // Yeni bir statement'ın ayrıştırılmasına başlanır
+    void begin(int start) {
+        if (depth == frames.length) frames = Arrays.copyOf(frames, depth * 2);
+        if (frames[depth] == null) frames[depth] = new Frame();
+        frames[depth++].reset(start);
+        if (depth > 1) parsed++;
+    }
+
+    void report(int token, String message) {
+        frames[depth - 1].addError(token, message);
+    }
+
+    // Statement end token'ında bitti, sonucu üst düğüme eklenir
+    void end(int end) {
+        Frame frame = frames[--depth];
+        Node node = frame.build(end);
+        if (depth > 0) {
+            frames[depth - 1].addChild(frame.start, node);
+        } else {
+            root = node;
+        }
+    }
+
+    Node getRoot() {
+        return root;
+    }
+
+    int getReused() {
+        return reused;
+    }
+
+    int getParsed() {
+        return parsed;
+    }
+
+    // Ağaçtaki hataları ayrıştırma sırasıyla verir; hatasız alt ağaçlara girilmez
+    List<Diagnostic> diagnostics(TokenSource tokens) {
+        List<Diagnostic> result = new ArrayList<>(root.diagnosticCount);
+        collect(root, 0, tokens, result);
+        return result;
+    }
+
+    private static void collect(Node node, int start, TokenSource tokens, List<Diagnostic> out) {
+        if (node.diagnosticCount == 0) return;
+        int e = 0;
+        for (int c = 0; c < node.children.length; c++) {
+            int childStart = start + node.childStarts[c];
+            // Alt statement'tan önce oluşan kendi hataları
+            while (e < node.errorTokens.length && start + node.errorTokens[e] < childStart) {
+                out.add(Parser.diagnosticAt(tokens, start + node.errorTokens[e], node.errorMessages[e]));
+                e++;
+            }
+            collect(node.children[c], childStart, tokens, out);
+        }
+        for (; e < node.errorTokens.length; e++) {
+            out.add(Parser.diagnosticAt(tokens, start + node.errorTokens[e], node.errorMessages[e]));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package highlighter.core;
+
+import java.util.Arrays;
+
+// Bir belgedeki isimleri (anahtar kelimeler ve tanımlayıcılar) kalıcı int id'lere bağlayan tablo.
+// Aynı isim her geçtiğinde aynı id'yi alır, bu yüzden sonraki aşamalar String yerine id karşılaştırır.
+// İlk Keywords.COUNT id anahtar kelimelerindir, tanımlayıcılar ondan sonra sırayla numaralanır.
+// Tür adı olarak kullanılan "String" her tabloda ilk tanımlayıcıdır ve sabit STRING id'sini alır.
+// İsimlerin karakterleri tek bir havuzda tutulur; String sadece name ile istendiğinde, her isim
+// için bir kez oluşturulur.
+//
+// Tablo thread güvenli değildir. Bir akış ve ondan retokenize ile üretilen akışlar aynı tabloyu
+// paylaşır ve tabloyu genişletir, bu yüzden aynı thread'de ya da sırayla kullanılmalıdır.
+public final class SymbolTable {
+    public static final int NONE = -1;
+    public static final int STRING = Keywords.COUNT;
+
+    private char[] chars = new char[256]; // İsimlerin karakter havuzu
+    private int charCount;
+    private int[] offsets = new int[16];  // (id - Keywords.COUNT) sırasıyla havuzdaki başlangıç
+    private int[] lengths = new int[16];
+    private int[] hashes = new int[16];
+    private String[] names = new String[16];
+    private int count;
+
+    private int[] slots = new int[32];   // Açık adresleme; id + 1, boşsa 0
+
+    public SymbolTable() {
+        intern("String");
+    }
+
+    // chars[offset, offset + length) tanımlayıcısının id'si, ilk kez görülüyorsa eklenir.
+    // Anahtar kelime denetimi çağıran tarafta (Keywords.match) yapılmış olmalıdır.
+    public int intern(char[] source, int offset, int length) {
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + source[offset + i];
+        }
+        hash ^= hash >>> 16;
+
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = slots[slot] - 1;
+            if (entry < 0) {
+                return add(source, offset, length, hash, slot);
+            }
+            if (hashes[entry] == hash && lengths[entry] == length && sameChars(entry, source, offset, length)) {
+                return Keywords.COUNT + entry;
+            }
+        }
+    }
+
+    public int intern(String name) {
+        int keyword = Keywords.match(name, 0, name.length());
+        return keyword != Keywords.NONE ? keyword : intern(name.toCharArray(), 0, name.length());
+    }
+
+    private boolean sameChars(int entry, char[] source, int offset, int length) {
+        int start = offsets[entry];
+        for (int i = 0; i < length; i++) {
+            if (chars[start + i] != source[offset + i]) return false;
+        }
+        return true;
+    }
+
+    private int add(char[] source, int offset, int length, int hash, int slot) {
+        if (count == offsets.length) {
+            int capacity = count * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            names = Arrays.copyOf(names, capacity);
+        }
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charCount + length));
+        }
+        System.arraycopy(source, offset, chars, charCount, length);
+        offsets[count] = charCount;
+        lengths[count] = length;
+        hashes[count] = hash;
+        charCount += length;
+        slots[slot] = count + 1;
+        count++;
+        if (count * 2 > slots.length) rehash();
+        return Keywords.COUNT + count - 1;
+    }
+
+    // Doluluk yarıyı geçince yuvalar iki katına çıkarılır, özetler saklandığı için yeniden hesaplanmaz
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int entry = 0; entry < count; entry++) {
+            int slot = hashes[entry] & mask;
+            while (slots[slot] != 0) slot = (slot + 1) & mask;
+            slots[slot] = entry + 1;
+        }
+    }
+
+    public String name(int id) {
+        if (id < Keywords.COUNT) return Keywords.name(id);
+        int entry = id - Keywords.COUNT;
+        String name = names[entry];
+        if (name == null) {
+            name = new String(chars, offsets[entry], lengths[entry]);
+            names[entry] = name;
+        }
+        return name;
+    }
+
+    // Aynı id'leri veren bağımsız kopya
+    public SymbolTable copy() {
+        SymbolTable copy = new SymbolTable();
+        copy.chars = Arrays.copyOf(chars, Math.max(charCount, 1));
+        copy.charCount = charCount;
+        copy.offsets = offsets.clone();
+        copy.lengths = lengths.clone();
+        copy.hashes = hashes.clone();
+        copy.names = names.clone();
+        copy.count = count;
+        copy.slots = slots.clone();
+        return copy;
+    }
+
+    // Tablonun bellekte kapladığı yaklaşık bayt, oluşturulmuş isim String'leri hariç
+    public long estimatedBytes() {
+        return 64 + 7 * 16 + 2L * chars.length + 16L * offsets.length + 4L * slots.length;
+    }
+
+    // Anahtar kelimeler dahil id sayısı
+    public int size() {
+        return Keywords.COUNT + count;
+    }
+}
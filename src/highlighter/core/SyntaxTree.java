@@ -0,0 +1,196 @@
+package highlighter.core;
+
+import java.util.Arrays;
+
+// Parser'ın ürettiği sözdizimi ağacı. Her düğüm için nesne oluşturulmaz, düğümler paralel
+// ilkel dizilerde tutulur ve indeksleriyle gezilir. Token'lar akıştaki indeksleriyle saklanır.
+// Kök düğüm 0'dır; ifadeler sarmalanırken düğümler yer değiştirdiği için indeks sırası
+// ağaçtaki sırayla aynı olmayabilir, gezinme firstChild/nextSibling ile yapılmalıdır.
+public class SyntaxTree {
+    public static final int NONE = -1;
+    private static final NodeKind[] KINDS = NodeKind.values();
+
+    private final TokenSource tokens;
+    private byte[] kinds;
+    private int[] firstTokens;
+    private int[] lastTokens;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] lastChildren; // Sadece kurulum sırasında, çocuk eklemek için
+    private int size;
+    private int current = NONE; // Kapanmamış en içteki düğüm
+
+    SyntaxTree(TokenSource tokens) {
+        this.tokens = tokens;
+        int capacity = Math.max(16, tokens.size());
+        kinds = new byte[capacity];
+        firstTokens = new int[capacity];
+        lastTokens = new int[capacity];
+        parents = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        lastChildren = new int[capacity];
+    }
+
+    public TokenSource getTokens() {
+        return tokens;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int root() {
+        return 0;
+    }
+
+    public NodeKind kind(int node) {
+        return KINDS[kinds[node]];
+    }
+
+    public int firstToken(int node) {
+        return firstTokens[node];
+    }
+
+    // Düğümün son token'ı; boş program için firstToken - 1
+    public int lastToken(int node) {
+        return lastTokens[node];
+    }
+
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    public int firstChild(int node) {
+        return firstChildren[node];
+    }
+
+    public int nextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    public int childCount(int node) {
+        int count = 0;
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) count++;
+        return count;
+    }
+
+    // Operatör ifadelerinde operatör token'ının indeksi, diğer düğümler için NONE
+    public int operator(int node) {
+        switch (kind(node)) {
+            case BINARY: return lastTokens[firstChildren[node]] + 1;
+            case UNARY: case PREFIX: return firstTokens[node];
+            case POSTFIX: return lastTokens[node];
+            default: return NONE;
+        }
+    }
+
+    // Verilen token'ı içeren en içteki düğüm, yoksa NONE
+    public int nodeAt(int token) {
+        if (size == 0 || token < firstTokens[0] || token > lastTokens[0]) return NONE;
+        int node = 0;
+        for (int child = firstChildren[node]; child != NONE; ) {
+            if (firstTokens[child] <= token && token <= lastTokens[child]) {
+                node = child;
+                child = firstChildren[child];
+            } else {
+                child = nextSiblings[child];
+            }
+        }
+        return node;
+    }
+
+    // Dizilerin kapladığı yaklaşık bellek (byte)
+    public long memoryUsage() {
+        return (long) kinds.length * (1 + 6 * Integer.BYTES);
+    }
+
+    // Kurulum: şu anki düğümün son çocuğu olarak yeni bir düğüm açar
+    int open(NodeKind kind, int firstToken) {
+        int node = add(kind, firstToken, current);
+        current = node;
+        return node;
+    }
+
+    // Düğüm lastToken'da biter, üst düğümü yeniden şu anki düğüm olur
+    void close(int node, int lastToken) {
+        lastTokens[node] = lastToken;
+        current = parents[node];
+    }
+
+    // Tek token'lık kapalı düğüm ekler
+    int leaf(NodeKind kind, int token) {
+        int node = add(kind, token, current);
+        lastTokens[node] = token;
+        return node;
+    }
+
+    // Kapanmış node düğümünü kind türünde yeni bir düğümle sarar ve yeni düğümü açar.
+    // Düğüm indeksi yerinde kalır, eski içeriği yeni bir indekse taşınıp ilk çocuk olur.
+    int wrap(int node, NodeKind kind) {
+        int children = firstChildren[node];
+        int lastChild = lastChildren[node];
+        firstChildren[node] = lastChildren[node] = NONE;
+        int moved = add(KINDS[kinds[node]], firstTokens[node], node);
+        lastTokens[moved] = lastTokens[node];
+        firstChildren[moved] = children;
+        lastChildren[moved] = lastChild;
+        for (int child = firstChildren[moved]; child != NONE; child = nextSiblings[child]) {
+            parents[child] = moved;
+        }
+        kinds[node] = (byte) kind.ordinal();
+        current = node;
+        return node;
+    }
+
+    int current() {
+        return current;
+    }
+
+    // Hata sonrası: parent'a kadar açık kalan düğümleri errorToken'dan önce biter sayarak kapatır.
+    // parent'ın first'te başlayan çocuğu varsa ERROR olur, yoksa atlanan token'lar için ERROR eklenir.
+    void recover(int parent, int first, int last, int errorToken) {
+        while (current != parent && current != NONE) {
+            close(current, Math.max(firstTokens[current], errorToken - 1));
+        }
+        int statement = parent == NONE ? NONE : lastChildren[parent];
+        if (statement != NONE && firstTokens[statement] == first) {
+            kinds[statement] = (byte) NodeKind.ERROR.ordinal();
+            lastTokens[statement] = last;
+        } else {
+            int node = add(NodeKind.ERROR, first, parent);
+            lastTokens[node] = last;
+        }
+    }
+
+    private int add(NodeKind kind, int firstToken, int parent) {
+        if (size == kinds.length) grow();
+        int node = size++;
+        kinds[node] = (byte) kind.ordinal();
+        firstTokens[node] = firstToken;
+        lastTokens[node] = firstToken;
+        parents[node] = parent;
+        firstChildren[node] = lastChildren[node] = nextSiblings[node] = NONE;
+        if (parent != NONE) {
+            if (firstChildren[parent] == NONE) {
+                firstChildren[parent] = node;
+            } else {
+                nextSiblings[lastChildren[parent]] = node;
+            }
+            lastChildren[parent] = node;
+        }
+        return node;
+    }
+
+    private void grow() {
+        int capacity = size + (size >> 1) + 1;
+        kinds = Arrays.copyOf(kinds, capacity);
+        firstTokens = Arrays.copyOf(firstTokens, capacity);
+        lastTokens = Arrays.copyOf(lastTokens, capacity);
+        parents = Arrays.copyOf(parents, capacity);
+        firstChildren = Arrays.copyOf(firstChildren, capacity);
+        nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+        lastChildren = Arrays.copyOf(lastChildren, capacity);
+    }
+}
@@ -0,0 +1,10 @@
+package highlighter.core;
+
+import java.io.IOException;
+
+// Akış halinde taramada token'ları oluştukları anda alan arayüz
+@FunctionalInterface
+public interface TokenSink {
+    // end, Token.getEndIndex gibi dahildir
+    void token(TokenType type, int start, int end) throws IOException;
+}
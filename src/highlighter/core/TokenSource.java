@@ -0,0 +1,53 @@
+package highlighter.core;
+
+// Parser'ın ve çizicilerin okuduğu, indeksle erişilen salt okunur token dizisi. TokenStream
+// bellekteki, MappedTokenIndex diskten eşlenmiş gerçeklemesidir; ikisi de token başına nesne
+// oluşturmaz. Son token EOF'tur.
+public interface TokenSource {
+    int size();
+
+    TokenType type(int i);
+
+    int start(int i);
+
+    int length(int i);
+
+    // Bitiş pozisyonu (Token.getEndIndex gibi dahil)
+    default int end(int i) {
+        return start(i) + length(i) - 1;
+    }
+
+    // Anahtar kelimeler için Keywords id'si, tanımlayıcılar için aynı kaynakta aynı isme aynı id,
+    // diğer token'lar için SymbolTable.NONE
+    int id(int i);
+
+    // Token değeri; sadece gerektiğinde, ör. hata mesajlarında çağrılmalıdır
+    default String value(int i) {
+        String text = type(i).getText();
+        if (text != null) return text;
+        return getSource().subSequence(start(i), start(i) + length(i)).toString();
+    }
+
+    // Token metnini String oluşturmadan karşılaştırır
+    default boolean textEquals(int i, String text) {
+        TokenType type = type(i);
+        if (type.getText() != null) return type.getText().equals(text);
+        int length = length(i);
+        if (length != text.length()) return false;
+        CharSequence source = getSource();
+        int start = start(i);
+        for (int k = 0; k < length; k++) {
+            if (source.charAt(start + k) != text.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    CharSequence getSource();
+
+    LineIndex getLines();
+
+    // Parantez eşleşme indeksi; varsayılan gerçekleme her çağrıda baştan kurar
+    default BracketIndex getBrackets() {
+        return BracketIndex.of(this);
+    }
+}
@@ -0,0 +1,272 @@
+package highlighter.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Token'ları paralel ilkel dizilerde tutan akış. Her token için nesne ya da String
+// oluşturulmaz, değerler sadece istendiğinde kaynak metinden kesilerek üretilir.
+// Anahtar kelime ve tanımlayıcıların akışın sembol tablosundaki id'leri de tutulur.
+public class TokenStream implements TokenSource {
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final CharSequence source;
+    private byte[] types;   // TokenType ordinal'i
+    private int[] starts;   // Başlangıç pozisyonu
+    private int[] lengths;  // Karakter uzunluğu
+    private int[] ids;      // Sembol id'si, anahtar kelime ve tanımlayıcı değilse SymbolTable.NONE
+    private final SymbolTable symbols;
+    private LineIndex lines;  // Lexer tararken kurar, yoksa ilk istendiğinde kaynak metinden
+    private BracketIndex brackets; // İlk istendiğinde kurulur, sonra retokenize günceller
+    private int firstUnclosed = -1; // İlk kapanmayan string'in (UNKNOWN, '"' ile başlar) indeksi, yoksa -1
+    private int size;
+
+    public TokenStream(CharSequence source) {
+        this(source, 16);
+    }
+
+    public TokenStream(CharSequence source, int capacity) {
+        this(source, capacity, new SymbolTable());
+    }
+
+    TokenStream(CharSequence source, int capacity, SymbolTable symbols) {
+        this.source = source;
+        this.symbols = symbols;
+        this.types = new byte[Math.max(capacity, 1)];
+        this.starts = new int[types.length];
+        this.lengths = new int[types.length];
+        this.ids = new int[types.length];
+    }
+
+    // Token listesinden akış oluşturur; kaynak metin bilinmediği için token değerleri boşluklarla
+    // doldurulmuş bir metne yazılır. Bu metnin satırları gerçek satırlar değildir.
+    public static TokenStream of(List<Token> tokens) {
+        int length = 0;
+        for (Token token : tokens) {
+            if (token.getType() != TokenType.EOF) length = Math.max(length, token.getEndIndex() + 1);
+        }
+        char[] text = new char[length];
+        Arrays.fill(text, ' ');
+        for (Token token : tokens) {
+            if (token.getType() == TokenType.EOF || token.getStartIndex() < 0) continue;
+            String value = token.getValue();
+            value.getChars(0, Math.min(value.length(), length - token.getStartIndex()), text, token.getStartIndex());
+        }
+        return of(tokens, new String(text));
+    }
+
+    // Token listesinden, token'ların tarandığı metin üzerinde akış oluşturur
+    public static TokenStream of(List<Token> tokens, CharSequence source) {
+        TokenStream stream = new TokenStream(source, tokens.size());
+        for (Token token : tokens) {
+            int id = SymbolTable.NONE;
+            if (token.getType() == TokenType.KEYWORD) {
+                id = Keywords.match(token.getValue(), 0, token.getValue().length());
+            } else if (token.getType() == TokenType.IDENTIFIER) {
+                id = stream.symbols.intern(token.getValue());
+            }
+            stream.add(token.getType(), token.getStartIndex(), token.getEndIndex(), id);
+        }
+        return stream;
+    }
+
+    void add(TokenType type, int start, int end) {
+        add(type, start, end, SymbolTable.NONE);
+    }
+
+    void add(TokenType type, int start, int end, int id) {
+        if (size == types.length) {
+            int capacity = size + (size >> 1) + 1;
+            types = Arrays.copyOf(types, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+        }
+        types[size] = (byte) type.ordinal();
+        starts[size] = start;
+        lengths[size] = end - start + 1;
+        ids[size] = id;
+        if (type == TokenType.UNKNOWN && firstUnclosed < 0 && source.charAt(start) == '"') firstUnclosed = size;
+        size++;
+    }
+
+    // [first, first + removed) aralığını replacement akışındaki token'larla değiştirir, sonraki
+    // token'ları delta kadar kaydırır. Bu akış değişmez, sonuç yeni kaynak metne bağlı yeni bir akıştır.
+    TokenStream splice(CharSequence newSource, int first, int removed, TokenStream replacement, int delta) {
+        int tail = size - first - removed;
+        TokenStream result = new TokenStream(newSource, first + replacement.size + tail, symbols);
+        System.arraycopy(types, 0, result.types, 0, first);
+        System.arraycopy(starts, 0, result.starts, 0, first);
+        System.arraycopy(lengths, 0, result.lengths, 0, first);
+        System.arraycopy(ids, 0, result.ids, 0, first);
+        System.arraycopy(replacement.types, 0, result.types, first, replacement.size);
+        System.arraycopy(replacement.starts, 0, result.starts, first, replacement.size);
+        System.arraycopy(replacement.lengths, 0, result.lengths, first, replacement.size);
+        System.arraycopy(replacement.ids, 0, result.ids, first, replacement.size);
+        int at = first + replacement.size;
+        System.arraycopy(types, first + removed, result.types, at, tail);
+        System.arraycopy(lengths, first + removed, result.lengths, at, tail);
+        System.arraycopy(ids, first + removed, result.ids, at, tail);
+        for (int i = 0; i < tail; i++) {
+            result.starts[at + i] = starts[first + removed + i] + delta;
+        }
+        result.size = at + tail;
+        // İlk kapanmayan string önceki token'lardaysa aynı kalır, değilse yeni token'larda ya da sonrakilerde aranır
+        if (firstUnclosed >= 0 && firstUnclosed < first) {
+            result.firstUnclosed = firstUnclosed;
+        } else if (replacement.firstUnclosed >= 0) {
+            result.firstUnclosed = first + replacement.firstUnclosed;
+        } else if (firstUnclosed >= first + removed) {
+            result.firstUnclosed = firstUnclosed - removed + replacement.size;
+        } else if (firstUnclosed >= 0) {
+            // Çıkarılan aralıktaydı; sonrakilerden ilki sadece bu durumda taranarak bulunur
+            for (int i = at; i < result.size; i++) {
+                if (result.types[i] == TokenType.UNKNOWN.ordinal() && newSource.charAt(result.starts[i]) == '"') {
+                    result.firstUnclosed = i;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    // Aynı içerikteki başka bir kaynak metne bağlı kopya. Diziler kullanılan boyuta kısaltılır ve
+    // sembol tablosu kopyalanır; kopya ve bu akış birbirinden bağımsız olarak retokenize edilebilir.
+    public TokenStream copy(CharSequence newSource) {
+        if (newSource.length() != source.length()) {
+            throw new IllegalArgumentException("Source length " + newSource.length() + " does not match " + source.length());
+        }
+        TokenStream copy = new TokenStream(newSource, size, symbols.copy());
+        System.arraycopy(types, 0, copy.types, 0, size);
+        System.arraycopy(starts, 0, copy.starts, 0, size);
+        System.arraycopy(lengths, 0, copy.lengths, 0, size);
+        System.arraycopy(ids, 0, copy.ids, 0, size);
+        copy.size = size;
+        copy.lines = lines;
+        copy.brackets = brackets;
+        copy.firstUnclosed = firstUnclosed;
+        return copy;
+    }
+
+    // Akışın bellekte kapladığı yaklaşık bayt: token dizileri, sembol tablosu, satır ve parantez indeksi.
+    // Kaynak metin dahil değildir.
+    public long estimatedBytes() {
+        long bytes = 48 + 4 * 16 + types.length + 12L * starts.length + symbols.estimatedBytes();
+        if (lines != null) bytes += lines.estimatedBytes();
+        if (brackets != null) bytes += brackets.estimatedBytes();
+        return bytes;
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    // Akışın ve retokenize ile ondan üretilen akışların ortak sembol tablosu
+    public SymbolTable getSymbols() {
+        return symbols;
+    }
+
+    // Kaynak metnin satır indeksi
+    public LineIndex getLines() {
+        if (lines == null) lines = LineIndex.of(source);
+        return lines;
+    }
+
+    void setLines(LineIndex lines) {
+        this.lines = lines;
+    }
+
+    // Parantez eşleşme indeksi. Sadece kullanan için kurulur: ilk çağrıda akıştan, bu akıştan
+    // retokenize ile üretilen akışlarda düzenlemeyle birlikte artımlı olarak.
+    @Override
+    public BracketIndex getBrackets() {
+        if (brackets == null) brackets = BracketIndex.of(this);
+        return brackets;
+    }
+
+    // Hata kurtarma modunda ilk kapanmayan string token'ının indeksi, yoksa -1
+    int firstUnclosedString() {
+        return firstUnclosed;
+    }
+
+    boolean hasBrackets() {
+        return brackets != null;
+    }
+
+    void setBrackets(BracketIndex brackets) {
+        this.brackets = brackets;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenType type(int i) {
+        return TYPES[types[i]];
+    }
+
+    public int start(int i) {
+        return starts[i];
+    }
+
+    // Bitiş pozisyonu (Token.getEndIndex gibi dahil)
+    public int end(int i) {
+        return starts[i] + lengths[i] - 1;
+    }
+
+    public int length(int i) {
+        return lengths[i];
+    }
+
+    // Anahtar kelime ve tanımlayıcıların sembol id'si, diğer token'lar için SymbolTable.NONE.
+    // Aynı isimli iki token'ın id'si aynıdır.
+    public int id(int i) {
+        return ids[i];
+    }
+
+    // Token değerini döndürür; operatörler için paylaşılan sabit metin, isimler için sembol
+    // tablosundaki ortak String kullanılır
+    public String value(int i) {
+        String text = TYPES[types[i]].getText();
+        if (text != null) return text;
+        if (ids[i] != SymbolTable.NONE) return symbols.name(ids[i]);
+        return source.subSequence(starts[i], starts[i] + lengths[i]).toString();
+    }
+
+    // Token metnini String oluşturmadan karşılaştırır
+    public boolean textEquals(int i, String text) {
+        TokenType type = TYPES[types[i]];
+        if (type.getText() != null) return type.getText().equals(text);
+        int length = lengths[i];
+        if (length != text.length()) return false;
+        int start = starts[i];
+        for (int k = 0; k < length; k++) {
+            if (source.charAt(start + k) != text.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    // Eski API ile uyumluluk için tek bir token nesnesi oluşturur
+    public Token token(int i) {
+        return new Token(type(i), value(i), start(i), end(i));
+    }
+
+    public List<Token> toList() {
+        List<Token> tokens = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tokens.add(token(i));
+        }
+        return tokens;
+    }
+
+    // Verilen pozisyonu içeren ya da ondan sonra gelen ilk token'ın indeksi
+    public int indexAt(int offset) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (end(mid) < offset) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
@@ -13,52 +13,52 @@ public enum TokenType {
     KEYWORD,
 
     // Operatörler
-    ASSIGN,                // =
-    PLUS,                  // +
-    MINUS,                 // -
-    MULTIPLY,              // *
-    DIVIDE,                // /
-    MODULO,                // %
-
-    EQUAL_TO,              // ==
-    NOT_EQUAL_TO,          // !=
-    GREATER_THAN,          // >
-    LESS_THAN,             // <
-    GREATER_THAN_OR_EQUAL, // >=
-    LESS_THAN_OR_EQUAL,    // <=
-
-    PLUS_ASSIGN,           // +=
-    MINUS_ASSIGN,          // -=
-    MULTIPLY_ASSIGN,       // *=
-    DIVIDE_ASSIGN,         // /=
-    MODULO_ASSIGN,         // %=
-
-    INCREMENT,             // ++
-    DECREMENT,             // --
-
-    LOGICAL_AND,           // &&
-    LOGICAL_OR,            // ||
-    LOGICAL_NOT,           // !
-
-    BITWISE_AND,           // &
-    BITWISE_OR,            // |
-    BITWISE_XOR,           // ^
-    BITWISE_NOT,           // ~
-
-    LEFT_SHIFT,            // <<
-    RIGHT_SHIFT,           // >>
-    UNSIGNED_RIGHT_SHIFT,  // >>>
+    ASSIGN("="),
+    PLUS("+"),
+    MINUS("-"),
+    MULTIPLY("*"),
+    DIVIDE("/"),
+    MODULO("%"),
+
+    EQUAL_TO("=="),
+    NOT_EQUAL_TO("!="),
+    GREATER_THAN(">"),
+    LESS_THAN("<"),
+    GREATER_THAN_OR_EQUAL(">="),
+    LESS_THAN_OR_EQUAL("<="),
+
+    PLUS_ASSIGN("+="),
+    MINUS_ASSIGN("-="),
+    MULTIPLY_ASSIGN("*="),
+    DIVIDE_ASSIGN("/="),
+    MODULO_ASSIGN("%="),
+
+    INCREMENT("++"),
+    DECREMENT("--"),
+
+    LOGICAL_AND("&&"),
+    LOGICAL_OR("||"),
+    LOGICAL_NOT("!"),
+
+    BITWISE_AND("&"),
+    BITWISE_OR("|"),
+    BITWISE_XOR("^"),
+    BITWISE_NOT("~"),
+
+    LEFT_SHIFT("<<"),
+    RIGHT_SHIFT(">>"),
+    UNSIGNED_RIGHT_SHIFT(">>>"),
 
     // Noktalama işaretleri
-    LPAREN,                // (
-    RPAREN,                // )
-    LBRACE,                // {
-    RBRACE,                // }
-    LBRACKET,              // [
-    RBRACKET,              // ]
-    SEMICOLON,             // ;
-    COMMA,                 // ,
-    DOT,                   // .
+    LPAREN("("),
+    RPAREN(")"),
+    LBRACE("{"),
+    RBRACE("}"),
+    LBRACKET("["),
+    RBRACKET("]"),
+    SEMICOLON(";"),
+    COMMA(","),
+    DOT("."),
 
     // Yorumlar
     LINE_COMMENT,
@@ -66,5 +66,20 @@ public enum TokenType {
 
     // Özel token'lar
     UNKNOWN,
-    EOF;
+    EOF("EOF");
+
+    private final String text; // Sabit metinli token'lar için paylaşılan değer
+
+    TokenType() {
+        this(null);
+    }
+
+    TokenType(String text) {
+        this.text = text;
+    }
+
+    // Sabit metni döndürür, metni değişken olan token'lar için null
+    public String getText() {
+        return text;
+    }
 }
\ No newline at end of file
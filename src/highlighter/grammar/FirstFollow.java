@@ -0,0 +1,106 @@
+package highlighter.grammar;
+
+import java.util.BitSet;
+import java.util.List;
+
+// Dilbilgisinin FIRST ve FOLLOW kümeleri ile boş türetilebilen (nullable) terminal olmayanlar.
+// Kümeler terminal id'lerinden oluşan BitSet'lerdir ve sabit noktaya kadar yinelenerek hesaplanır.
+public final class FirstFollow {
+    private final Grammar grammar;
+    private final boolean[] nullable; // Terminal olmayan indeksine göre
+    private final BitSet[] first;
+    private final BitSet[] follow;
+
+    public FirstFollow(Grammar grammar) {
+        this.grammar = grammar;
+        int count = grammar.getNonterminalCount();
+        nullable = new boolean[count];
+        first = new BitSet[count];
+        follow = new BitSet[count];
+        for (int i = 0; i < count; i++) {
+            first[i] = new BitSet();
+            follow[i] = new BitSet();
+        }
+        computeFirst();
+        computeFollow();
+    }
+
+    private int nonterminal(Symbol symbol) {
+        return symbol.getId() - grammar.getTerminalCount();
+    }
+
+    private void computeFirst() {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (GrammarRule rule : grammar.getRules()) {
+                if (rule.isReject()) continue;
+                int lhs = nonterminal(rule.getLhs());
+                BitSet set = first[lhs];
+                int before = set.cardinality();
+                boolean sequenceNullable = addFirst(rule.getRhs(), 0, set);
+                if (sequenceNullable && !nullable[lhs]) {
+                    nullable[lhs] = true;
+                    changed = true;
+                }
+                if (set.cardinality() != before) changed = true;
+            }
+        }
+    }
+
+    // symbols[from..] dizisinin FIRST kümesini set'e ekler, dizi boş türetilebiliyorsa true döner
+    private boolean addFirst(List<Symbol> symbols, int from, BitSet set) {
+        for (int i = from; i < symbols.size(); i++) {
+            Symbol symbol = symbols.get(i);
+            if (symbol.isTerminal()) {
+                set.set(symbol.getId());
+                return false;
+            }
+            set.or(first[nonterminal(symbol)]);
+            if (!nullable[nonterminal(symbol)]) return false;
+        }
+        return true;
+    }
+
+    private void computeFollow() {
+        follow[nonterminal(grammar.getStart())].set(highlighter.core.TokenType.EOF.ordinal());
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (GrammarRule rule : grammar.getRules()) {
+                List<Symbol> rhs = rule.getRhs();
+                for (int i = 0; i < rhs.size(); i++) {
+                    Symbol symbol = rhs.get(i);
+                    if (symbol.isTerminal()) continue;
+                    BitSet set = follow[nonterminal(symbol)];
+                    int before = set.cardinality();
+                    if (addFirst(rhs, i + 1, set)) {
+                        set.or(follow[nonterminal(rule.getLhs())]);
+                    }
+                    if (set.cardinality() != before) changed = true;
+                }
+            }
+        }
+    }
+
+    public boolean isNullable(Symbol nonterminal) {
+        return nullable[nonterminal(nonterminal)];
+    }
+
+    public BitSet getFirst(Symbol nonterminal) {
+        return (BitSet) first[nonterminal(nonterminal)].clone();
+    }
+
+    public BitSet getFollow(Symbol nonterminal) {
+        return (BitSet) follow[nonterminal(nonterminal)].clone();
+    }
+
+    // Kuralın seçileceği terminaller: FIRST(rhs), rhs boş türetilebiliyorsa FOLLOW(lhs) de
+    public BitSet predict(GrammarRule rule) {
+        BitSet set = new BitSet();
+        if (addFirst(rule.getRhs(), 0, set)) {
+            set.or(follow[nonterminal(rule.getLhs())]);
+        }
+        return set;
+    }
+}
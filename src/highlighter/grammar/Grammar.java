@@ -0,0 +1,226 @@
+package highlighter.grammar;
+
+import highlighter.core.Keywords;
+import highlighter.core.LexicalException;
+import highlighter.core.Lexer;
+import highlighter.core.TokenSource;
+import highlighter.core.TokenStream;
+import highlighter.core.TokenType;
+
+import java.util.*;
+
+// Metin olarak yazılmış bir dilbilgisi. Her satır bir terminal olmayanın kurallarıdır:
+//
+//   IfStmt  -> 'if' '(' Expr ')' Body ElseOpt
+//   ElseOpt -> 'else' Body | ε
+//
+// Büyük harfli isimler TokenType terminalleri, tırnaklı metinler belirli bir token'dır ('if',
+// '(' gibi; türü metin taranarak bulunur), diğer isimler terminal olmayanlardır. '|' ile başlayan
+// satırlar önceki kurala devam eder, '#' ile başlayan satırlar yorumdur. Bir alternatifin
+// sonuna "/ t1 t2" yazılırsa alternatif sadece bu terminallerde seçilir; '!' alternatifi
+// seçildiğinde hata verir. İlk kuralın sol tarafı başlangıç sembolüdür.
+public final class Grammar {
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final List<Symbol> symbols = new ArrayList<>();
+    private final Map<String, Symbol> byName = new HashMap<>();
+    private final List<GrammarRule> rules = new ArrayList<>();
+    private int terminalCount;
+    private Symbol start;
+
+    // Token türü ve metin uzunluğuna göre metne bağlı terminal adayları
+    private final String[][][] texts = new String[TYPES.length][0][];
+    private final int[][][] textTerminals = new int[TYPES.length][0][];
+    private final int[] keywordTerminals = new int[Keywords.COUNT]; // Anahtar kelime id'sine göre
+
+    private Grammar() {
+    }
+
+    public static Grammar parse(String text) {
+        Grammar grammar = new Grammar();
+        grammar.read(text);
+        return grammar;
+    }
+
+    private void read(String text) {
+        Arrays.fill(keywordTerminals, TokenType.KEYWORD.ordinal());
+        // Önce bütün terminaller (id'leri terminal olmayanlardan önce gelsin diye) ve kural satırları
+        for (TokenType type : TYPES) {
+            addSymbol(type.name(), true, type, null);
+        }
+        List<String[]> definitions = new ArrayList<>();
+        for (String line : text.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            if (trimmed.startsWith("| ")) {
+                if (definitions.isEmpty()) throw new IllegalArgumentException("Devam satırından önce kural yok: " + line);
+                String[] last = definitions.get(definitions.size() - 1);
+                last[1] = last[1] + " " + trimmed;
+                continue;
+            }
+            int arrow = trimmed.indexOf("->");
+            if (arrow < 0) throw new IllegalArgumentException("'->' bekleniyordu: " + line);
+            definitions.add(new String[]{trimmed.substring(0, arrow).trim(), trimmed.substring(arrow + 2)});
+        }
+        for (String[] definition : definitions) {
+            for (String word : definition[1].trim().split("\\s+")) {
+                if (word.startsWith("'")) textTerminal(word);
+            }
+        }
+        terminalCount = symbols.size();
+
+        for (String[] definition : definitions) {
+            if (byName.containsKey(definition[0])) {
+                throw new IllegalArgumentException("Kural iki kez tanımlanmış: " + definition[0]);
+            }
+            addSymbol(definition[0], false, null, null);
+        }
+        if (definitions.isEmpty()) throw new IllegalArgumentException("Dilbilgisi boş");
+        start = byName.get(definitions.get(0)[0]);
+
+        for (String[] definition : definitions) {
+            Symbol lhs = byName.get(definition[0]);
+            for (List<String> alternative : alternatives(definition[1])) {
+                addRule(lhs, alternative);
+            }
+        }
+    }
+
+    // Kural gövdesini tek başına duran '|' kelimelerinden alternatiflere böler
+    private static List<List<String>> alternatives(String body) {
+        List<List<String>> alternatives = new ArrayList<>();
+        List<String> current = new ArrayList<>();
+        for (String word : body.trim().split("\\s+")) {
+            if (word.equals("|")) {
+                alternatives.add(current);
+                current = new ArrayList<>();
+            } else if (!word.isEmpty()) {
+                current.add(word);
+            }
+        }
+        alternatives.add(current);
+        return alternatives;
+    }
+
+    private void addRule(Symbol lhs, List<String> alternative) {
+        List<Symbol> rhs = new ArrayList<>();
+        List<Symbol> lookahead = null;
+        boolean reject = false;
+        for (String word : alternative) {
+            if (word.equals("/")) {
+                lookahead = new ArrayList<>();
+            } else if (lookahead != null) {
+                Symbol symbol = symbol(word);
+                if (!symbol.isTerminal()) throw new IllegalArgumentException("'/' sonrası terminal olmalı: " + word);
+                lookahead.add(symbol);
+            } else if (word.equals("ε")) {
+                // Boş alternatif
+            } else if (word.equals("!")) {
+                reject = true;
+            } else {
+                rhs.add(symbol(word));
+            }
+        }
+        if (reject && !rhs.isEmpty()) throw new IllegalArgumentException("'!' alternatifi sembol içeremez: " + alternative);
+        rules.add(new GrammarRule(rules.size(), lhs, rhs, lookahead, reject));
+    }
+
+    private Symbol symbol(String word) {
+        Symbol symbol = word.startsWith("'") ? textTerminal(word) : byName.get(word);
+        if (symbol == null) throw new IllegalArgumentException("Tanımsız sembol: " + word);
+        return symbol;
+    }
+
+    // Tırnaklı metin için terminal; metin taranarak türü bulunur. Sabit metinli türler
+    // ('(' gibi) tür terminalinin kendisidir, anahtar kelime ve isimler ayrı terminal olur.
+    private Symbol textTerminal(String word) {
+        if (word.length() < 3 || !word.endsWith("'")) throw new IllegalArgumentException("Hatalı terminal: " + word);
+        Symbol existing = byName.get(word);
+        if (existing != null) return existing;
+        String text = word.substring(1, word.length() - 1);
+        TokenType type;
+        try {
+            TokenStream tokens = new Lexer().tokenizeStream(text);
+            if (tokens.size() != 2 || tokens.length(0) != text.length()) {
+                throw new IllegalArgumentException("Terminal tek bir token olmalı: " + word);
+            }
+            type = tokens.type(0);
+        } catch (LexicalException e) {
+            throw new IllegalArgumentException("Terminal taranamadı: " + word, e);
+        }
+        if (type.getText() != null) {
+            Symbol symbol = byName.get(type.name());
+            byName.put(word, symbol);
+            return symbol;
+        }
+        if (terminalCount > 0) throw new IllegalStateException("Terminaller zaten sabitlendi: " + word);
+        Symbol symbol = addSymbol(word, true, type, text);
+        int t = type.ordinal();
+        int length = text.length();
+        if (texts[t].length <= length) {
+            texts[t] = Arrays.copyOf(texts[t], length + 1);
+            textTerminals[t] = Arrays.copyOf(textTerminals[t], length + 1);
+        }
+        String[] sameLength = texts[t][length] == null ? new String[0] : texts[t][length];
+        int[] ids = textTerminals[t][length] == null ? new int[0] : textTerminals[t][length];
+        texts[t][length] = Arrays.copyOf(sameLength, sameLength.length + 1);
+        texts[t][length][sameLength.length] = text;
+        textTerminals[t][length] = Arrays.copyOf(ids, ids.length + 1);
+        textTerminals[t][length][ids.length] = symbol.getId();
+        if (type == TokenType.KEYWORD) keywordTerminals[Keywords.match(text, 0, length)] = symbol.getId();
+        return symbol;
+    }
+
+    private Symbol addSymbol(String name, boolean terminal, TokenType type, String text) {
+        Symbol symbol = new Symbol(symbols.size(), name, terminal, type, text);
+        symbols.add(symbol);
+        byName.put(name, symbol);
+        return symbol;
+    }
+
+    // Akıştaki i. token'ın terminal id'si; akışın sonu EOF sayılır
+    public int terminal(TokenSource tokens, int i) {
+        if (i >= tokens.size()) return TokenType.EOF.ordinal();
+        int type = tokens.type(i).ordinal();
+        if (type == TokenType.KEYWORD.ordinal() && tokens.id(i) != Keywords.NONE) {
+            return keywordTerminals[tokens.id(i)];
+        }
+        String[][] byLength = texts[type];
+        int length = tokens.length(i);
+        if (length >= byLength.length || byLength[length] == null) return type;
+        // Aynı uzunluktaki adaylar önce ilk karakterle elenir
+        String[] candidates = byLength[length];
+        char first = tokens.getSource().charAt(tokens.start(i));
+        for (int k = 0; k < candidates.length; k++) {
+            if (candidates[k].charAt(0) == first && tokens.textEquals(i, candidates[k])) {
+                return textTerminals[type][length][k];
+            }
+        }
+        return type;
+    }
+
+    public List<Symbol> getSymbols() {
+        return Collections.unmodifiableList(symbols);
+    }
+
+    public Symbol getSymbol(String name) {
+        return byName.get(name);
+    }
+
+    public List<GrammarRule> getRules() {
+        return Collections.unmodifiableList(rules);
+    }
+
+    public Symbol getStart() {
+        return start;
+    }
+
+    // Terminal id'leri 0..terminalCount-1, terminal olmayanlar ondan sonra gelir
+    public int getTerminalCount() {
+        return terminalCount;
+    }
+
+    public int getNonterminalCount() {
+        return symbols.size() - terminalCount;
+    }
+}
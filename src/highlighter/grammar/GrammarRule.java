@@ -0,0 +1,68 @@
+package highlighter.grammar;
+
+import java.util.Collections;
+import java.util.List;
+
+// Tek bir üretim kuralı: lhs -> rhs. Boş rhs ε'dur.
+// lookahead verilmişse kural FIRST/FOLLOW yerine sadece bu terminallerde seçilir; reject
+// kuralları seçildiklerinde ayrıştırmayı hata ile bitirir (tabloya açık hata girdisi koyar).
+public final class GrammarRule {
+    private final int index;
+    private final Symbol lhs;
+    private final List<Symbol> rhs;
+    private final List<Symbol> lookahead; // null ise FIRST/FOLLOW'dan hesaplanır
+    private final boolean reject;
+
+    GrammarRule(int index, Symbol lhs, List<Symbol> rhs, List<Symbol> lookahead, boolean reject) {
+        this.index = index;
+        this.lhs = lhs;
+        this.rhs = Collections.unmodifiableList(rhs);
+        this.lookahead = lookahead == null ? null : Collections.unmodifiableList(lookahead);
+        this.reject = reject;
+    }
+
+    // Kuralın dilbilgisindeki sırası; çakışmalarda önce gelen kural seçilir
+    public int getIndex() {
+        return index;
+    }
+
+    public Symbol getLhs() {
+        return lhs;
+    }
+
+    public List<Symbol> getRhs() {
+        return rhs;
+    }
+
+    public List<Symbol> getLookahead() {
+        return lookahead;
+    }
+
+    public boolean isReject() {
+        return reject;
+    }
+
+    public boolean isEpsilon() {
+        return rhs.isEmpty() && !reject;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(lhs.getName()).append(" ->");
+        if (reject) {
+            text.append(" !");
+        } else if (rhs.isEmpty()) {
+            text.append(" ε");
+        }
+        for (Symbol symbol : rhs) {
+            text.append(' ').append(symbol);
+        }
+        if (lookahead != null) {
+            text.append(" /");
+            for (Symbol symbol : lookahead) {
+                text.append(' ').append(symbol);
+            }
+        }
+        return text.toString();
+    }
+}
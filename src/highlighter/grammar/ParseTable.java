@@ -0,0 +1,137 @@
+package highlighter.grammar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+// LL(1) ayrıştırma tablosu: [terminal olmayan][terminal] -> kural indeksi, boşsa NO_RULE.
+// Bir hücreye birden fazla kural düşerse dilbilgisinde önce yazılan kural kalır (ör. else'in
+// en yakın if'e bağlanması) ve çakışma getConflicts ile raporlanır.
+public final class ParseTable {
+    public static final int NO_RULE = -1;
+
+    // ε kuralı seçilen hücrelerin açılımı: yığından sadece çıkarılır, lookahead tüketilmez
+    static final int[] EPSILON = new int[0];
+
+    private final Grammar grammar;
+    private final FirstFollow sets;
+    private final int terminalCount;
+    private final int[] table;            // nonterminal * terminalCount + terminal
+    private final int[][] rightHandSides; // Kural indeksine göre sağ taraf sembol id'leri
+    private final boolean[] rejects;
+    private final int[][] expansions;     // Hücre başına önceden açılmış sol türetme, yoksa null
+    private final List<String> conflicts = new ArrayList<>();
+
+    public ParseTable(Grammar grammar) {
+        this.grammar = grammar;
+        this.sets = new FirstFollow(grammar);
+        this.terminalCount = grammar.getTerminalCount();
+        this.table = new int[grammar.getNonterminalCount() * terminalCount];
+        Arrays.fill(table, NO_RULE);
+
+        List<GrammarRule> rules = grammar.getRules();
+        rightHandSides = new int[rules.size()][];
+        rejects = new boolean[rules.size()];
+        for (GrammarRule rule : rules) {
+            int[] rhs = new int[rule.getRhs().size()];
+            for (int i = 0; i < rhs.length; i++) {
+                rhs[i] = rule.getRhs().get(i).getId();
+            }
+            rightHandSides[rule.getIndex()] = rhs;
+            rejects[rule.getIndex()] = rule.isReject();
+
+            BitSet lookahead;
+            if (rule.getLookahead() != null) {
+                lookahead = new BitSet();
+                for (Symbol symbol : rule.getLookahead()) lookahead.set(symbol.getId());
+            } else {
+                lookahead = sets.predict(rule);
+            }
+            int row = (rule.getLhs().getId() - terminalCount) * terminalCount;
+            for (int t = lookahead.nextSetBit(0); t >= 0; t = lookahead.nextSetBit(t + 1)) {
+                if (table[row + t] == NO_RULE) {
+                    table[row + t] = rule.getIndex();
+                } else {
+                    conflicts.add(rule.getLhs() + ", " + grammar.getSymbols().get(t) + ": '"
+                            + rules.get(table[row + t]) + "' seçildi, '" + rule + "' değil");
+                }
+            }
+        }
+
+        expansions = new int[table.length][];
+        for (int cell = 0; cell < table.length; cell++) {
+            if (table[cell] == NO_RULE || rejects[table[cell]]) continue;
+            if (rightHandSides[table[cell]].length == 0) {
+                expansions[cell] = EPSILON;
+            } else {
+                expansions[cell] = expand(terminalCount + cell / terminalCount, cell % terminalCount);
+            }
+        }
+    }
+
+    // Terminal olmayan, lookahead terminali tüketilene kadar hep en soldan açılır. Tüketildiğinde
+    // yığında kalan semboller (tepe sonda) döner; böylece ayrıştırıcı zincirdeki her seviye için
+    // ayrı adım atmaz. Açılım boşa türeniyor ya da hatayla bitiyorsa null döner ve adım adım gidilir.
+    private int[] expand(int nonterminal, int terminal) {
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = nonterminal;
+        while (top > 0) {
+            int symbol = stack[--top];
+            if (symbol < terminalCount) {
+                return symbol == terminal ? Arrays.copyOf(stack, top) : null;
+            }
+            int rule = rule(symbol, terminal);
+            if (rule == NO_RULE || rejects[rule]) return null;
+            int[] rhs = rightHandSides[rule];
+            if (top + rhs.length > stack.length) stack = Arrays.copyOf(stack, stack.length * 2 + rhs.length);
+            for (int i = rhs.length - 1; i >= 0; i--) {
+                stack[top++] = rhs[i];
+            }
+        }
+        return null;
+    }
+
+    // Terminal olmayan (sembol id'si) ve terminal id'si için kural indeksi
+    public int rule(int nonterminal, int terminal) {
+        return table[(nonterminal - terminalCount) * terminalCount + terminal];
+    }
+
+    // Hücrenin önceden açılmış türetmesi: lookahead tüketildikten sonra yığına konacak semboller,
+    // ε kuralları için EPSILON
+    int[] expansion(int nonterminal, int terminal) {
+        return expansions[(nonterminal - terminalCount) * terminalCount + terminal];
+    }
+
+    int[] rightHandSide(int rule) {
+        return rightHandSides[rule];
+    }
+
+    boolean isReject(int rule) {
+        return rejects[rule];
+    }
+
+    // Terminal olmayan için tabloda kuralı olan terminaller; hata mesajlarında kullanılır
+    public List<Symbol> expected(int nonterminal) {
+        List<Symbol> expected = new ArrayList<>();
+        int row = (nonterminal - terminalCount) * terminalCount;
+        for (int t = 0; t < terminalCount; t++) {
+            if (table[row + t] != NO_RULE && !rejects[table[row + t]]) expected.add(grammar.getSymbols().get(t));
+        }
+        return expected;
+    }
+
+    public Grammar getGrammar() {
+        return grammar;
+    }
+
+    public FirstFollow getSets() {
+        return sets;
+    }
+
+    public List<String> getConflicts() {
+        return Collections.unmodifiableList(conflicts);
+    }
+}
@@ -0,0 +1,87 @@
+package highlighter.grammar;
+
+import java.util.List;
+
+// Parser'ın kabul ettiği dilin LL(1) dilbilgisi. Tablo ilk kullanımda bir kez kurulur ve
+// paylaşılır. Kurallar Parser'daki özyinelemeli ayrıştırıcının kabul ettiği dili birebir
+// tanımlar; farklılıklar (boş gövde, for içinde String, ifade statement'ının isimle başlaması)
+// bilerek korunmuştur.
+public final class SimpleGrammar {
+    public static final String TEXT = """
+            Program     -> StmtList EOF
+            StmtList    -> Stmt StmtList | ε
+            Stmt        -> IfStmt | WhileStmt | ForStmt | ReturnStmt | Decl | Block | ExprStmt
+
+            # if/while/for gövdesi sadece '}' ya da metnin sonundan önce boş olabilir
+            Body        -> Stmt | ε / '}' EOF
+            IfStmt      -> 'if' '(' Expr ')' Body ElseOpt
+            # else en yakın if'e bağlanır: çakışmada önce yazılan alternatif seçilir
+            ElseOpt     -> 'else' Body | ε
+            WhileStmt   -> 'while' '(' Expr ')' Body
+            ForStmt     -> 'for' '(' ForInit ForCond ';' ForUpdate ')' Body
+            # String tür sayılıp tanımlama gibi ayrıştırılır, ama anahtar kelime olmadığı için hep hatalıdır
+            ForInit     -> ! / 'String' | Decl | Expr ';' | ';'
+            ForCond     -> Expr | ε
+            ForUpdate   -> Expr | ε
+            ReturnStmt  -> 'return' ReturnValue ';'
+            ReturnValue -> Expr | ε
+            Decl        -> Type Name DeclInit ';'
+            Type        -> 'int' | 'float' | 'boolean' | 'char' | 'double' | 'long' | 'short' | 'byte' | 'void'
+            DeclInit    -> '=' Expr | ε
+            Block       -> '{' StmtList '}'
+
+            # İfade statement'ı bir isimle başlar, kalan kısım Expr'in ilk çarpanından sonrasıdır
+            ExprStmt    -> Name PostfixOpt TermTail AddTail CmpTail AndTail OrTail ';'
+
+            Expr        -> And OrTail
+            OrTail      -> '||' And OrTail | ε
+            And         -> Cmp AndTail
+            AndTail     -> '&&' Cmp AndTail | ε
+            Cmp         -> Add CmpTail
+            CmpTail     -> CmpOp Add CmpTail | ε
+            CmpOp       -> '<' | '>' | '<=' | '>=' | '==' | '!='
+            Add         -> Term AddTail
+            AddTail     -> AddOp Term AddTail | ε
+            AddOp       -> '+' | '-'
+            Term        -> Factor TermTail
+            TermTail    -> MulOp Factor TermTail | ε
+            MulOp       -> '*' | '/' | '%'
+            Factor      -> UnaryOp Factor | '(' Expr ')' | Name PostfixOpt | Literal | IncDec Name
+            UnaryOp     -> '!' | '-' | '+'
+            IncDec      -> '++' | '--'
+            PostfixOpt  -> IncDec | ε
+            Literal     -> INTEGER_LITERAL | FLOAT_LITERAL | STRING_LITERAL | CHAR_LITERAL
+            Name        -> IDENTIFIER | 'String'
+            """;
+
+    private static volatile TableParser parser;
+
+    private SimpleGrammar() {
+    }
+
+    public static Grammar getGrammar() {
+        return getParser().getTable().getGrammar();
+    }
+
+    public static List<GrammarRule> getRules() {
+        return getGrammar().getRules();
+    }
+
+    public static ParseTable getTable() {
+        return getParser().getTable();
+    }
+
+    public static TableParser getParser() {
+        TableParser result = parser;
+        if (result == null) {
+            synchronized (SimpleGrammar.class) {
+                result = parser;
+                if (result == null) {
+                    result = new TableParser(new ParseTable(Grammar.parse(TEXT)));
+                    parser = result;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,47 @@
+package highlighter.grammar;
+
+import highlighter.core.TokenType;
+
+// Dilbilgisindeki bir sembol. Terminaller bir token türüne, gerekiyorsa belirli bir metne
+// (ör. KEYWORD "if") karşılık gelir; terminal olmayanlar kurallarla tanımlanır.
+// Id'ler önce terminallere, sonra terminal olmayanlara sırayla verilir.
+public final class Symbol {
+    private final int id;
+    private final String name;
+    private final boolean terminal;
+    private final TokenType type; // Terminal olmayanlar için null
+    private final String text;    // Sadece metne bağlı terminaller için
+
+    Symbol(int id, String name, boolean terminal, TokenType type, String text) {
+        this.id = id;
+        this.name = name;
+        this.terminal = terminal;
+        this.type = type;
+        this.text = text;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isTerminal() {
+        return terminal;
+    }
+
+    public TokenType getType() {
+        return type;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
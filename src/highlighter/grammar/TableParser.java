@@ -0,0 +1,72 @@
+package highlighter.grammar;
+
+import highlighter.core.TokenSource;
+
+import java.util.Arrays;
+
+// LL(1) tablosuyla çalışan ayrıştırıcı. Özyineleme yerine açık bir sembol yığını kullanır,
+// bu yüzden iç içe derinlik Java yığınıyla sınırlı değildir. Nesne durumsuzdur, aynı tablo
+// birden fazla thread'de paylaşılabilir.
+public final class TableParser {
+    public static final int ACCEPTED = -1;
+
+    private final ParseTable table;
+    private final Grammar grammar;
+    private final int terminalCount;
+    private final int start;
+
+    public TableParser(ParseTable table) {
+        this.table = table;
+        this.grammar = table.getGrammar();
+        this.terminalCount = grammar.getTerminalCount();
+        this.start = grammar.getStart().getId();
+    }
+
+    // Token'lar dilbilgisine uyuyorsa ACCEPTED, uymuyorsa hatanın bulunduğu token'ın indeksi
+    public int parse(TokenSource tokens) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = start;
+
+        int index = 0;
+        int lookahead = grammar.terminal(tokens, index);
+        while (top > 0) {
+            int symbol = stack[--top];
+            if (symbol < terminalCount) {
+                if (symbol != lookahead) return index;
+                index++;
+                lookahead = grammar.terminal(tokens, index);
+                continue;
+            }
+            int[] expansion = table.expansion(symbol, lookahead);
+            if (expansion == ParseTable.EPSILON) continue;
+            if (expansion != null) {
+                // Zincir tek adımda açılır ve lookahead tüketilir
+                if (top + expansion.length > stack.length) {
+                    stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + expansion.length));
+                }
+                System.arraycopy(expansion, 0, stack, top, expansion.length);
+                top += expansion.length;
+                index++;
+                lookahead = grammar.terminal(tokens, index);
+                continue;
+            }
+            int rule = table.rule(symbol, lookahead);
+            if (rule == ParseTable.NO_RULE || table.isReject(rule)) return index;
+
+            // Sağ taraf ters sırayla konur, ilk sembol yığının tepesinde kalır
+            int[] rhs = table.rightHandSide(rule);
+            if (top + rhs.length > stack.length) {
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, top + rhs.length));
+            }
+            for (int i = rhs.length - 1; i >= 0; i--) {
+                stack[top++] = rhs[i];
+            }
+        }
+        return ACCEPTED;
+    }
+
+    public ParseTable getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,98 @@
+package highlighter.gui;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bütün belgelerin taramalarının çalıştığı ortak thread havuzu. Thread sayısı çekirdek sayısı
+// kadardır; sıradaki işler önceliğe göre, aynı öncelikte geliş sırasına göre alınır. Odaktaki
+// belgenin işi bekleyen arka plan işlerinin önüne geçer, çalışan bir işi ise kesmez.
+// Debounce zamanlayıcısı da tek bir thread'de ortaktır.
+public final class AnalysisPool {
+    public enum Priority { FOCUSED, BACKGROUND } // Sıra önceliktir
+
+    private static AnalysisPool defaultPool;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timer;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public AnalysisPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(),
+                runnable -> daemon(runnable, "highlighter-analysis-" + count.incrementAndGet()));
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "highlighter-debounce"));
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    // Çekirdek sayısı kadar thread'li, uygulama boyunca paylaşılan havuz
+    public static synchronized AnalysisPool getDefault() {
+        if (defaultPool == null) {
+            defaultPool = new AnalysisPool(Runtime.getRuntime().availableProcessors());
+        }
+        return defaultPool;
+    }
+
+    // İşi sıraya koyar; dönen Task ile başlamadan iptal edilebilir
+    public Task submit(Runnable work, Priority priority) {
+        Task task = new Task(work, priority, sequence.getAndIncrement());
+        executor.execute(task);
+        return task;
+    }
+
+    // Henüz başlamamışsa işi sıradan çıkarır
+    public boolean cancel(Task task) {
+        return executor.remove(task);
+    }
+
+    // Debounce için: işi gecikmeyle zamanlayıcı thread'inde çalıştırır, iş kısa olmalıdır
+    ScheduledFuture<?> schedule(Runnable work, long delayMillis) {
+        return timer.schedule(work, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int getThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    // Sırada bekleyen iş sayısı
+    public int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    public static final class Task implements Runnable, Comparable<Task> {
+        private final Runnable work;
+        private final Priority priority;
+        private final long sequence;
+
+        private Task(Runnable work, Priority priority, long sequence) {
+            this.work = work;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        public Priority getPriority() {
+            return priority;
+        }
+
+        @Override
+        public void run() {
+            work.run();
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int order = priority.compareTo(other.priority);
+            return order != 0 ? order : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package highlighter.gui;
+
+import highlighter.core.BracketIndex;
+
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+// Son uygulanan taramanın parantez indeksini belgeyle eşler. Sonraki sonuç gelene kadar yapılan
+// düzenlemeler kaydedilir, indeksteki pozisyonlar bunlarla belgenin şimdiki haline çevrilir:
+// silinen parantezler yok sayılır, yeni yazılanlar sonuç gelince görünür. Böylece yazarken eşleşme
+// vurgusu ve kıvrılabilir bölgeler kaybolup yeniden çizilmez. Sadece EDT'de kullanılır.
+final class BracketTracker implements DocumentListener {
+    private static final int MAX_EDITS = 64; // Daha fazlasında indeks bırakılır, sonuç beklenir
+
+    private BracketIndex index;
+    private final int[] edits = new int[3 * MAX_EDITS]; // Sırayla pozisyon, silinen, eklenen
+    private int editCount;
+
+    // Belgenin şimdiki haline ait indeks, tarama başarısızsa null
+    void setIndex(BracketIndex index) {
+        this.index = index;
+        editCount = 0;
+    }
+
+    BracketIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        record(e.getOffset(), 0, e.getLength());
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        record(e.getOffset(), e.getLength(), 0);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    private void record(int offset, int removed, int inserted) {
+        if (index == null) return;
+        if (editCount == MAX_EDITS) {
+            index = null;
+            return;
+        }
+        edits[3 * editCount] = offset;
+        edits[3 * editCount + 1] = removed;
+        edits[3 * editCount + 2] = inserted;
+        editCount++;
+    }
+
+    // İndeksteki pozisyonun belgedeki karşılığı; o karakter silinmişse -1
+    int toDocument(int offset) {
+        for (int e = 0; e < editCount; e++) {
+            int at = edits[3 * e], removed = edits[3 * e + 1], inserted = edits[3 * e + 2];
+            if (offset >= at + removed) offset += inserted - removed;
+            else if (offset >= at) return -1;
+        }
+        return offset;
+    }
+
+    // Belgedeki pozisyonun indeksteki karşılığı; sonradan eklenmiş bir bölgedeyse bölgenin başı
+    int toIndex(int offset) {
+        for (int e = editCount - 1; e >= 0; e--) {
+            int at = edits[3 * e], removed = edits[3 * e + 1], inserted = edits[3 * e + 2];
+            if (offset >= at + inserted) offset -= inserted - removed;
+            else if (offset > at) offset = at;
+        }
+        return offset;
+    }
+
+    // Belgedeki pozisyondaki parantezin indeksi, yoksa -1
+    int bracketAt(int offset) {
+        if (index == null) return -1;
+        int i = index.indexAt(toIndex(offset));
+        return i >= 0 && toDocument(index.offset(i)) == offset ? i : -1;
+    }
+
+    // İndeksteki parantezin belgedeki pozisyonu; silinmişse -1
+    int offset(int i) {
+        return toDocument(index.offset(i));
+    }
+}
@@ -0,0 +1,314 @@
+package highlighter.gui;
+
+import highlighter.core.*;
+import highlighter.metrics.Metrics;
+
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+// Bir belgenin taramasını EDT dışında, AnalysisPool'da yapar. Her düzenleme belgenin
+// sürümünü artırır; debounce süresi dolunca worker metnin ve sürümün tutarlı bir kopyasını alır,
+// önceki akışı artımlı olarak yeniden tarar ve sonucu EDT'ye verir. EDT'ye ulaştığında belge
+// yeniden değişmişse sonuç atılır, yenisi zaten sıradadır. EDT'de sadece sonucun uygulanması
+// (boyama, hata işaretleri) çalışır, bu yüzden yazarken gecikme dosya boyutuna bağlı değildir.
+//
+// Token akışları ve sembol tablosu sadece worker'da oluşturulup değiştirilir. splice eski akışı
+// değiştirmediği için EDT'ye verilen akış sonradan değişmez; EDT sembol tablosunu okumaz.
+// Bir belgenin işleri havuzda hiçbir zaman aynı anda çalışmaz; iş çalışırken gelen yeni iş
+// bitişini bekler.
+//
+// Odakta olmayan belgeler düşük öncelikle ve daha uzun debounce ile taranır.
+public final class DocumentAnalyzer implements DocumentListener {
+    private static final int DEBOUNCE_MS = 50;
+    private static final int BACKGROUND_DEBOUNCE_MS = 1000;
+
+    private final Document doc;
+    private final Consumer<Result> listener; // EDT'de çağrılır
+    private final AnalysisPool pool;
+
+    // Belgenin sürümü; sadece düzenlemelerde, belgenin yazma kilidi altında artar
+    private volatile long version;
+
+    // Birleştirilmiş düzenleme. Listener'da yazma kilidi, snapshot'ta okuma kilidi altında erişilir
+    private boolean editPending;
+    private int editOffset, editRemoved, editInserted;
+    private int editCount;
+
+    // this ile korunur
+    private ScheduledFuture<?> timer;    // Debounce süresi dolunca sıraya koyacak zamanlayıcı
+    private AnalysisPool.Task queued;    // Havuzda sırada bekleyen iş
+    private boolean running;             // Bir iş çalışıyor
+    private boolean rerun;               // Çalışan iş bitince yeniden sıraya konacak
+    private boolean focused = true;
+    private boolean disposed;
+
+    // Sadece havuzdaki iş (run) içinde
+    private final Lexer lexer = new Lexer(true); // Hatalı metinde de boyama sürer
+    private TokenStream tokens;   // Son taranan akış, tokensVersion sürümündeki metnin
+    private long tokensVersion = -1;
+
+    // Sadece EDT
+    private long deliveredVersion = -1; // listener'a verilen son sonucun sürümü
+
+    public DocumentAnalyzer(Document doc, Consumer<Result> listener) {
+        this(doc, AnalysisPool.getDefault(), listener);
+    }
+
+    public DocumentAnalyzer(Document doc, AnalysisPool pool, Consumer<Result> listener) {
+        this.doc = doc;
+        this.listener = listener;
+        this.pool = pool;
+        doc.addDocumentListener(this);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Odağa gelen belgenin bekleyen işi hemen ve öne alınarak çalışır
+    public synchronized void setFocused(boolean focused) {
+        if (this.focused == focused) return;
+        this.focused = focused;
+        if (focused && timer != null && timer.cancel(false)) {
+            timer = null;
+            enqueue();
+        } else if (queued != null && pool.cancel(queued)) {
+            queued = pool.submit(this::run, priority());
+        }
+    }
+
+    private AnalysisPool.Priority priority() {
+        return focused ? AnalysisPool.Priority.FOCUSED : AnalysisPool.Priority.BACKGROUND;
+    }
+
+    // Belgeyi bırakır; bekleyen iş iptal edilir, çalışan işin sonucu verilmez
+    public void dispose() {
+        doc.removeDocumentListener(this);
+        synchronized (this) {
+            disposed = true;
+            if (timer != null) timer.cancel(false);
+            if (queued != null) pool.cancel(queued);
+        }
+        version = -1;
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        recordEdit(e.getOffset(), 0, e.getLength());
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        recordEdit(e.getOffset(), e.getLength(), 0);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+        // Stil değişiklikleri metni etkilemez
+    }
+
+    // Debounce süresi içinde gelen düzenlemeleri tek bir düzenlemede birleştirir
+    private void recordEdit(int offset, int removed, int inserted) {
+        version++;
+        editCount++;
+        if (!editPending) {
+            editOffset = offset;
+            editRemoved = removed;
+            editInserted = inserted;
+            editPending = true;
+        } else {
+            int start = Math.min(editOffset, offset);
+            int end = Math.max(editOffset + editInserted, offset + removed);
+            int oldEnd = end - (editInserted - editRemoved);
+            editRemoved = oldEnd - start;
+            editInserted = end + (inserted - removed) - start;
+            editOffset = start;
+        }
+        schedule();
+    }
+
+    private synchronized void schedule() {
+        if (disposed) return;
+        if (timer != null && timer.cancel(false)) {
+            Metrics.debounceCancelled();
+        }
+        timer = pool.schedule(this::debounced, focused ? DEBOUNCE_MS : BACKGROUND_DEBOUNCE_MS);
+    }
+
+    private synchronized void debounced() {
+        timer = null;
+        enqueue();
+    }
+
+    private synchronized void enqueue() {
+        if (disposed || queued != null) return; // Sıradaki iş zaten en son sürümü tarayacak
+        if (running) {
+            rerun = true;
+        } else {
+            queued = pool.submit(this::run, priority());
+        }
+    }
+
+    // Havuz thread'inde. Başta ve sonda this ile senkronize olunduğu için ardışık işler farklı
+    // thread'lerde çalışsa da lexer ve akış alanlarını bir öncekinin bıraktığı gibi görür.
+    private void run() {
+        synchronized (this) {
+            queued = null;
+            if (disposed) return;
+            running = true;
+        }
+        try {
+            analyze();
+        } finally {
+            synchronized (this) {
+                running = false;
+                if (rerun) {
+                    rerun = false;
+                    enqueue();
+                }
+            }
+        }
+    }
+
+    // Worker'da: metnin kopyasını alır, tarar ve sonuç hâlâ güncelse EDT'ye gönderir
+    private void analyze() {
+        Snapshot snapshot = snapshot();
+        if (snapshot.version == tokensVersion) return;
+
+        long baseVersion = tokens == null ? -1 : tokensVersion;
+        Result result;
+        try {
+            RelexResult relex = null;
+            if (tokens == null || !snapshot.edited) {
+                tokens = lexer.tokenizeStream(snapshot.text);
+                baseVersion = -1;
+            } else {
+                relex = lexer.retokenize(tokens, snapshot.text, snapshot.offset, snapshot.removed, snapshot.inserted);
+                tokens = relex.getTokens();
+            }
+            tokensVersion = snapshot.version;
+            if (snapshot.version != version) return; // Tarama sürerken belge değişti, sıradaki iş bu akıştan devam eder
+            // Parantez indeksi ilk taramada kurulur, sonrakilerde retokenize artımlı olarak günceller
+            result = new Result(snapshot.version, baseVersion, tokens, relex, Lexer.diagnostics(tokens),
+                    tokens.getBrackets(), null, snapshot.edits, tokens.estimatedBytes());
+        } catch (LexicalException | RuntimeException | StackOverflowError e) {
+            // Akış artık metinle uyuşmuyor, bir sonraki iş baştan tarar
+            tokens = null;
+            tokensVersion = -1;
+            result = new Result(snapshot.version, -1, null, null, List.of(), null, e, snapshot.edits, 0);
+        }
+        Result finished = result;
+        SwingUtilities.invokeLater(() -> deliver(finished));
+    }
+
+    // Belgenin okuma kilidi altında metin, sürüm ve birleştirilmiş düzenleme birlikte alınır;
+    // düzenlemeler yazma kilidi altında bildirildiği için üçü birbiriyle tutarlıdır
+    private Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot();
+        doc.render(() -> {
+            try {
+                snapshot.text = doc.getText(0, doc.getLength());
+            } catch (BadLocationException e) {
+                throw new IllegalStateException(e); // Olamaz, aralık belgenin tamamı
+            }
+            snapshot.version = version;
+            snapshot.edited = editPending;
+            snapshot.offset = editOffset;
+            snapshot.removed = editRemoved;
+            snapshot.inserted = editInserted;
+            snapshot.edits = editCount;
+            editPending = false;
+            editCount = 0;
+        });
+        return snapshot;
+    }
+
+    private void deliver(Result result) {
+        if (result.version != version) return; // Eskidi
+        if (result.relex != null && result.baseVersion != deliveredVersion) {
+            // Aradaki bir sonuç atıldı; artımlı sonuç listener'daki akışa göre değil, tamamı yeniden boyanmalı
+            result = new Result(result.version, -1, result.tokens, null, result.diagnostics, result.brackets, null,
+                    result.edits, result.tokenBytes);
+        }
+        deliveredVersion = result.error == null ? result.version : -1;
+        listener.accept(result);
+    }
+
+    private static class Snapshot {
+        String text;
+        long version;
+        boolean edited;
+        int offset, removed, inserted;
+        int edits;
+    }
+
+    // Bir taramanın sonucu. Token akışı, hata listesi ve parantez indeksi değişmez, EDT'de güvenle okunabilir.
+    public static class Result {
+        private final long version;
+        private final long baseVersion; // relex'in dayandığı sürüm
+        private final TokenStream tokens;
+        private final RelexResult relex;
+        private final List<Diagnostic> diagnostics;
+        private final BracketIndex brackets;
+        private final Throwable error;
+        private final int edits;
+        private final long tokenBytes;
+
+        Result(long version, long baseVersion, TokenStream tokens, RelexResult relex,
+               List<Diagnostic> diagnostics, BracketIndex brackets, Throwable error, int edits, long tokenBytes) {
+            this.version = version;
+            this.baseVersion = baseVersion;
+            this.tokens = tokens;
+            this.relex = relex;
+            this.diagnostics = diagnostics;
+            this.brackets = brackets;
+            this.error = error;
+            this.edits = edits;
+            this.tokenBytes = tokenBytes;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        // Tarama başarısızsa null
+        public TokenStream getTokens() {
+            return tokens;
+        }
+
+        // Listener'a verilen bir önceki sonuca göre artımlı tarama; null ise akışın tamamı yenidir
+        public RelexResult getRelex() {
+            return relex;
+        }
+
+        public List<Diagnostic> getDiagnostics() {
+            return diagnostics;
+        }
+
+        // Parantez eşleşme indeksi; tarama başarısızsa null
+        public BracketIndex getBrackets() {
+            return brackets;
+        }
+
+        // Tarama başarısızsa sebebi, değilse null
+        public Throwable getError() {
+            return error;
+        }
+
+        // Bu sonuçta birleştirilen düzenleme sayısı
+        public int getEdits() {
+            return edits;
+        }
+
+        // Token akışının tahmini boyutu; sembol tablosu worker'da değiştiği için tarama sırasında hesaplanır
+        public long getTokenBytes() {
+            return tokenBytes;
+        }
+    }
+}
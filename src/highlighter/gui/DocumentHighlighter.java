@@ -0,0 +1,186 @@
+package highlighter.gui;
+
+import highlighter.core.RelexResult;
+import highlighter.core.TokenStream;
+import highlighter.core.TokenType;
+import highlighter.metrics.StyleEvent;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.StyledDocument;
+
+// Token akışındaki renkleri bir StyledDocument'a uygulayan sınıf.
+// Swing bileşeni gerektirmediği için arayüz olmadan da (ör. benchmark'larda) kullanılabilir.
+// Belgenin tamamı yerine sadece istenen bölgeler boyanır, boyanmış bölgeler hatırlanır.
+// Düzenlemeden sonra yeni token'lar eskileriyle karşılaştırılır ve sadece türü ya da
+// konumu değişen token'lar yeniden boyanır; aynı renkteki komşu token'lar tek çağrıda boyanır.
+public class DocumentHighlighter {
+    private final StyledDocument doc;
+    private final RangeSet styled = new RangeSet(); // Güncel token'larla boyanmış aralıklar
+    private TokenStream tokens;
+    private boolean stale; // Belge son taramadan sonra değişti, token pozisyonları geçersiz
+
+    // Boyanacak, henüz uygulanmamış birleşik aralık
+    private int runStart = -1;
+    private int runEnd;
+    private AttributeSet runAttributes;
+
+    private long attributeCalls; // Toplam setCharacterAttributes çağrısı
+
+    public DocumentHighlighter(StyledDocument doc) {
+        this.doc = doc;
+    }
+
+    // Yeni tarama sonucunu alır; [from, to) aralığındaki boyama artık geçersizdir
+    public void update(TokenStream tokens, int from, int to) {
+        if (this.tokens == null) {
+            styled.clear();
+        } else {
+            styled.remove(from, to);
+        }
+        this.tokens = tokens;
+        this.stale = false;
+    }
+
+    // Artımlı tarama sonucunu alır ve değişen token'ları eski akışla karşılaştırarak boyar.
+    // Boyanmamış bölgelere dokunulmaz, onlar görünür olduklarında ensureStyled ile boyanır.
+    public void update(RelexResult result) {
+        TokenStream previous = this.tokens;
+        TokenStream current = result.getTokens();
+        this.tokens = current;
+        this.stale = false;
+        if (previous == null) {
+            styled.clear();
+            return;
+        }
+        StyleEvent event = StyleEvent.start();
+        long callsBefore = attributeCalls;
+
+        int editStart = result.getEditOffset();
+        int insertedEnd = editStart + result.getInsertedLength();
+        int removedEnd = editStart + result.getRemovedLength();
+        int delta = result.getDelta();
+        int oldIndex = result.getFirstChanged();
+        int oldEnd = oldIndex + result.getRemovedCount();
+        Theme theme = HighlightPainter.getTheme();
+
+        for (int i = result.getFirstChanged(); i < result.getChangedEnd(); i++) {
+            TokenType type = current.type(i);
+            int start = current.start(i);
+            int end = current.end(i);
+            if (type == TokenType.EOF) break;
+
+            // Aynı konuma kayan eski token'ı bul
+            while (oldIndex < oldEnd && shifted(previous.start(oldIndex), editStart, delta) < start) oldIndex++;
+            boolean unchanged = oldIndex < oldEnd
+                    && previous.type(oldIndex) == type
+                    && shifted(previous.start(oldIndex), editStart, delta) == start
+                    && previous.length(oldIndex) == current.length(i)
+                    && (end < editStart || start >= insertedEnd)
+                    && (previous.end(oldIndex) < editStart || previous.start(oldIndex) >= removedEnd);
+
+            if (unchanged || !styled.intersects(start, end + 1)) {
+                flushRun();
+                continue;
+            }
+            paint(start, end, theme.getAttributes(type));
+            styled.add(start, end + 1);
+        }
+        flushRun();
+        event.finish(true, attributeCalls - callsBefore);
+    }
+
+    private static int shifted(int oldStart, int editStart, int delta) {
+        return oldStart < editStart ? oldStart : oldStart + delta;
+    }
+
+    // Tarama başarısız olduğunda çağrılır, bir sonraki güncellemede her şey yeniden boyanır
+    public void invalidate() {
+        this.tokens = null;
+        styled.clear();
+    }
+
+    // Tema değiştiğinde çağrılır; token'lar aynı kalır, boyanmış bölgeler unutulur
+    public void restyle() {
+        styled.clear();
+    }
+
+    // Belge değiştiğinde boyanmış aralıkları metinle birlikte kaydırır
+    public void insertUpdate(int offset, int length) {
+        styled.insertUpdate(offset, length);
+        stale = true;
+    }
+
+    public void removeUpdate(int offset, int length) {
+        styled.removeUpdate(offset, length);
+        stale = true;
+    }
+
+    // [from, to) içinde henüz boyanmamış bölgeleri boyar
+    public void ensureStyled(int from, int to) {
+        if (tokens == null || stale) return;
+        to = Math.min(to, doc.getLength());
+        int[] gap = styled.firstGap(from, to);
+        if (gap == null) return; // Kaydırmada çoğunlukla bölge zaten boyalıdır, ölçülmez
+        StyleEvent event = StyleEvent.start();
+        long callsBefore = attributeCalls;
+        do {
+            int[] painted = apply(tokens, gap[0], gap[1]);
+            styled.add(painted[0], painted[1]);
+        } while ((gap = styled.firstGap(from, to)) != null);
+        event.finish(false, attributeCalls - callsBefore);
+    }
+
+    // [from, to) ile kesişen token'ları boyar. Aralık kesişen token'ların sınırlarına kadar
+    // genişletilir; gerçekten boyanan aralık döndürülür. Token'lar arasındaki boşlukların
+    // rengi görünmediği için boşluklar ayrıca sıfırlanmaz.
+    public int[] apply(TokenStream tokens, int from, int to) {
+        int length = doc.getLength();
+        int first = tokens.indexAt(from);
+        int last = first;
+        while (last < tokens.size() && tokens.start(last) < to && tokens.type(last) != TokenType.EOF) last++;
+        if (last > first) {
+            from = Math.min(from, tokens.start(first));
+            to = Math.max(to, tokens.end(last - 1) + 1);
+        }
+        from = Math.max(0, from);
+        to = Math.min(to, length);
+
+        Theme theme = HighlightPainter.getTheme();
+        for (int i = first; i < last; i++) {
+            int startIndex = tokens.start(i);
+            int endIndex = tokens.end(i);
+
+            if (startIndex >= 0 && startIndex < length &&
+                    endIndex >= startIndex && endIndex < length) {
+                paint(startIndex, endIndex, theme.getAttributes(tokens.type(i)));
+            }
+        }
+        flushRun();
+        return new int[]{from, Math.max(from, to)};
+    }
+
+    // Aynı stildeki ardışık token'ları tek bir aralıkta biriktirir
+    private void paint(int start, int end, AttributeSet attributes) {
+        if (runStart >= 0 && runAttributes == attributes) {
+            runEnd = end;
+            return;
+        }
+        flushRun();
+        runStart = start;
+        runEnd = end;
+        runAttributes = attributes;
+    }
+
+    private void flushRun() {
+        if (runStart < 0) return;
+        doc.setCharacterAttributes(runStart, runEnd - runStart + 1, runAttributes, true);
+        attributeCalls++;
+        runStart = -1;
+    }
+
+    // Şimdiye kadar yapılan setCharacterAttributes çağrısı sayısı; iki ölçüm arasındaki fark
+    // bir düzenlemenin maliyetini verir
+    public long getAttributeCalls() {
+        return attributeCalls;
+    }
+}
@@ -0,0 +1,230 @@
+package highlighter.gui;
+
+import highlighter.core.BracketIndex;
+import highlighter.core.Diagnostic;
+import highlighter.core.LexicalException;
+import highlighter.metrics.UpdateEvent;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultHighlighter;
+import javax.swing.text.Element;
+import javax.swing.text.Highlighter;
+import javax.swing.text.StyledDocument;
+import java.awt.*;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Bir sekmedeki belge: metin alanı, satır numaraları, boyayıcı ve taramayı yapan DocumentAnalyzer.
+// Bütün sekmelerin taramaları aynı AnalysisPool'da çalışır.
+class EditorTab {
+    private static final int MARGIN_LINES = 50; // Görünen alanın üstünde ve altında önceden boyanan satır sayısı
+    private static final Highlighter.HighlightPainter MATCHED =
+            new DefaultHighlighter.DefaultHighlightPainter(new Color(128, 128, 128, 110));
+    private static final Highlighter.HighlightPainter UNMATCHED =
+            new DefaultHighlighter.DefaultHighlightPainter(new Color(230, 70, 70, 110));
+
+    private final String title;
+    private final Path path; // Kaydedilmemiş belgede null
+    private final JTextPane textPane = new JTextPane();
+    private final JScrollPane scrollPane = new JScrollPane(textPane);
+    private final StyledDocument doc = textPane.getStyledDocument();
+    private final DocumentHighlighter highlighter = new DocumentHighlighter(doc);
+    private final LineNumberGutter lineNumbers;
+    private final DocumentAnalyzer analyzer;
+    private final BracketTracker brackets = new BracketTracker();
+    private final List<Object> matchTags = new ArrayList<>(2); // İmlecin parantezi ve eşinin vurguları
+    private final Consumer<Theme> themeListener = this::themeChanged;
+    private final Runnable onUpdate; // Her sonuç uygulandıktan sonra, durum satırı için
+
+    private String status = " ";
+    private long tokenBytes; // Son taramanın token akışı
+
+    EditorTab(String title, Path path, String text, AnalysisPool pool, Runnable onUpdate) {
+        this.title = title;
+        this.path = path;
+        this.onUpdate = onUpdate;
+        textPane.setFont(new Font("Consolas", Font.PLAIN, 16));
+        applyTheme(HighlightPainter.getTheme());
+        textPane.setSelectionColor(new Color(56, 143, 255));
+
+        // Satır numaraları belgenin satır yapısından okunur, sadece görünen satırlar çizilir
+        lineNumbers = new LineNumberGutter(textPane);
+        lineNumbers.setBrackets(brackets);
+        scrollPane.setRowHeaderView(lineNumbers);
+
+        // Boyanmış aralıklar düzenlemeyle hemen kayar; tarama havuzda yapılır ve sonucu
+        // sadece belge o arada değişmediyse EDT'de uygulanır
+        doc.addDocumentListener(new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) {
+                highlighter.insertUpdate(e.getOffset(), e.getLength());
+            }
+
+            public void removeUpdate(DocumentEvent e) {
+                highlighter.removeUpdate(e.getOffset(), e.getLength());
+            }
+
+            public void changedUpdate(DocumentEvent e) {}
+        });
+        doc.addDocumentListener(brackets);
+        analyzer = new DocumentAnalyzer(doc, pool, this::apply);
+
+        // Parantez eşleşmesi son taramanın indeksinden bulunur, metin yeniden taranmaz
+        textPane.addCaretListener(e -> matchBrackets());
+
+        // Tema değişince metin yeniden taranmaz, sadece görünen bölge yeni renklerle boyanır
+        HighlightPainter.addThemeListener(themeListener);
+
+        // Kaydırıldıkça görünür hale gelen bölgeler boyanır
+        scrollPane.getViewport().addChangeListener(e -> styleVisible());
+
+        textPane.setText(text);
+        textPane.setCaretPosition(0);
+    }
+
+    private void apply(DocumentAnalyzer.Result result) {
+        UpdateEvent event = UpdateEvent.start();
+        try {
+            long callsBefore = highlighter.getAttributeCalls();
+            lineNumbers.clearMarkers();
+            Throwable error = result.getError();
+            if (error instanceof LexicalException) {
+                LexicalException e = (LexicalException) error;
+                highlighter.invalidate();
+                bracketsChanged(null);
+                lineNumbers.addMarker(e.getPosition(), e.getMessage());
+                System.err.println("Sözdizimi hatası: " + e.getMessage());
+                return;
+            } else if (error != null) {
+                highlighter.invalidate();
+                bracketsChanged(null);
+                System.err.println("Hata: " + error.getMessage());
+                return;
+            }
+            if (result.getRelex() != null) {
+                // Sadece türü ya da konumu değişen token'lar yeniden boyanır
+                highlighter.update(result.getRelex());
+            } else {
+                highlighter.update(result.getTokens(), 0, doc.getLength());
+            }
+            for (Diagnostic diagnostic : result.getDiagnostics()) {
+                lineNumbers.addMarker(diagnostic.getOffset(), diagnostic.toString());
+            }
+            tokenBytes = result.getTokenBytes();
+            bracketsChanged(result.getBrackets());
+
+            // Sadece görünen bölge boyanır, diğerleri kaydırıldıkça boyanır
+            styleVisible();
+            status = "Stil çağrısı: " + (highlighter.getAttributeCalls() - callsBefore)
+                    + " (toplam " + highlighter.getAttributeCalls() + ")";
+        } finally {
+            event.finish(doc.getLength(), result.getEdits());
+            onUpdate.run();
+        }
+    }
+
+    private void bracketsChanged(BracketIndex index) {
+        brackets.setIndex(index);
+        matchBrackets();
+        lineNumbers.bracketsChanged();
+    }
+
+    // İmlecin hemen sağındaki, yoksa solundaki parantezi eşiyle birlikte vurgular; eşsizse kırmızı
+    private void matchBrackets() {
+        Highlighter painter = textPane.getHighlighter();
+        for (Object tag : matchTags) {
+            painter.removeHighlight(tag);
+        }
+        matchTags.clear();
+        int dot = textPane.getCaretPosition();
+        int i = brackets.bracketAt(dot);
+        if (i < 0 && dot > 0) i = brackets.bracketAt(dot - 1);
+        if (i < 0) return;
+        int partner = brackets.getIndex().partner(i);
+        highlightBracket(brackets.offset(i), partner < 0 ? UNMATCHED : MATCHED);
+        if (partner >= 0) highlightBracket(brackets.offset(partner), MATCHED);
+    }
+
+    private void highlightBracket(int offset, Highlighter.HighlightPainter painter) {
+        if (offset < 0) return; // Son taramadan sonra silindi
+        try {
+            matchTags.add(textPane.getHighlighter().addHighlight(offset, offset + 1, painter));
+        } catch (BadLocationException e) {
+            // Pozisyonlar belgeyle eşlendiği için olmamalı, vurgu atlanır
+        }
+    }
+
+    private void themeChanged(Theme theme) {
+        applyTheme(theme);
+        highlighter.restyle();
+        styleVisible();
+    }
+
+    private void applyTheme(Theme theme) {
+        textPane.setBackground(theme.getBackground());
+        textPane.setForeground(theme.getForeground());
+        textPane.setCaretColor(theme.getForeground());
+    }
+
+    private void styleVisible() {
+        int[] visible = visibleRange();
+        highlighter.ensureStyled(visible[0], visible[1]);
+    }
+
+    // Görünen alanın karakter aralığı, üstte ve altta MARGIN_LINES satır payı ile
+    private int[] visibleRange() {
+        Rectangle view = scrollPane.getViewport().getViewRect();
+        Element root = doc.getDefaultRootElement();
+        int top = textPane.viewToModel2D(view.getLocation());
+        int bottom = textPane.viewToModel2D(new Point(view.x + view.width, view.y + view.height));
+        int firstLine = Math.max(0, root.getElementIndex(Math.max(top, 0)) - MARGIN_LINES);
+        int lastLine = Math.min(root.getElementCount() - 1, root.getElementIndex(Math.max(bottom, 0)) + MARGIN_LINES);
+        return new int[]{root.getElement(firstLine).getStartOffset(), root.getElement(lastLine).getEndOffset()};
+    }
+
+    // Odaktaki sekmenin taraması öne alınır, diğerleri arka planda seyrek taranır
+    void setFocused(boolean focused) {
+        analyzer.setFocused(focused);
+        if (focused) styleVisible();
+    }
+
+    // Sekme kapanınca bekleyen tarama iptal edilir ve tema dinleyicisi bırakılır
+    void close() {
+        analyzer.dispose();
+        HighlightPainter.removeThemeListener(themeListener);
+    }
+
+    JComponent getComponent() {
+        return scrollPane;
+    }
+
+    JTextPane getTextPane() {
+        return textPane;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    // Belgenin tahmini bellek kullanımı: metin (karakter başına 2 bayt) ve token akışı. Swing'in
+    // stil elemanları dahil değildir, sadece boyanmış bölgeler için oluşur.
+    long estimatedBytes() {
+        return 2L * doc.getLength() + tokenBytes;
+    }
+
+    long getTokenBytes() {
+        return tokenBytes;
+    }
+}
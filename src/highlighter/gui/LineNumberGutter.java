@@ -0,0 +1,306 @@
+package highlighter.gui;
+
+import highlighter.core.BracketIndex;
+import highlighter.core.TokenType;
+
+import javax.swing.JComponent;
+import javax.swing.event.CaretEvent;
+import javax.swing.event.CaretListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import javax.swing.text.JTextComponent;
+import javax.swing.text.Position;
+import java.awt.*;
+import java.awt.event.MouseEvent;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+// Satır numaralarını çizen kenar bileşeni. Satır sayısı belgenin Element yapısından okunur,
+// metin hiçbir zaman kopyalanmaz ya da bölünmez; sadece görünen satırların numaraları çizilir.
+// İmlecin bulunduğu satırı vurgular ve hata işaretlerini gösterir. Parantez indeksi verildiyse
+// birden çok satıra yayılan süslü parantez bloklarının (kıvrılabilir bölgeler) başını ve sonunu,
+// imleci içine alan bloğun satırlarını da gösterir.
+public final class LineNumberGutter extends JComponent implements DocumentListener, CaretListener {
+    private static final long serialVersionUID = 1L;
+    private static final int PADDING = 6;
+    private static final int MARKER_SIZE = 6;
+    private static final int FOLD_WIDTH = 10;
+    private static final byte FOLD_START = 1, FOLD_END = 2; // foldLines'ın satır başına bayrakları
+
+    private final JTextComponent textComponent;
+    private final Color currentLineBackground = new Color(60, 60, 60);
+    private final Color currentLineForeground = Color.WHITE;
+    private final Color markerColor = new Color(230, 70, 70);
+    private final Color foldColor = new Color(130, 130, 130);
+    private final Color blockColor = new Color(56, 143, 255);
+
+    private int lineCount;     // Son bilinen satır sayısı, genişlik sadece basamak sayısı değişince güncellenir
+    private int digits;
+    private int currentLine;
+    // Hata işaretleri; Position nesneleri düzenlemelerle birlikte kendiliğinden kayar
+    private final transient List<Position> markers = new ArrayList<>();
+    private final transient List<String> markerMessages = new ArrayList<>();
+    private transient BracketTracker brackets;
+    private int blockStart = -1, blockEnd = -1; // İmleci içine alan bloğun ilk ve son satırı
+
+    public LineNumberGutter(JTextComponent textComponent) {
+        this.textComponent = textComponent;
+        setFont(textComponent.getFont());
+        setBackground(new Color(40, 40, 40));
+        setForeground(Color.LIGHT_GRAY);
+        setOpaque(true);
+        setToolTipText("");
+        textComponent.getDocument().addDocumentListener(this);
+        textComponent.addCaretListener(this);
+        lineCount = root().getElementCount();
+        digits = digitsOf(lineCount);
+    }
+
+    private Element root() {
+        return textComponent.getDocument().getDefaultRootElement();
+    }
+
+    private static int digitsOf(int value) {
+        return Math.max(2, String.valueOf(value).length());
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        FontMetrics metrics = getFontMetrics(getFont());
+        int width = PADDING * 2 + MARKER_SIZE + metrics.charWidth('0') * digits + FOLD_WIDTH;
+        return new Dimension(width, textComponent.getPreferredSize().height);
+    }
+
+    // Eklenen ya da silinen metnin etkilediği satırlardan sonrası yeniden çizilir
+    private void linesChanged(DocumentEvent e) {
+        int newCount = root().getElementCount();
+        DocumentEvent.ElementChange change = e.getChange(root());
+        if (newCount != lineCount) {
+            lineCount = newCount;
+            int newDigits = digitsOf(newCount);
+            if (newDigits != digits) {
+                digits = newDigits;
+                revalidate();
+            }
+        }
+        // Satır yapısı değişmediyse numaralar da değişmez, işaretler tek satırda kalır
+        if (change != null) {
+            repaintFrom(root().getElementIndex(e.getOffset()));
+        } else if (!markers.isEmpty()) {
+            repaintLine(root().getElementIndex(e.getOffset()));
+        }
+    }
+
+    @Override
+    public void insertUpdate(DocumentEvent e) {
+        linesChanged(e);
+    }
+
+    @Override
+    public void removeUpdate(DocumentEvent e) {
+        linesChanged(e);
+    }
+
+    @Override
+    public void changedUpdate(DocumentEvent e) {
+    }
+
+    @Override
+    public void caretUpdate(CaretEvent e) {
+        int line = root().getElementIndex(e.getDot());
+        if (line != currentLine) {
+            repaintLine(currentLine);
+            currentLine = line;
+            repaintLine(currentLine);
+        }
+        updateBlock();
+    }
+
+    // Kıvrılabilir bölgeler ve imlecin bloğu bu izleyicinin indeksinden okunur
+    void setBrackets(BracketTracker brackets) {
+        this.brackets = brackets;
+        bracketsChanged();
+    }
+
+    // İzleyiciye yeni indeks verildi
+    void bracketsChanged() {
+        updateBlock();
+        repaint();
+    }
+
+    // İmleci içine alan en içteki süslü parantez bloğu; değiştiyse yeniden çizilir
+    private void updateBlock() {
+        int start = -1, end = -1;
+        BracketIndex index = brackets == null ? null : brackets.getIndex();
+        if (index != null) {
+            int i = index.enclosing(brackets.toIndex(textComponent.getCaretPosition()));
+            while (i >= 0 && index.type(i) != TokenType.LBRACE) {
+                i = index.parent(i);
+            }
+            int open = i < 0 ? -1 : brackets.offset(i);
+            int close = i < 0 || index.partner(i) < 0 ? -1 : brackets.offset(index.partner(i));
+            if (open >= 0 && close >= 0) {
+                start = root().getElementIndex(open);
+                end = root().getElementIndex(close);
+            }
+        }
+        if (start != blockStart || end != blockEnd) {
+            blockStart = start;
+            blockEnd = end;
+            repaint();
+        }
+    }
+
+    // Hata işareti ekler, offset belgedeki karakter pozisyonudur
+    public void addMarker(int offset, String message) {
+        Document doc = textComponent.getDocument();
+        try {
+            markers.add(doc.createPosition(Math.min(Math.max(offset, 0), doc.getLength())));
+            markerMessages.add(message);
+        } catch (BadLocationException e) {
+            return;
+        }
+        repaintLine(root().getElementIndex(offset));
+    }
+
+    public void clearMarkers() {
+        if (markers.isEmpty()) return;
+        markers.clear();
+        markerMessages.clear();
+        repaint();
+    }
+
+    private Rectangle2D lineBounds(int line) {
+        try {
+            return textComponent.modelToView2D(root().getElement(line).getStartOffset());
+        } catch (BadLocationException e) {
+            return null;
+        }
+    }
+
+    private void repaintLine(int line) {
+        if (line < 0 || line >= root().getElementCount()) return;
+        Rectangle2D bounds = lineBounds(line);
+        if (bounds != null) {
+            repaint(0, (int) bounds.getY(), getWidth(), (int) Math.ceil(bounds.getHeight()));
+        }
+    }
+
+    private void repaintFrom(int line) {
+        Rectangle2D bounds = line < root().getElementCount() ? lineBounds(line) : null;
+        int y = bounds == null ? 0 : (int) bounds.getY();
+        repaint(0, y, getWidth(), Math.max(getHeight() - y, 0));
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        g.setFont(getFont());
+        FontMetrics metrics = g.getFontMetrics();
+        int foldX = getWidth() - FOLD_WIDTH;
+
+        Element root = root();
+        int firstLine = root.getElementIndex(textComponent.viewToModel2D(new Point(0, clip.y)));
+        int lastLine = root.getElementIndex(textComponent.viewToModel2D(new Point(0, clip.y + clip.height)));
+        boolean[] marked = markedLines(firstLine, lastLine);
+        byte[] folds = foldLines(firstLine, lastLine);
+
+        for (int line = firstLine; line <= lastLine; line++) {
+            Rectangle2D bounds = lineBounds(line);
+            if (bounds == null) break;
+            int y = (int) bounds.getY();
+            int height = (int) Math.ceil(bounds.getHeight());
+            if (line == currentLine) {
+                g.setColor(currentLineBackground);
+                g.fillRect(0, y, getWidth(), height);
+                g.setColor(currentLineForeground);
+            } else {
+                g.setColor(getForeground());
+            }
+            String number = String.valueOf(line + 1);
+            int baseline = y + (height + metrics.getAscent() - metrics.getDescent()) / 2;
+            g.drawString(number, foldX - PADDING - metrics.stringWidth(number), baseline);
+
+            if (marked[line - firstLine]) {
+                g.setColor(markerColor);
+                g.fillOval(PADDING / 2, y + (height - MARKER_SIZE) / 2, MARKER_SIZE, MARKER_SIZE);
+            }
+            paintFold(g, folds[line - firstLine], line, foldX, y, height);
+        }
+    }
+
+    // Bloğun başında aşağı bakan üçgen, sonunda köşe; imlecin bloğu boyunca dikey çizgi
+    private void paintFold(Graphics g, byte fold, int line, int x, int y, int height) {
+        int middle = y + height / 2;
+        int center = x + FOLD_WIDTH / 2 - 1;
+        if (line >= blockStart && line <= blockEnd && blockStart < blockEnd) {
+            g.setColor(blockColor);
+            g.drawLine(center, line == blockStart ? middle : y, center, line == blockEnd ? middle : y + height);
+        }
+        g.setColor(line == blockStart || line == blockEnd ? blockColor : foldColor);
+        if ((fold & FOLD_START) != 0) {
+            int half = FOLD_WIDTH / 2 - 1;
+            g.fillPolygon(new int[]{center - half, center + half, center},
+                    new int[]{middle - half / 2, middle - half / 2, middle + half / 2 + 1}, 3);
+        } else if ((fold & FOLD_END) != 0) {
+            g.drawLine(center, y, center, middle);
+            g.drawLine(center, middle, x + FOLD_WIDTH - 2, middle);
+        }
+    }
+
+    // Sadece görünen satırlar için, hangi satırlarda hata işareti olduğunu bulur
+    private boolean[] markedLines(int firstLine, int lastLine) {
+        boolean[] marked = new boolean[lastLine - firstLine + 1];
+        Element root = root();
+        for (Position marker : markers) {
+            int line = root.getElementIndex(marker.getOffset());
+            if (line >= firstLine && line <= lastLine) marked[line - firstLine] = true;
+        }
+        return marked;
+    }
+
+    // Sadece görünen satırlar için, hangi satırlarda birden çok satıra yayılan bir süslü parantez
+    // bloğunun başladığını ya da bittiğini bulur; görünen aralıktaki parantezler indeksten okunur
+    private byte[] foldLines(int firstLine, int lastLine) {
+        byte[] folds = new byte[lastLine - firstLine + 1];
+        BracketIndex index = brackets == null ? null : brackets.getIndex();
+        if (index == null) return folds;
+        Element root = root();
+        int end = root.getElement(lastLine).getEndOffset();
+        for (int i = index.firstAtOrAfter(brackets.toIndex(root.getElement(firstLine).getStartOffset()));
+             i < index.count(); i++) {
+            int offset = brackets.offset(i);
+            if (offset < 0) continue; // Son taramadan sonra silindi
+            if (offset >= end) break;
+            TokenType type = index.type(i);
+            int partner = index.partner(i);
+            if ((type != TokenType.LBRACE && type != TokenType.RBRACE) || partner < 0) continue;
+            int other = brackets.offset(partner);
+            if (other < 0) continue;
+            int line = root.getElementIndex(offset);
+            int otherLine = root.getElementIndex(other);
+            if (line == otherLine || line < firstLine) continue;
+            folds[line - firstLine] |= type == TokenType.LBRACE ? FOLD_START : FOLD_END;
+        }
+        return folds;
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int line = root().getElementIndex(textComponent.viewToModel2D(new Point(0, event.getY())));
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < markers.size(); i++) {
+            if (root().getElementIndex(markers.get(i).getOffset()) == line) {
+                if (text.length() > 0) text.append('\n');
+                text.append(markerMessages.get(i));
+            }
+        }
+        return text.length() == 0 ? null : text.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package highlighter.gui;
+
+import java.util.Arrays;
+
+// Ayrık ve sıralı [start, end) karakter aralıkları kümesi. Belgede hangi bölgelerin
+// boyandığını hatırlamak için kullanılır; aralık sayısı az olduğu için düz dizilerde tutulur.
+class RangeSet {
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int count;
+
+    void clear() {
+        count = 0;
+    }
+
+    void add(int start, int end) {
+        if (start >= end) return;
+        remove(start, end);
+        int i = insertionPoint(start);
+        // Komşu aralıklarla birleştir
+        if (i > 0 && ends[i - 1] == start) {
+            start = starts[--i];
+            delete(i);
+        }
+        if (i < count && starts[i] == end) {
+            end = ends[i];
+            delete(i);
+        }
+        insert(i, start, end);
+    }
+
+    void remove(int start, int end) {
+        if (start >= end) return;
+        int i = 0;
+        while (i < count) {
+            int s = starts[i], e = ends[i];
+            if (e <= start || s >= end) {
+                i++;
+            } else if (s < start && e > end) {
+                ends[i] = start;
+                insert(i + 1, end, e);
+                return;
+            } else if (s < start) {
+                ends[i++] = start;
+            } else if (e > end) {
+                starts[i++] = end;
+            } else {
+                delete(i);
+            }
+        }
+    }
+
+    boolean intersects(int start, int end) {
+        for (int i = 0; i < count && starts[i] < end; i++) {
+            if (ends[i] > start) return true;
+        }
+        return false;
+    }
+
+    // [start, end) içinde kümede olmayan ilk boşluğu döndürür, yoksa null
+    int[] firstGap(int start, int end) {
+        int position = start;
+        for (int i = 0; i < count && position < end; i++) {
+            if (ends[i] <= position) continue;
+            if (starts[i] > position) {
+                return new int[]{position, Math.min(starts[i], end)};
+            }
+            position = ends[i];
+        }
+        return position < end ? new int[]{position, end} : null;
+    }
+
+    // Belgeye offset'te length karakter eklendiğinde aralıkları kaydırır
+    void insertUpdate(int offset, int length) {
+        for (int i = 0; i < count; i++) {
+            if (starts[i] >= offset) starts[i] += length;
+            if (ends[i] > offset) ends[i] += length;
+        }
+    }
+
+    // Belgeden [offset, offset + length) silindiğinde aralıkları kaydırır
+    void removeUpdate(int offset, int length) {
+        int end = offset + length;
+        int j = 0;
+        for (int i = 0; i < count; i++) {
+            int s = starts[i] >= end ? starts[i] - length : Math.min(starts[i], offset);
+            int e = ends[i] >= end ? ends[i] - length : Math.min(ends[i], offset);
+            if (s < e) {
+                if (j > 0 && ends[j - 1] >= s) {
+                    ends[j - 1] = Math.max(ends[j - 1], e);
+                } else {
+                    starts[j] = s;
+                    ends[j] = e;
+                    j++;
+                }
+            }
+        }
+        count = j;
+    }
+
+    private int insertionPoint(int start) {
+        int i = 0;
+        while (i < count && starts[i] < start) i++;
+        return i;
+    }
+
+    private void insert(int i, int start, int end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        System.arraycopy(starts, i, starts, i + 1, count - i);
+        System.arraycopy(ends, i, ends, i + 1, count - i);
+        starts[i] = start;
+        ends[i] = end;
+        count++;
+    }
+
+    private void delete(int i) {
+        System.arraycopy(starts, i + 1, starts, i, count - i - 1);
+        System.arraycopy(ends, i + 1, ends, i, count - i - 1);
+        count--;
+    }
+}
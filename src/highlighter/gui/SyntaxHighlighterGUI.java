@@ -1,125 +1,205 @@
 package highlighter.gui;
 
-import highlighter.core.*;
+import highlighter.metrics.Metrics;
 import javax.swing.*;
-import javax.swing.event.DocumentEvent;
-import javax.swing.event.DocumentListener;
-import javax.swing.text.*;
 import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
 
+// Sekmeli düzenleyici. Her sekme kendi belgesini tutar, taramalar bütün sekmeler için ortak,
+// çekirdek sayısı kadar thread'li bir AnalysisPool'da yapılır; odaktaki sekmenin işleri önce çalışır.
+// Kullanım: SyntaxHighlighterGUI [dosya...]
 public class SyntaxHighlighterGUI {
-    private static final int DEBOUNCE_MS = 50;
-    private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
-    private static ScheduledFuture<?> pendingUpdate;
+    private static final String SAMPLE = "public class Main {\n" +
+            "    public static void main(String[] args) {\n" +
+            "       System.out.println(\"Try korayga highlighter\");\n" +
+            "    \n" +
+            "   }\n" +
+            "}";
+
+    private final JFrame frame = new JFrame("Java Syntax Highlighter");
+    private final JTabbedPane tabbedPane = new JTabbedPane();
+    private final JLabel status = new JLabel(" ");
+    private final AnalysisPool pool = AnalysisPool.getDefault();
+    private final List<EditorTab> tabs = new ArrayList<>(); // tabbedPane ile aynı sırada
+    private EditorTab focused;
+    private int untitled;
 
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
-            JFrame frame = new JFrame("Java Syntax Highlighter");
-            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-            frame.setSize(800, 800);
-
-            JTextPane textPane = new JTextPane();
-            textPane.setFont(new Font("Consolas", Font.PLAIN, 16));
-            textPane.setBackground(new Color(30, 30, 30));
-            textPane.setForeground(Color.WHITE);
-            textPane.setCaretColor(Color.WHITE);
-            textPane.setSelectionColor(new Color(56, 143, 255));
-
-            StyleContext styleContext = new StyleContext();
-            StyledDocument doc = textPane.getStyledDocument();
-            Style defaultStyle = styleContext.addStyle("default", null);
-            StyleConstants.setForeground(defaultStyle, Color.WHITE);
-
-            JTextArea lineNumbers = new JTextArea("1\n");
-            lineNumbers.setFont(new Font("Consolas", Font.PLAIN, 16));
-            lineNumbers.setBackground(new Color(40, 40, 40));
-            lineNumbers.setForeground(Color.LIGHT_GRAY);
-            lineNumbers.setEditable(false);
-
-            textPane.getDocument().addDocumentListener(new DocumentListener() {
-                private void updateLineNumbers() {
-                    String text = textPane.getText();
-                    int lineCount = text.isEmpty() ? 1 : text.split("\n", -1).length;
-                    StringBuilder numbers = new StringBuilder();
-                    for (int i = 1; i <= lineCount; i++) {
-                        numbers.append(i).append("\n");
-                    }
-                    lineNumbers.setText(numbers.toString());
-                }
-
-                public void insertUpdate(DocumentEvent e) { updateLineNumbers(); }
-                public void removeUpdate(DocumentEvent e) { updateLineNumbers(); }
-                public void changedUpdate(DocumentEvent e) {}
-            });
-
-            JPanel panel = new JPanel(new BorderLayout());
-            JScrollPane scrollPane = new JScrollPane(textPane);
-            scrollPane.setRowHeaderView(lineNumbers);
-            panel.add(scrollPane, BorderLayout.CENTER);
-            frame.add(panel);
-
-            textPane.getDocument().addDocumentListener(new DocumentListener() {
-                private void scheduleUpdate() {
-                    if (pendingUpdate != null) {
-                        pendingUpdate.cancel(false);
-                    }
-                    pendingUpdate = scheduler.schedule(() -> SwingUtilities.invokeLater(() -> {
-                        try {
-                            String code = textPane.getText();
-                            Lexer lexer = new Lexer();
-                            List<Token> tokens = lexer.tokenize(code);
-
-                            doc.removeDocumentListener(this);
-                            doc.setCharacterAttributes(0, doc.getLength(), defaultStyle, true);
-
-                            for (Token token : tokens) {
-                                if (token.getType() == TokenType.EOF) continue;
-
-                                int startIndex = token.getStartIndex();
-                                int endIndex = token.getEndIndex();
-
-                                if (startIndex >= 0 && startIndex < doc.getLength() &&
-                                        endIndex >= startIndex && endIndex < doc.getLength()) {
-
-                                    Color color = HighlightPainter.getColor(token.getType());
-                                    Style style = styleContext.addStyle("token_" + System.nanoTime(), null);
-                                    StyleConstants.setForeground(style, color);
-
-                                    int length = endIndex - startIndex + 1;
-                                    if (startIndex + length <= doc.getLength()) {
-                                        doc.setCharacterAttributes(startIndex, length, style, false);
-                                    }
-                                }
-                            }
-
-                        } catch (LexicalException e) {
-                            System.err.println("Sözdizimi hatası: " + e.getMessage());
-                        } catch (Exception e) {
-                            System.err.println("Hata: " + e.getMessage());
-                        } finally {
-                            doc.addDocumentListener(this);
-                        }
-                    }), DEBOUNCE_MS, TimeUnit.MILLISECONDS);
-                }
-
-                public void insertUpdate(DocumentEvent e) { scheduleUpdate(); }
-                public void removeUpdate(DocumentEvent e) { scheduleUpdate(); }
-                public void changedUpdate(DocumentEvent e) {}
-            });
-
-            SwingUtilities.invokeLater(() -> {
-                String testCode = "public class Main {\n" +
-                        "    public static void main(String[] args) {\n" +
-                        "       System.out.println(\"Try korayga highlighter\");\n" +
-                        "    \n" +
-                        "   }\n" +
-                        "}";
-                textPane.setText(testCode);
-            });
-
-            frame.setVisible(true);
+            SyntaxHighlighterGUI gui = new SyntaxHighlighterGUI();
+            if (args.length == 0) {
+                gui.addTab(null, SAMPLE);
+            }
+            for (String arg : args) {
+                gui.open(Paths.get(arg));
+            }
+            gui.frame.setVisible(true);
         });
     }
-}
\ No newline at end of file
+
+    private SyntaxHighlighterGUI() {
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.setSize(800, 800);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(tabbedPane, BorderLayout.CENTER);
+        status.setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+        panel.add(status, BorderLayout.SOUTH);
+        frame.add(panel);
+
+        tabbedPane.addChangeListener(e -> focusChanged());
+        frame.setJMenuBar(createMenuBar());
+    }
+
+    private JMenuBar createMenuBar() {
+        int shortcut = Toolkit.getDefaultToolkit().getMenuShortcutKeyMaskEx();
+        JMenu fileMenu = new JMenu("Dosya");
+        JMenuItem newItem = new JMenuItem("Yeni");
+        newItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_N, shortcut));
+        newItem.addActionListener(e -> addTab(null, ""));
+        fileMenu.add(newItem);
+        JMenuItem openItem = new JMenuItem("Aç...");
+        openItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_O, shortcut));
+        openItem.addActionListener(e -> chooseFiles());
+        fileMenu.add(openItem);
+        JMenuItem closeItem = new JMenuItem("Kapat");
+        closeItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_W, shortcut));
+        closeItem.addActionListener(e -> closeTab(tabbedPane.getSelectedIndex()));
+        fileMenu.add(closeItem);
+
+        JMenu themeMenu = new JMenu("Tema");
+        ButtonGroup themeGroup = new ButtonGroup();
+        for (Theme theme : new Theme[]{Theme.DARK, Theme.LIGHT}) {
+            JRadioButtonMenuItem item = new JRadioButtonMenuItem(theme.getName(), theme == HighlightPainter.getTheme());
+            item.addActionListener(e -> HighlightPainter.setTheme(theme));
+            themeGroup.add(item);
+            themeMenu.add(item);
+        }
+
+        // Ölçümler kapalıyken maliyetsizdir; açıldıktan sonraki güncellemeler sayılır
+        JMenu metricsMenu = new JMenu("Ölçümler");
+        JCheckBoxMenuItem collect = new JCheckBoxMenuItem("Ölçümleri topla", Metrics.isEnabled());
+        collect.addActionListener(e -> Metrics.setEnabled(collect.isSelected()));
+        metricsMenu.add(collect);
+        JMenuItem export = new JMenuItem("Anlık görüntüyü kaydet...");
+        export.addActionListener(e -> exportMetrics());
+        metricsMenu.add(export);
+
+        JMenuBar menuBar = new JMenuBar();
+        menuBar.add(fileMenu);
+        menuBar.add(themeMenu);
+        menuBar.add(metricsMenu);
+        return menuBar;
+    }
+
+    private void chooseFiles() {
+        JFileChooser chooser = new JFileChooser(".");
+        chooser.setMultiSelectionEnabled(true);
+        if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+        for (File file : chooser.getSelectedFiles()) {
+            open(file.toPath());
+        }
+    }
+
+    // Dosya EDT dışında okunur, sekme okununca eklenir. Zaten açık olan dosyanın sekmesi seçilir.
+    private void open(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        if (selectOpenTab(path)) return;
+        CompletableFuture.supplyAsync(() -> {
+            try {
+                return Files.readString(path, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).whenComplete((text, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                JOptionPane.showMessageDialog(frame, "Açılamadı: " + path + "\n" + error.getCause().getMessage(),
+                        "Dosya", JOptionPane.ERROR_MESSAGE);
+            } else if (!selectOpenTab(path)) { // Okunurken aynı dosya bir daha açılmış olabilir
+                addTab(path, text);
+            }
+        }));
+    }
+
+    private void addTab(Path path, String text) {
+        String title = path != null ? path.getFileName().toString() : "adsız " + ++untitled;
+        // Yeni sekme arka planda başlar, seçilince öne alınır
+        EditorTab tab = new EditorTab(title, path, text, pool, this::updateStatus);
+        tab.setFocused(false);
+        tabs.add(tab);
+        tabbedPane.addTab(tab.getTitle(), null, tab.getComponent(), tab.getPath() != null ? tab.getPath().toString() : null);
+        tabbedPane.setSelectedIndex(tabs.size() - 1);
+        tab.getTextPane().requestFocusInWindow();
+    }
+
+    private boolean selectOpenTab(Path path) {
+        for (int i = 0; i < tabs.size(); i++) {
+            if (path.equals(tabs.get(i).getPath())) {
+                tabbedPane.setSelectedIndex(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void closeTab(int index) {
+        if (index < 0) return;
+        EditorTab tab = tabs.remove(index);
+        if (tab == focused) focused = null;
+        tabbedPane.removeTabAt(index); // Seçim değişir, focusChanged yeni sekmeyi öne alır
+        tab.close();
+        updateStatus();
+    }
+
+    private void focusChanged() {
+        int index = tabbedPane.getSelectedIndex();
+        EditorTab selected = index < 0 ? null : tabs.get(index);
+        if (selected == focused) return;
+        if (focused != null) focused.setFocused(false);
+        focused = selected;
+        if (focused != null) focused.setFocused(true);
+        updateStatus();
+    }
+
+    // Odaktaki sekmenin durumu ve açık belgelerin tahmini bellek kullanımı
+    private void updateStatus() {
+        long total = 0;
+        for (EditorTab tab : tabs) {
+            total += tab.estimatedBytes();
+        }
+        StringBuilder text = new StringBuilder();
+        if (focused != null) {
+            text.append(focused.getStatus()).append("  |  Bu belge: ").append(megabytes(focused.estimatedBytes()))
+                    .append(" (token ").append(megabytes(focused.getTokenBytes())).append(")");
+        }
+        text.append("  |  ").append(tabs.size()).append(" belge: ").append(megabytes(total))
+                .append("  |  Sırada: ").append(pool.getQueued());
+        status.setText(text.toString());
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.1f MB", bytes / 1e6);
+    }
+
+    // Metrics.snapshot çıktısını seçilen dosyaya JSON olarak yazar
+    private void exportMetrics() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("metrics.json"));
+        if (chooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            Metrics.writeSnapshot(chooser.getSelectedFile().toPath());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(frame, "Kaydedilemedi: " + e.getMessage(), "Ölçümler", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
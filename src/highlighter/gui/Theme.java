@@ -0,0 +1,131 @@
+package highlighter.gui;
+
+import highlighter.core.TokenType;
+
+import javax.swing.text.AttributeSet;
+import javax.swing.text.SimpleAttributeSet;
+import javax.swing.text.StyleConstants;
+import javax.swing.text.StyleContext;
+import java.awt.Color;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Renk teması. Oluşturulurken bir kez derlenir: her token türü için değişmez bir AttributeSet
+// ordinal'e göre dizide tutulur ve o türdeki bütün token'lar aynı nesneyi paylaşır.
+public class Theme {
+    private static final TokenType[] DELIMITERS = {
+            TokenType.LPAREN, TokenType.RPAREN, TokenType.LBRACE, TokenType.RBRACE,
+            TokenType.LBRACKET, TokenType.RBRACKET, TokenType.SEMICOLON,
+            TokenType.COMMA, TokenType.DOT
+    };
+
+    public static final Theme DARK = new Builder("Koyu", new Color(30, 30, 30), Color.WHITE)
+            .color(TokenType.KEYWORD, Color.MAGENTA)
+            .color(TokenType.IDENTIFIER, Color.WHITE)
+            .colors(Color.CYAN, TokenType.INTEGER_LITERAL, TokenType.FLOAT_LITERAL)
+            .colors(Color.YELLOW, TokenType.STRING_LITERAL, TokenType.CHAR_LITERAL)
+            .colors(Color.WHITE, TokenType.LINE_COMMENT, TokenType.BLOCK_COMMENT)
+            .color(TokenType.UNKNOWN, Color.RED)
+            .color(TokenType.EOF, Color.GRAY)
+            .operators(Color.PINK)
+            .colors(Color.WHITE, DELIMITERS)
+            .build();
+
+    public static final Theme LIGHT = new Builder("Açık", Color.WHITE, Color.BLACK)
+            .color(TokenType.KEYWORD, new Color(0, 0, 160))
+            .color(TokenType.IDENTIFIER, Color.BLACK)
+            .colors(new Color(0, 110, 110), TokenType.INTEGER_LITERAL, TokenType.FLOAT_LITERAL)
+            .colors(new Color(0, 128, 0), TokenType.STRING_LITERAL, TokenType.CHAR_LITERAL)
+            .colors(Color.GRAY, TokenType.LINE_COMMENT, TokenType.BLOCK_COMMENT)
+            .color(TokenType.UNKNOWN, Color.RED)
+            .color(TokenType.EOF, Color.GRAY)
+            .operators(new Color(150, 0, 90))
+            .colors(Color.BLACK, DELIMITERS)
+            .build();
+
+    private final String name;
+    private final Color background;
+    private final Color foreground;
+    private final Color[] colors;             // TokenType ordinal'ine göre
+    private final AttributeSet[] attributes;  // TokenType ordinal'ine göre, paylaşılan ve değişmez
+
+    private Theme(String name, Color background, Color foreground, Map<TokenType, Color> colorMap) {
+        this.name = name;
+        this.background = background;
+        this.foreground = foreground;
+        // StyleContext'in paylaşılan AttributeSet önbelleği aynı içerikli kümeleri tek nesnede tutar
+        StyleContext context = StyleContext.getDefaultStyleContext();
+        TokenType[] types = TokenType.values();
+        this.colors = new Color[types.length];
+        this.attributes = new AttributeSet[types.length];
+        for (TokenType type : types) {
+            colors[type.ordinal()] = colorMap.getOrDefault(type, Color.LIGHT_GRAY);
+            attributes[type.ordinal()] = context.addAttribute(SimpleAttributeSet.EMPTY,
+                    StyleConstants.Foreground, colors[type.ordinal()]);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Color getBackground() {
+        return background;
+    }
+
+    public Color getForeground() {
+        return foreground;
+    }
+
+    public Color getColor(TokenType type) {
+        return colors[type.ordinal()];
+    }
+
+    public AttributeSet getAttributes(TokenType type) {
+        return attributes[type.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static class Builder {
+        private final String name;
+        private final Color background;
+        private final Color foreground;
+        private final Map<TokenType, Color> colorMap = new EnumMap<>(TokenType.class);
+
+        public Builder(String name, Color background, Color foreground) {
+            this.name = name;
+            this.background = background;
+            this.foreground = foreground;
+        }
+
+        public Builder color(TokenType type, Color color) {
+            colorMap.put(type, color);
+            return this;
+        }
+
+        public Builder colors(Color color, TokenType... types) {
+            for (TokenType type : types) {
+                colorMap.put(type, color);
+            }
+            return this;
+        }
+
+        // Sabit metinli bütün token'lar (operatörler ve ayraçlar); ayraçlar sonradan ezilebilir
+        public Builder operators(Color color) {
+            for (TokenType type : TokenType.values()) {
+                if (type.getText() != null && type != TokenType.EOF) {
+                    colorMap.put(type, color);
+                }
+            }
+            return this;
+        }
+
+        public Theme build() {
+            return new Theme(name, background, foreground, colorMap);
+        }
+    }
+}
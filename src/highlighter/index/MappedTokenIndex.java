@@ -0,0 +1,207 @@
+package highlighter.index;
+
+import highlighter.core.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Bir dosyanın token akışının diskteki ikili indeksi. Dosya belleğe eşlenir ve token'lar
+// doğrudan eşlenmiş tampondan okunur; açarken token dizileri kurulmaz. Parser ve çiziciler
+// TokenSource üzerinden TokenStream gibi kullanır.
+//
+// Biçim (küçük uçlu), TokenStream'deki gibi sütunlar halinde:
+//   0  int   MAGIC
+//   4  short VERSION
+//   6  short 0
+//   8  long  kaynak metnin SourceHash özeti
+//   16 int   kaynak metnin uzunluğu
+//   20 int   token sayısı (EOF dahil)
+//   24 int   satır sayısı
+//   28 int   0
+//   32 byte[token sayısı]  TokenType ordinal'i, 4'ün katına tamamlanır
+//      int[token sayısı]   başlangıç
+//      int[token sayısı]   uzunluk
+//      int[token sayısı]   sembol id'si
+//      int[satır sayısı]   satır başları
+//
+// Yazma geçici bir dosyaya yapılıp aynı dizinde atomik olarak yerine taşınır; aynı indeksi yazan
+// ya da okuyan worker'lar yarım yazılmış bir dosya görmez. Eşlenmiş eski dosya taşımadan
+// etkilenmez, okuyan onu kullanmaya devam eder.
+public final class MappedTokenIndex implements TokenSource {
+    public static final int MAGIC = 0x49544c50; // Dosyada "PLTI"
+    public static final int VERSION = 2; // 2: "String" her tabloda sabit SymbolTable.STRING id'sini alır
+    private static final int HEADER_SIZE = 32;
+    private static final TokenType[] TYPES = TokenType.values();
+
+    private final ByteBuffer buffer;
+    private final CharSequence source;
+    private final int size;
+    private final int lineCount;
+    private final int startsAt;
+    private final int lengthsAt;
+    private final int idsAt;
+    private final int linesAt;
+    private LineIndex lines; // İlk istendiğinde satır sütunu tek seferde kopyalanarak kurulur
+    private BracketIndex brackets; // Dosyada tutulmaz, ilk istendiğinde token türlerinden kurulur
+
+    private MappedTokenIndex(ByteBuffer buffer, CharSequence source, int size, int lineCount) {
+        this.buffer = buffer;
+        this.source = source;
+        this.size = size;
+        this.lineCount = lineCount;
+        this.startsAt = HEADER_SIZE + align(size);
+        this.lengthsAt = startsAt + 4 * size;
+        this.idsAt = lengthsAt + 4 * size;
+        this.linesAt = idsAt + 4 * size;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    private static long fileSize(int size, int lineCount) {
+        return HEADER_SIZE + align(size) + 12L * size + 4L * lineCount;
+    }
+
+    // Akışın indeksini file'a atomik olarak yazar, gerekiyorsa dizinleri oluşturur
+    public static void write(Path file, TokenStream tokens) throws IOException {
+        LineIndex lines = tokens.getLines();
+        int size = tokens.size();
+        long length = fileSize(size, lines.lineCount());
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Token index too large: " + length + " bytes");
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putShort((short) VERSION).putShort((short) 0)
+                .putLong(SourceHash.of(tokens.getSource()))
+                .putInt(tokens.getSource().length()).putInt(size).putInt(lines.lineCount()).putInt(0);
+        for (int i = 0; i < size; i++) {
+            out.put((byte) tokens.type(i).ordinal());
+        }
+        out.position(HEADER_SIZE + align(size));
+        for (int i = 0; i < size; i++) out.putInt(tokens.start(i));
+        for (int i = 0; i < size; i++) out.putInt(tokens.length(i));
+        for (int i = 0; i < size; i++) out.putInt(tokens.id(i));
+        for (int line = 0; line < lines.lineCount(); line++) out.putInt(lines.lineStart(line));
+        out.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (out.hasRemaining()) channel.write(out);
+                channel.force(false);
+            }
+            Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    // İndeksi eşler. Dosya yoksa, başka bir sürümle yazılmışsa, bozuksa (geçersiz tür, metnin
+    // dışına taşan ya da geriye giden token, metne uymayan sembol id'si, sırasız satır başı) ya da
+    // source'un içeriği değişmişse null döner; bu durumda kaynak yeniden taranıp indeks yeniden yazılmalıdır.
+    public static MappedTokenIndex open(Path file, CharSequence source) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE || length > Integer.MAX_VALUE) return null;
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length).order(ByteOrder.LITTLE_ENDIAN);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) return null;
+        int size = buffer.getInt(20);
+        int lineCount = buffer.getInt(24);
+        if (size < 1 || lineCount < 1 || buffer.capacity() != fileSize(size, lineCount)) return null;
+        if (buffer.getInt(16) != source.length() || buffer.getLong(8) != SourceHash.of(source)) return null;
+        MappedTokenIndex index = new MappedTokenIndex(buffer, source, size, lineCount);
+        return index.isValid() ? index : null;
+    }
+
+    // Sütunlar kullanılmadan önce bir kez denetlenir; bozuk bir değer sonradan value() ya da
+    // çiziciler metni keserken değil, burada yakalanıp dosya yeniden taramaya bırakılır
+    private boolean isValid() {
+        int textLength = source.length();
+        int previousStart = 0;
+        for (int i = 0; i < size; i++) {
+            // Tür sütunu type() tarafından doğrudan dizi indeksi olarak kullanılır
+            int type = buffer.get(HEADER_SIZE + i) & 0xff;
+            if (type >= TYPES.length) return false;
+            int start = start(i);
+            int length = length(i);
+            if (start < previousStart || start > textLength) return false;
+            // EOF metnin sonunda durur, uzunluğu metinden okunmaz
+            if (TYPES[type] != TokenType.EOF && (length <= 0 || length > textLength - start)) return false;
+            // Parser id'yi Keywords sabitleriyle ve SymbolTable.STRING ile karşılaştırır, metne bakmaz
+            int id = id(i);
+            if (TYPES[type] == TokenType.KEYWORD) {
+                if (id < 0 || id >= Keywords.COUNT || Keywords.match(source, start, length) != id) return false;
+            } else if (TYPES[type] == TokenType.IDENTIFIER) {
+                if (id < Keywords.COUNT || (id == SymbolTable.STRING) != textEquals(i, "String")) return false;
+            } else if (id != SymbolTable.NONE) {
+                return false;
+            }
+            previousStart = start;
+        }
+        // LineIndex.of ile aynı koşullar
+        if (buffer.getInt(linesAt) != 0) return false;
+        int previousLine = 0;
+        for (int line = 1; line < lineCount; line++) {
+            int lineStart = buffer.getInt(linesAt + 4 * line);
+            if (lineStart <= previousLine || lineStart > textLength) return false;
+            previousLine = lineStart;
+        }
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public TokenType type(int i) {
+        return TYPES[buffer.get(HEADER_SIZE + i)];
+    }
+
+    public int start(int i) {
+        return buffer.getInt(startsAt + 4 * i);
+    }
+
+    public int length(int i) {
+        return buffer.getInt(lengthsAt + 4 * i);
+    }
+
+    // Yazan akışın sembol tablosundaki id; aynı isim aynı id'yi taşır
+    public int id(int i) {
+        return buffer.getInt(idsAt + 4 * i);
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    public LineIndex getLines() {
+        if (lines == null) {
+            int[] starts = new int[lineCount];
+            IntBuffer column = buffer.slice(linesAt, 4 * lineCount).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            column.get(starts);
+            lines = LineIndex.of(starts, lineCount, source.length());
+        }
+        return lines;
+    }
+
+    @Override
+    public BracketIndex getBrackets() {
+        if (brackets == null) brackets = BracketIndex.of(this);
+        return brackets;
+    }
+}
@@ -0,0 +1,82 @@
+package highlighter.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Negatif olmayan değerlerin (gecikme, belge boyutu) logaritmik kovalı histogramı. 16'dan küçük
+// değerler tam tutulur, büyükler her ikinin kuvveti aralığında 8 kovaya bölünür; yüzdelikler en
+// fazla %12.5 hatayla hesaplanır. Kayıt kilitsizdir ve bellek kullanımı sabittir, kayıt sayısına
+// bağlı değildir.
+public final class Histogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int LINEAR = SUB_BUCKETS * 2; // Bu değere kadar her değerin kendi kovası vardır
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR + (64 - SUB_BITS - 1) * SUB_BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final LongAdder sum = new LongAdder();
+
+    public void record(long value) {
+        value = Math.max(value, 0);
+        counts.incrementAndGet(bucketOf(value));
+        max.accumulate(value);
+        sum.add(value);
+    }
+
+    static int bucketOf(long value) {
+        if (value < LINEAR) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - SUB_BITS - 1) * SUB_BUCKETS + mantissa;
+    }
+
+    // Kovanın içerdiği en büyük değer
+    static long upperBound(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + SUB_BITS + 1;
+        long mantissa = (bucket - LINEAR) % SUB_BUCKETS;
+        return ((SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BITS)) - 1;
+    }
+
+    // Verilen yüzdeler (0-100) için değerler; kayıt yoksa hepsi 0
+    public long[] percentiles(double... percents) {
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        long[] result = new long[percents.length];
+        if (total == 0) return result;
+        for (int p = 0; p < percents.length; p++) {
+            long rank = Math.max(1, (long) Math.ceil(total * percents[p] / 100));
+            long seen = 0;
+            for (int i = 0; i < snapshot.length; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    result[p] = Math.min(upperBound(i), max.get());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    // Kaydedilen değerlerin toplamı
+    public long sum() {
+        return sum.sum();
+    }
+}
@@ -0,0 +1,42 @@
+package highlighter.metrics;
+
+import jdk.jfr.*;
+
+// Bir tam ya da artımlı tarama. JFR kaydı yoksa begin/commit boştur, olay nesnesi de genellikle
+// JIT tarafından kaldırılır.
+@Name("highlighter.Lex")
+@Label("Lex")
+@Category("Highlighter")
+@Description("Tokenizing a document, fully or after an edit")
+@StackTrace(false)
+public final class LexEvent extends Event {
+    @Label("Incremental")
+    boolean incremental;
+
+    @Label("Characters Scanned")
+    int chars;
+
+    @Label("Tokens Scanned")
+    int tokens;
+
+    private transient long started; // Metrics için, JFR'a yazılmaz
+
+    public static LexEvent start() {
+        LexEvent event = new LexEvent();
+        event.started = Metrics.start();
+        event.begin();
+        return event;
+    }
+
+    // Artımlı taramada chars ve tokens sadece yeniden taranan bölgeyi sayar
+    public void finish(boolean incremental, int chars, int tokens) {
+        end();
+        Metrics.lexed(incremental ? Metrics.Phase.RELEX : Metrics.Phase.LEX, started, chars, tokens);
+        if (shouldCommit()) {
+            this.incremental = incremental;
+            this.chars = chars;
+            this.tokens = tokens;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package highlighter.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.LongAdder;
+
+// Tarama, ayrıştırma ve boyama aşamalarının süreleri ile sayaçları. Ölçümler aşama başına bir kez
+// (token başına değil) yapılır; kapalıyken her aşamanın maliyeti bir alan okumasıdır.
+// "-Dhighlighter.metrics=true" ile ya da setEnabled ile açılır.
+//
+// Aynı aşamalar JFR olayı olarak da üretilir (LexEvent, ParseEvent, StyleEvent, UpdateEvent);
+// olaylar bu sınıftan bağımsızdır ve sadece JFR kaydı açıkken yazılır:
+//   java -XX:StartFlightRecording=filename=pl.jfr ...
+//   jfr print --categories Highlighter pl.jfr
+public final class Metrics {
+    public enum Phase {
+        LEX,    // Lexer.tokenizeStream
+        RELEX,  // Lexer.retokenize
+        PARSE,  // Parser.diagnose ve accepts
+        STYLE,  // DocumentHighlighter'ın belgeye stil uygulaması
+        UPDATE  // Arayüzde bir güncellemenin EDT'de geçen süresi
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final Histogram[] phaseMicros = new Histogram[PHASES.length];
+
+    static {
+        for (int i = 0; i < PHASES.length; i++) {
+            phaseMicros[i] = new Histogram();
+        }
+    }
+
+    private static volatile boolean enabled = Boolean.getBoolean("highlighter.metrics");
+    private static final long startedAt = System.currentTimeMillis();
+
+    private static final LongAdder lexedChars = new LongAdder();
+    private static final LongAdder lexedTokens = new LongAdder();
+    private static final LongAdder lexNanos = new LongAdder();    // LEX ve RELEX'in toplam süresi
+    private static final LongAdder attributeCalls = new LongAdder();
+    private static final LongAdder debounceCancelled = new LongAdder();
+    private static final Histogram documentChars = new Histogram(); // Her arayüz güncellemesinde belge boyutu
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    // Ölçüm açıksa şimdiki zaman, değilse 0; ölçülen aşamanın sonunda record'a verilir
+    static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    static void record(Phase phase, long startNanos) {
+        if (startNanos == 0 || !enabled) return; // Aşama sürerken açıldı
+        phaseMicros[phase.ordinal()].record((System.nanoTime() - startNanos) / 1000);
+    }
+
+    static void lexed(Phase phase, long startNanos, int chars, int tokens) {
+        if (startNanos == 0 || !enabled) return;
+        long nanos = System.nanoTime() - startNanos;
+        phaseMicros[phase.ordinal()].record(nanos / 1000);
+        lexNanos.add(nanos);
+        lexedChars.add(chars);
+        lexedTokens.add(tokens);
+    }
+
+    static void styled(long startNanos, long calls) {
+        if (startNanos == 0 || !enabled) return;
+        record(Phase.STYLE, startNanos);
+        attributeCalls.add(calls);
+    }
+
+    static void updated(long startNanos, int chars) {
+        if (startNanos == 0 || !enabled) return;
+        record(Phase.UPDATE, startNanos);
+        documentChars.record(chars);
+    }
+
+    // Arayüzde debounce süresi dolmadan iptal edilen güncelleme
+    public static void debounceCancelled() {
+        if (enabled) debounceCancelled.increment();
+    }
+
+    // O ana kadarki ölçümler, JSON olarak:
+    // {"enabled":..,"uptimeMillis":..,"phases":{"lex":{"count","totalMicros","p50","p90","p99","max"},...},
+    //  "lexedChars":..,"lexedTokens":..,"tokensPerSecond":..,"attributeCalls":..,"debounceCancelled":..,
+    //  "documentChars":{"count","p50","p90","p99","max"}}
+    public static String snapshot() {
+        StringBuilder json = new StringBuilder(1024);
+        json.append("{\"enabled\":").append(enabled)
+                .append(",\"uptimeMillis\":").append(System.currentTimeMillis() - startedAt)
+                .append(",\"phases\":{");
+        for (Phase phase : PHASES) {
+            Histogram histogram = phaseMicros[phase.ordinal()];
+            if (phase.ordinal() > 0) json.append(',');
+            json.append('"').append(phase.name().toLowerCase()).append("\":{\"count\":").append(histogram.count())
+                    .append(",\"totalMicros\":").append(histogram.sum());
+            appendPercentiles(json, histogram);
+            json.append('}');
+        }
+        long nanos = lexNanos.sum();
+        long tokens = lexedTokens.sum();
+        json.append("},\"lexedChars\":").append(lexedChars.sum())
+                .append(",\"lexedTokens\":").append(tokens)
+                .append(",\"tokensPerSecond\":").append(nanos == 0 ? 0 : Math.round(tokens * 1e9 / nanos))
+                .append(",\"attributeCalls\":").append(attributeCalls.sum())
+                .append(",\"debounceCancelled\":").append(debounceCancelled.sum())
+                .append(",\"documentChars\":{\"count\":").append(documentChars.count());
+        appendPercentiles(json, documentChars);
+        return json.append("}}").toString();
+    }
+
+    private static void appendPercentiles(StringBuilder json, Histogram histogram) {
+        long[] percentiles = histogram.percentiles(50, 90, 99);
+        json.append(",\"p50\":").append(percentiles[0])
+                .append(",\"p90\":").append(percentiles[1])
+                .append(",\"p99\":").append(percentiles[2])
+                .append(",\"max\":").append(histogram.max());
+    }
+
+    public static void writeSnapshot(Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(snapshot());
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package highlighter.metrics;
+
+import jdk.jfr.*;
+
+// Bir token akışının ayrıştırılması (Parser.diagnose ya da accepts)
+@Name("highlighter.Parse")
+@Label("Parse")
+@Category("Highlighter")
+@Description("Parsing a token stream")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+    @Label("Tokens")
+    int tokens;
+
+    @Label("Diagnostics")
+    int diagnostics;
+
+    private transient long started;
+
+    public static ParseEvent start() {
+        ParseEvent event = new ParseEvent();
+        event.started = Metrics.start();
+        event.begin();
+        return event;
+    }
+
+    public void finish(int tokens, int diagnostics) {
+        end();
+        Metrics.record(Metrics.Phase.PARSE, started);
+        if (shouldCommit()) {
+            this.tokens = tokens;
+            this.diagnostics = diagnostics;
+            commit();
+        }
+    }
+}
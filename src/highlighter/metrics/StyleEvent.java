@@ -0,0 +1,37 @@
+package highlighter.metrics;
+
+import jdk.jfr.*;
+
+// Token renklerinin belgeye uygulanması
+@Name("highlighter.Style")
+@Label("Style")
+@Category("Highlighter")
+@Description("Applying token colors to the styled document")
+@StackTrace(false)
+public final class StyleEvent extends Event {
+    @Label("Incremental")
+    boolean incremental;
+
+    @Label("Attribute Calls")
+    long attributeCalls;
+
+    private transient long started;
+
+    public static StyleEvent start() {
+        StyleEvent event = new StyleEvent();
+        event.started = Metrics.start();
+        event.begin();
+        return event;
+    }
+
+    // attributeCalls: bu aşamada yapılan setCharacterAttributes çağrısı sayısı
+    public void finish(boolean incremental, long attributeCalls) {
+        end();
+        Metrics.styled(started, attributeCalls);
+        if (shouldCommit()) {
+            this.incremental = incremental;
+            this.attributeCalls = attributeCalls;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package highlighter.metrics;
+
+import jdk.jfr.*;
+
+// Arayüzde bir tarama sonucunun EDT'de uygulanma süresi (boyama ve hata işaretleri); tarama worker'da yapılır
+@Name("highlighter.Update")
+@Label("Editor Update")
+@Category("Highlighter")
+@Description("Time the event dispatch thread spent applying one analysis result")
+@StackTrace(false)
+public final class UpdateEvent extends Event {
+    @Label("Document Characters")
+    int documentChars;
+
+    @Label("Coalesced Edits")
+    int edits;
+
+    private transient long started;
+
+    public static UpdateEvent start() {
+        UpdateEvent event = new UpdateEvent();
+        event.started = Metrics.start();
+        event.begin();
+        return event;
+    }
+
+    // edits: debounce süresinde birleştirilen düzenleme sayısı
+    public void finish(int documentChars, int edits) {
+        end();
+        Metrics.updated(started, documentChars);
+        if (shouldCommit()) {
+            this.documentChars = documentChars;
+            this.edits = edits;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package highlighter.render;
+
+import highlighter.core.TokenType;
+import highlighter.gui.Theme;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.Writer;
+
+// Kaynağı 24 bit renkli ANSI kaçış dizileriyle yazar; less -R gibi sayfalayıcılar ve
+// terminaller için. Arka plan rengi değiştirilmez, terminalinki kullanılır. Kaynaktaki kontrol
+// karakterleri görünür biçimde (cat -v gibi ^[) yazılır, dosya kendi kaçış dizisini çalıştıramaz.
+public class AnsiRenderer extends SourceRenderer {
+    private static final String RESET = "\u001b[0m";
+
+    private final String[] opens; // TokenType ordinal'ine göre
+
+    public AnsiRenderer(Theme theme) {
+        super(theme);
+        TokenType[] types = TokenType.values();
+        opens = new String[types.length];
+        for (TokenType type : types) {
+            Color color = theme.getColor(type);
+            opens[type.ordinal()] = "\u001b[38;2;" + color.getRed() + ";" + color.getGreen() + ";" + color.getBlue() + "m";
+        }
+    }
+
+    @Override
+    protected void begin(Writer out) {
+    }
+
+    @Override
+    protected void end(Writer out) throws IOException {
+        out.write(RESET);
+    }
+
+    @Override
+    protected String open(TokenType type) {
+        return opens[type.ordinal()];
+    }
+
+    @Override
+    protected String close(TokenType type) {
+        return RESET;
+    }
+
+    @Override
+    protected String replacement(char c) {
+        return visible(c);
+    }
+
+    // '\t', '\n' ve '\r' dışındaki C0 kontrol karakterleri, DEL ve C1 kontrol karakterleri için
+    // görünür karşılık, diğer karakterler için null. C1 karakterleri (0x9b CSI gibi) bazı
+    // terminallerde ESC ile başlayan dizilerle aynı işi görür.
+    static String visible(char c) {
+        if (c < 0x20) {
+            return c == '\t' || c == '\n' || c == '\r' ? null : "^" + (char) (c + 0x40);
+        }
+        if (c == 0x7f) return "^?";
+        if (c >= 0x80 && c < 0xa0) return "M-^" + (char) (c - 0x80 + 0x40);
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package highlighter.render;
+
+import highlighter.core.TokenType;
+import highlighter.gui.Theme;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.Writer;
+
+// Kaynağı <pre> içinde, her token'ı renkli bir <span> olarak yazar. Stil satır içindedir,
+// sayfaya ayrıca CSS eklemek gerekmez.
+public class HtmlRenderer extends SourceRenderer {
+    private final String[] opens; // TokenType ordinal'ine göre
+
+    public HtmlRenderer(Theme theme) {
+        super(theme);
+        TokenType[] types = TokenType.values();
+        opens = new String[types.length];
+        for (TokenType type : types) {
+            opens[type.ordinal()] = "<span style=\"color:" + hex(theme.getColor(type)) + "\">";
+        }
+    }
+
+    @Override
+    protected void begin(Writer out) throws IOException {
+        out.write("<pre style=\"background:" + hex(theme.getBackground()) + ";color:" + hex(theme.getForeground()) + "\">");
+    }
+
+    @Override
+    protected void end(Writer out) throws IOException {
+        out.write("</pre>\n");
+    }
+
+    @Override
+    protected String open(TokenType type) {
+        return opens[type.ordinal()];
+    }
+
+    @Override
+    protected String close(TokenType type) {
+        return "</span>";
+    }
+
+    // '&', '<' ve '>' karakterleri HTML varlıklarıyla değiştirilir
+    @Override
+    protected String replacement(char c) {
+        switch (c) {
+            case '&': return "&amp;";
+            case '<': return "&lt;";
+            case '>': return "&gt;";
+            default: return null;
+        }
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+}
@@ -0,0 +1,251 @@
+package highlighter.render;
+
+import highlighter.core.Lexer;
+import highlighter.core.LexicalException;
+import highlighter.core.TokenSink;
+import highlighter.core.TokenSource;
+import highlighter.core.TokenType;
+import highlighter.gui.HighlightPainter;
+import highlighter.gui.Theme;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Kaynak metni renklendirilmiş olarak bir Writer'a yazan akış tabanlı çizici. Token'lar lexer
+// ürettikçe alınır ve metin lexer'ın penceresinden doğrudan çıktıya kopyalanır; token listesi ya da
+// ara String oluşturulmaz, bu yüzden bellek kullanımı dosyanın boyutundan bağımsızdır.
+// Renkler HighlightPainter'daki temadan okunur, arayüzle aynıdır.
+// Kullanım: SourceRenderer <dosya> [-f html|ansi] [-t koyu|açık]
+public abstract class SourceRenderer implements TokenSink {
+    private final Lexer lexer = new Lexer(true); // Hatalı kaynak da çizilir, hatalar UNKNOWN renginde
+    private final OutputBuffer out = new OutputBuffer();
+    private final Writer text = new EscapingWriter(out); // Token metninin yazıldığı yer
+    private int written;   // Bu pozisyona kadarki kaynak yazıldı
+
+    protected final Theme theme;
+
+    protected SourceRenderer(Theme theme) {
+        this.theme = theme;
+    }
+
+    public static void main(String[] args) throws IOException, LexicalException {
+        Path path = null;
+        String format = "ansi";
+        Theme theme = HighlightPainter.getTheme();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-f": format = args[++i]; break;
+                case "-t": theme = args[++i].startsWith("a") ? Theme.LIGHT : Theme.DARK; break;
+                default: path = Paths.get(args[i]);
+            }
+        }
+        if (path == null || !(format.equals("html") || format.equals("ansi"))) {
+            System.err.println("Kullanım: SourceRenderer <dosya> [-f html|ansi] [-t koyu|açık]");
+            System.exit(2);
+        }
+        SourceRenderer renderer = format.equals("html") ? new HtmlRenderer(theme) : new AnsiRenderer(theme);
+        Writer stdout = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+        try (Reader source = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            renderer.render(source, stdout);
+        }
+        stdout.flush();
+    }
+
+    // Kaynağı baştan sona okuyup çizer. Çıktı kendi tamponunda toplanıp out'a büyük parçalar
+    // halinde yazılır; out flush edilmez.
+    public void render(Reader source, Writer out) throws IOException, LexicalException {
+        this.out.target = out;
+        this.written = 0;
+        try {
+            begin(this.out);
+            lexer.tokenize(source, this);
+            end(this.out);
+            this.out.flush();
+        } finally {
+            this.out.target = null;
+            this.out.count = 0;
+        }
+    }
+
+    // Önceden taranmış token'ları (ör. diskteki MappedTokenIndex) yeniden taramadan çizer;
+    // metin token'ların kaynak metninden kesilir
+    public void render(TokenSource tokens, Writer out) throws IOException {
+        this.out.target = out;
+        CharSequence source = tokens.getSource();
+        try {
+            begin(this.out);
+            int gapStart = 0;
+            for (int i = 0; i < tokens.size(); i++) {
+                int start = tokens.start(i);
+                text.append(source, gapStart, start);
+                TokenType type = tokens.type(i);
+                if (type == TokenType.EOF) break;
+                gapStart = start + tokens.length(i);
+                this.out.write(open(type));
+                text.append(source, start, gapStart);
+                this.out.write(close(type));
+            }
+            end(this.out);
+            this.out.flush();
+        } finally {
+            this.out.target = null;
+            this.out.count = 0;
+        }
+    }
+
+    public void render(InputStream source, OutputStream out) throws IOException, LexicalException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        render(new InputStreamReader(source, StandardCharsets.UTF_8), writer);
+        writer.flush();
+    }
+
+    @Override
+    public void token(TokenType type, int start, int end) throws IOException {
+        lexer.writeText(written, start, text); // Token'dan önceki boşluklar
+        if (type == TokenType.EOF) return;
+        out.write(open(type));
+        lexer.writeText(start, end + 1, text);
+        out.write(close(type));
+        written = end + 1;
+    }
+
+    // Çıktının başı ve sonu
+    protected abstract void begin(Writer out) throws IOException;
+
+    protected abstract void end(Writer out) throws IOException;
+
+    // Token metninden önce ve sonra yazılan işaretler; her çağrıda aynı String dönmelidir
+    protected abstract String open(TokenType type);
+
+    protected abstract String close(TokenType type);
+
+    // Kaynak metindeki c karakterinin çıktıda yerine yazılacak metin, olduğu gibi kalacaksa null
+    protected String replacement(char c) {
+        return null;
+    }
+
+    // Kaynak metni replacement ile kaçırarak yazar; aradaki kısımlar tek parça halinde yazılır
+    private final class EscapingWriter extends FilterWriter {
+        EscapingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            int from = offset;
+            int to = offset + length;
+            for (int i = offset; i < to; i++) {
+                String replacement = replacement(buffer[i]);
+                if (replacement == null) continue;
+                out.write(buffer, from, i - from);
+                out.write(replacement);
+                from = i + 1;
+            }
+            out.write(buffer, from, to - from);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            append(text, offset, offset + length);
+        }
+
+        @Override
+        public Writer append(CharSequence text, int start, int end) throws IOException {
+            int from = start;
+            for (int i = start; i < end; i++) {
+                String replacement = replacement(text.charAt(i));
+                if (replacement == null) continue;
+                out.append(text, from, i);
+                out.write(replacement);
+                from = i + 1;
+            }
+            out.append(text, from, end);
+            return this;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            write(new char[]{(char) c}, 0, 1);
+        }
+
+        // Alttaki Writer çıktı tamponudur, çizim bitmeden boşaltılmamalıdır
+        @Override
+        public void flush() {
+        }
+    }
+
+    // Senkronize olmayan çıktı tamponu. BufferedWriter her yazmada kilit alır; token başına
+    // birkaç küçük yazma yapıldığı için bu tampon tek thread'de ondan belirgin şekilde hızlıdır.
+    private static final class OutputBuffer extends Writer {
+        private final char[] buffer = new char[16 * 1024];
+        private int count;
+        private Writer target;
+
+        @Override
+        public void write(char[] chars, int offset, int length) throws IOException {
+            if (length > buffer.length - count) {
+                flushBuffer();
+                if (length > buffer.length) {
+                    target.write(chars, offset, length);
+                    return;
+                }
+            }
+            System.arraycopy(chars, offset, buffer, count, length);
+            count += length;
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            if (length > buffer.length - count) {
+                flushBuffer();
+                if (length > buffer.length) {
+                    target.write(text, offset, length);
+                    return;
+                }
+            }
+            text.getChars(offset, offset + length, buffer, count);
+            count += length;
+        }
+
+        @Override
+        public void write(String text) throws IOException {
+            write(text, 0, text.length());
+        }
+
+        @Override
+        public Writer append(CharSequence text, int start, int end) throws IOException {
+            if (text instanceof String) {
+                write((String) text, start, end - start);
+                return this;
+            }
+            for (int i = start; i < end; i++) {
+                write(text.charAt(i));
+            }
+            return this;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (count == buffer.length) flushBuffer();
+            buffer[count++] = (char) c;
+        }
+
+        private void flushBuffer() throws IOException {
+            target.write(buffer, 0, count);
+            count = 0;
+        }
+
+        // Sadece tamponu boşaltır, hedef Writer'ı flush etmez
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
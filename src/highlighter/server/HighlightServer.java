@@ -0,0 +1,344 @@
+package highlighter.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import highlighter.cache.AnalysisCache;
+import highlighter.core.*;
+import highlighter.metrics.Histogram;
+import highlighter.metrics.Metrics;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+// Arayüz açmadan başka araçların (kod inceleme sayfası, doküman üretici) çağırabildiği yerel HTTP
+// servisi. Sadece loopback adresini dinler ve JDK dışında bir bağımlılığı yoktur.
+// Kullanım: HighlightServer [-p port] [-c eşzamanlı istek] [-m en büyük istek (bayt)] [-k önbellek (MB), 0 kapalı] [-s]
+//
+//   POST /highlight           gövde UTF-8 kaynak metin; token'lar ve hatalar JSON olarak döner
+//   POST /highlight?format=binary  aynı sonuç BINARY_MAGIC ile başlayan ikili biçimde;
+//                             format=json varsayılandır, başka bir değer 400 ile reddedilir
+//   GET  /stats               istek sayıları ve gecikme yüzdelikleri
+//   GET  /metrics             tarama ve ayrıştırma aşamalarının ölçümleri (Metrics.snapshot), -s ile toplanır
+//
+// Her istek kendi sanal thread'inde çalışır. Aynı anda en fazla maxConcurrent istek işlenir;
+// fazlası QUEUE_TIMEOUT_MS kadar bekler, yer açılmazsa 503 ile reddedilir. Aynı kaynak tekrar
+// gönderildiğinde sonuç AnalysisCache'ten verilir.
+public class HighlightServer {
+    public static final int BINARY_MAGIC = 0x504c484c; // "PLHL"
+    public static final int BINARY_VERSION = 1;
+
+    private static final long QUEUE_TIMEOUT_MS = 100;
+    private static final TokenCategory[] CATEGORIES = new TokenCategory[TokenType.values().length];
+
+    static {
+        for (TokenType type : TokenType.values()) {
+            CATEGORIES[type.ordinal()] = Lexer.getCategory(type);
+        }
+    }
+
+    private final int maxConcurrent;
+    private final int maxRequestBytes;
+    private final Semaphore permits;
+    private final AnalysisCache cache; // null ise kapalı
+
+    // Lexer thread-safe değildir. Sanal thread'ler her istekte yeniden oluştuğu için ThreadLocal
+    // yerine paylaşılan bir havuz kullanılır; eşzamanlı istek sınırlı olduğundan havuz da sınırlıdır.
+    private final BlockingQueue<Lexer> lexers;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder tooLarge = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Histogram latency = new Histogram(); // Mikrosaniye
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public HighlightServer(int maxConcurrent, int maxRequestBytes) {
+        this(maxConcurrent, maxRequestBytes, null);
+    }
+
+    public HighlightServer(int maxConcurrent, int maxRequestBytes, AnalysisCache cache) {
+        this.maxConcurrent = maxConcurrent;
+        this.cache = cache;
+        this.maxRequestBytes = maxRequestBytes;
+        this.permits = new Semaphore(maxConcurrent);
+        this.lexers = new ArrayBlockingQueue<>(maxConcurrent);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8421;
+        int concurrent = Runtime.getRuntime().availableProcessors() * 4;
+        int maxBytes = 4 * 1024 * 1024;
+        long cacheMegabytes = 64;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "-p": port = Integer.parseInt(args[++i]); break;
+                case "-c": concurrent = Integer.parseInt(args[++i]); break;
+                case "-m": maxBytes = Integer.parseInt(args[++i]); break;
+                case "-k": cacheMegabytes = Long.parseLong(args[++i]); break;
+                case "-s": Metrics.setEnabled(true); break;
+                default:
+                    System.err.println("Kullanım: HighlightServer [-p port] [-c eşzamanlı istek] [-m en büyük istek (bayt)] [-k önbellek (MB), 0 kapalı] [-s]");
+                    System.exit(2);
+            }
+        }
+        AnalysisCache cache = cacheMegabytes > 0 ? new AnalysisCache(cacheMegabytes * 1024 * 1024) : null;
+        HighlightServer highlightServer = new HighlightServer(concurrent, maxBytes, cache);
+        InetSocketAddress address = highlightServer.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(highlightServer::stop));
+        System.out.println("http://" + address.getHostString() + ":" + address.getPort() + "/highlight dinleniyor");
+    }
+
+    // Loopback adresinde dinlemeye başlar; port 0 ise boş bir port seçilir
+    public InetSocketAddress start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), maxConcurrent);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/highlight", this::handleHighlight);
+        server.createContext("/stats", this::handleStats);
+        server.createContext("/metrics", this::handleMetrics);
+        server.start();
+        return server.getAddress();
+    }
+
+    public void stop() {
+        if (server == null) return;
+        server.stop(1);
+        executor.shutdown();
+        server = null;
+    }
+
+    private void handleHighlight(HttpExchange exchange) throws IOException {
+        long begin = System.nanoTime();
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                sendError(exchange, 405, "POST required");
+                return;
+            }
+            // Bekleyen istekler sanal thread'de bloklanır, kuyruk dolarsa hemen reddedilir
+            if (!permits.tryAcquire(QUEUE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 503, "Server busy");
+                return;
+            }
+            try {
+                highlight(exchange);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            requests.increment();
+            latency.record((System.nanoTime() - begin) / 1000);
+        }
+    }
+
+    private void highlight(HttpExchange exchange) throws IOException {
+        String format = format(exchange.getRequestURI().getQuery());
+        if (!format.equals("json") && !format.equals("binary")) {
+            exchange.getResponseHeaders().set("Connection", "close");
+            sendError(exchange, 400, "Unknown format: " + format);
+            return;
+        }
+        boolean binary = format.equals("binary");
+        String source = readBody(exchange);
+        if (source == null) {
+            tooLarge.increment();
+            exchange.getResponseHeaders().set("Connection", "close"); // Okunmayan gövde bağlantıda kalmasın
+            sendError(exchange, 413, "Request larger than " + maxRequestBytes + " bytes");
+            return;
+        }
+        Lexer lexer = lexers.poll();
+        if (lexer == null) lexer = new Lexer(true);
+        TokenStream tokens;
+        List<Diagnostic> diagnostics;
+        try {
+            if (cache != null) {
+                AnalysisCache.Analysis analysis = cache.analyze(source, lexer);
+                tokens = analysis.getTokens();
+                diagnostics = analysis.getDiagnostics();
+            } else {
+                tokens = lexer.tokenizeStream(source);
+                diagnostics = new ArrayList<>(Lexer.diagnostics(tokens));
+                diagnostics.addAll(new Parser(tokens).diagnose());
+            }
+        } catch (LexicalException | RuntimeException | StackOverflowError e) {
+            failed.increment();
+            sendError(exchange, 500, "Highlighting failed: " + e);
+            return;
+        } finally {
+            lexers.offer(lexer);
+        }
+
+        // Yanıt bellekte toplanmadan parça parça (chunked) yazılır; büyük bir girdinin JSON'u
+        // kaynak metnin birkaç katı olabilir
+        exchange.getResponseHeaders().set("Content-Type", binary ? "application/octet-stream" : "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = new BufferedOutputStream(exchange.getResponseBody(), 16 * 1024)) {
+            if (binary) {
+                writeBinary(tokens, diagnostics, out);
+            } else {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                writeJson(tokens, diagnostics, writer);
+                writer.flush();
+            }
+        }
+    }
+
+    // Sorgudaki format parametresinin değeri, yoksa "json". Parametreler '&' ile ayrılır, isim
+    // tam karşılaştırılır; aynı parametre birden fazla verilmişse sonuncusu geçerlidir.
+    static String format(String query) {
+        String format = "json";
+        if (query == null) return format;
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String name = equals < 0 ? parameter : parameter.substring(0, equals);
+            if (name.equals("format")) {
+                format = equals < 0 ? "" : parameter.substring(equals + 1);
+            }
+        }
+        return format;
+    }
+
+    // Gövdeyi okur; sınırı aşıyorsa sonuna kadar okumadan null döner
+    private String readBody(HttpExchange exchange) throws IOException {
+        String declared = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (declared != null && declared.length() > 10) return null;
+        if (declared != null && !declared.isEmpty() && Long.parseLong(declared) > maxRequestBytes) return null;
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(maxRequestBytes + 1); // Uzunluğu bildirilmeyen gövdeler için
+            if (body.length > maxRequestBytes) return null;
+            bytes.add(body.length);
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    // {"tokens":[["KEYWORD","KEYWORD",start,length],...],"diagnostics":[{...}]}, EOF hariç
+    static void writeJson(TokenStream tokens, List<Diagnostic> diagnostics, Writer out) throws IOException {
+        StringBuilder json = new StringBuilder(8 * 1024);
+        json.append("{\"tokens\":[");
+        for (int i = 0; i < tokens.size() - 1; i++) {
+            if (i > 0) json.append(',');
+            TokenType type = tokens.type(i);
+            json.append("[\"").append(type.name()).append("\",\"").append(CATEGORIES[type.ordinal()].name())
+                    .append("\",").append(tokens.start(i)).append(',').append(tokens.length(i)).append(']');
+            if (json.length() > 7 * 1024) {
+                out.append(json);
+                json.setLength(0);
+            }
+        }
+        json.append("],\"diagnostics\":[");
+        for (int i = 0; i < diagnostics.size(); i++) {
+            Diagnostic diagnostic = diagnostics.get(i);
+            if (i > 0) json.append(',');
+            json.append("{\"offset\":").append(diagnostic.getOffset())
+                    .append(",\"length\":").append(diagnostic.getLength())
+                    .append(",\"line\":").append(diagnostic.getLine())
+                    .append(",\"column\":").append(diagnostic.getColumn())
+                    .append(",\"message\":");
+            appendString(json, diagnostic.getMessage());
+            json.append('}');
+            if (json.length() > 7 * 1024) {
+                out.append(json);
+                json.setLength(0);
+            }
+        }
+        out.append(json.append("]}"));
+    }
+
+    // BINARY_MAGIC, BINARY_VERSION (short), token sayısı, her token için tür ve kategori
+    // (TokenType/TokenCategory sırası, byte), başlangıç ve uzunluk (int); sonra hata sayısı ve her
+    // hata için offset, length, line, column (int) ve mesaj (writeUTF). EOF yazılmaz.
+    static void writeBinary(TokenStream tokens, List<Diagnostic> diagnostics, OutputStream stream) throws IOException {
+        int count = tokens.size() - 1;
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(BINARY_MAGIC);
+        out.writeShort(BINARY_VERSION);
+        out.writeInt(count);
+        for (int i = 0; i < count; i++) {
+            TokenType type = tokens.type(i);
+            out.writeByte(type.ordinal());
+            out.writeByte(CATEGORIES[type.ordinal()].ordinal());
+            out.writeInt(tokens.start(i));
+            out.writeInt(tokens.length(i));
+        }
+        out.writeInt(diagnostics.size());
+        for (Diagnostic diagnostic : diagnostics) {
+            out.writeInt(diagnostic.getOffset());
+            out.writeInt(diagnostic.getLength());
+            out.writeInt(diagnostic.getLine());
+            out.writeInt(diagnostic.getColumn());
+            out.writeUTF(diagnostic.getMessage());
+        }
+        out.flush();
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long[] percentiles = latency.percentiles(50, 90, 99, 99.9);
+            String json = "{\"requests\":" + requests.sum()
+                    + ",\"rejected\":" + rejected.sum()
+                    + ",\"tooLarge\":" + tooLarge.sum()
+                    + ",\"failed\":" + failed.sum()
+                    + ",\"bytes\":" + bytes.sum()
+                    + ",\"inFlight\":" + (maxConcurrent - permits.availablePermits())
+                    + ",\"maxConcurrent\":" + maxConcurrent
+                    + (cache == null ? "" : ",\"cache\":{\"hits\":" + cache.getHits() + ",\"misses\":" + cache.getMisses()
+                            + ",\"evictions\":" + cache.getEvictions() + ",\"entries\":" + cache.getEntries()
+                            + ",\"bytes\":" + cache.getBytes() + ",\"maxBytes\":" + cache.getMaxBytes() + "}")
+                    + ",\"latencyMicros\":{\"p50\":" + percentiles[0] + ",\"p90\":" + percentiles[1]
+                    + ",\"p99\":" + percentiles[2] + ",\"p999\":" + percentiles[3] + ",\"max\":" + latency.max() + "}}";
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            send(exchange, 200, json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            send(exchange, 200, Metrics.snapshot().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        send(exchange, status, json.append('}').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
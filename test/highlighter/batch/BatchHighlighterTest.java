@@ -0,0 +1,32 @@
+package highlighter.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchHighlighterTest {
+    private static final int DEPTH = 200_000;
+
+    // Blok ayrıştırması özyinelemeli; yığını taşıran bir dosya atlanmamalı, hatalı sayılmalı
+    @Test
+    void fileThatCannotBeCheckedFailsTheRun(@TempDir Path root) throws Exception {
+        Files.writeString(root.resolve("ok.java"), "x + 1;\n");
+        Files.writeString(root.resolve("deep.java"), "{".repeat(DEPTH) + "}".repeat(DEPTH) + "\n");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+        boolean clean = new BatchHighlighter(2, ".java", true, out).run(root);
+
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertFalse(clean, printed);
+        assertTrue(printed.contains("deep.java: "), printed);
+        assertTrue(printed.contains("2 dosya (1 hatalı)"), printed);
+    }
+}
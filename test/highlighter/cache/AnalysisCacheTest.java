@@ -0,0 +1,75 @@
+package highlighter.cache;
+
+import highlighter.core.Lexer;
+import highlighter.core.LexicalException;
+import highlighter.core.TokenStream;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnalysisCacheTest {
+    private final Lexer lexer = new Lexer(true);
+
+    // Bütçe parçalar arasında paylaşılır: tek girdi bütçenin tamamına kadar büyüyebilir
+    @Test
+    void admitsEntriesUpToTheWholeBudget() throws LexicalException {
+        String large = source(0, 2000);
+        long weight = weightOf(large);
+        AnalysisCache cache = new AnalysisCache(weight * 2);
+        assertFalse(cache.analyze(large, lexer).isCached());
+        assertTrue(cache.analyze(large, lexer).isCached());
+        assertEquals(0, cache.getRejected());
+
+        AnalysisCache tooSmall = new AnalysisCache(weight - 1);
+        tooSmall.analyze(large, lexer);
+        assertEquals(1, tooSmall.getRejected());
+        assertEquals(0, tooSmall.getEntries());
+    }
+
+    // Toplam aşılınca hangi parçada olursa olsun en uzun süredir kullanılmayan girdi çıkarılır
+    @Test
+    void evictsLeastRecentlyUsedAcrossSegments() throws LexicalException {
+        String[] sources = new String[40];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = source(i, 50);
+        }
+        AnalysisCache cache = new AnalysisCache(weightOf(sources[0]) * 10 + weightOf(sources[0]) / 2);
+        for (String source : sources) {
+            cache.analyze(source, lexer);
+            cache.analyze(sources[0], lexer); // İlk girdi hep en yeni kalır
+            assertTrue(cache.getBytes() <= cache.getMaxBytes(), cache.toString());
+        }
+        assertEquals(10, cache.getEntries());
+        assertNotNull(cache.get(sources[0]));
+        for (int i = sources.length - 9; i < sources.length; i++) {
+            assertNotNull(cache.get(sources[i]), "son eklenenler kalır: " + i);
+        }
+        assertNull(cache.get(sources[1]));
+        assertEquals(sources.length - 10, cache.getEvictions());
+    }
+
+    // Saklanan akış metni bellekte tuttuğu için az token'lı uzun bir metin de bütçeyi doldurur
+    @Test
+    void countsTheSourceText() throws LexicalException {
+        String comment = "/*" + "x".repeat(100_000) + "*/";
+        assertTrue(weightOf(comment) >= 2L * comment.length(), String.valueOf(weightOf(comment)));
+    }
+
+    // Aynı ağırlıkta farklı kaynaklar: sadece isimdeki rakamlar değişir
+    private static String source(int seed, int statements) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < statements; i++) {
+            sb.append("int v").append(seed % 10).append(seed / 10 % 10).append(" = ").append(i % 10).append(";\n");
+        }
+        return sb.toString();
+    }
+
+    private long weightOf(String source) throws LexicalException {
+        AnalysisCache probe = new AnalysisCache(Long.MAX_VALUE);
+        TokenStream tokens = lexer.tokenizeStream(source);
+        probe.put(source, tokens, List.of());
+        return probe.getBytes();
+    }
+}
@@ -0,0 +1,72 @@
+package highlighter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// retokenize'ın güncellediği parantez indeksi, düzenlenmiş metnin baştan taranıp kurulan
+// indeksiyle aynı olmalıdır
+class BracketIndexTest {
+    private final Lexer lexer = new Lexer(true);
+
+    // Parantez ağırlıklı metinlerde art arda düzenlemeler; tırnaklar parantezleri string'e alıp çıkarır
+    @Test
+    void matchesFullBuildOnRandomEdits() throws LexicalException {
+        Random random = new Random(25);
+        String alphabet = "(){}[](){}[] x;\n\"";
+        String[] inserts = {"(", ")", "{", "}", "[", "]", "{ }", "( x )", "}{", ")(", "\"", " ", "x", ""};
+        for (int round = 0; round < 2000; round++) {
+            String text = randomText(random, alphabet, random.nextInt(60));
+            TokenStream tokens = lexer.tokenizeStream(text);
+            tokens.getBrackets();
+            for (int edit = 0; edit < 25; edit++) {
+                int offset = random.nextInt(text.length() + 1);
+                int removed = random.nextInt(Math.min(4, text.length() - offset) + 1);
+                String inserted = inserts[random.nextInt(inserts.length)];
+                String edited = text.substring(0, offset) + inserted + text.substring(offset + removed);
+                tokens = lexer.retokenize(tokens, edited, offset, removed, inserted.length()).getTokens();
+                text = edited;
+                assertTrue(tokens.hasBrackets(), "retokenize indeksi taşımadı");
+                assertSameIndex(text, tokens.getBrackets());
+            }
+        }
+    }
+
+    // Önceki eşleşmeleri bozan tek bir açılış, sonraki bütün parantezleri yeniden eşler
+    @Test
+    void insertedOpenRepairsEverythingAfterIt() throws LexicalException {
+        String text = "{ a; } { b; { c; } } ( d )";
+        TokenStream tokens = lexer.tokenizeStream(text);
+        tokens.getBrackets();
+        String edited = "{" + text;
+        BracketIndex index = lexer.retokenize(tokens, edited, 0, 0, 1).getTokens().getBrackets();
+        assertSameIndex(edited, index);
+        assertEquals(1, index.unmatchedCount());
+        assertEquals(-1, index.partner(0));
+        assertEquals(0, index.parent(1));
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private void assertSameIndex(String text, BracketIndex incremental) throws LexicalException {
+        BracketIndex full = BracketIndex.of(lexer.tokenizeStream(text));
+        assertEquals(full.count(), incremental.count(), text);
+        assertEquals(full.unmatchedCount(), incremental.unmatchedCount(), text);
+        for (int i = 0; i < full.count(); i++) {
+            String where = text + " @" + i;
+            assertEquals(full.offset(i), incremental.offset(i), where);
+            assertEquals(full.type(i), incremental.type(i), where);
+            assertEquals(full.partner(i), incremental.partner(i), where);
+            assertEquals(full.parent(i), incremental.parent(i), where);
+            assertEquals(full.depth(i), incremental.depth(i), where);
+        }
+    }
+}
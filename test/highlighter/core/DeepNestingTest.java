@@ -0,0 +1,66 @@
+package highlighter.core;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bir milyon seviye iç içe ifade, küçük yığınlı bir thread'de bütün ayrıştırma yollarından geçer.
+// Ayrıştırıcılardan biri yeniden özyinelemeli olursa StackOverflowError ile düşer.
+class DeepNestingTest {
+    private static final int DEPTH = 1_000_000;
+    private static final long STACK_SIZE = 512 * 1024;
+
+    enum Nesting {
+        PARENTHESES, // x + ((((1))));
+        UNARY,       // x + !!!!y;
+        MIXED        // x + (-!(-!(-!y)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(Nesting.class)
+    void parsesWithoutRecursion(Nesting nesting) throws Throwable {
+        TokenStream tokens = new Lexer().tokenizeStream(nested(nesting, DEPTH));
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                assertEquals(List.of(), new Parser(tokens).parse(), "parse");
+                assertTrue(new Parser(tokens).diagnose().isEmpty(), "diagnose");
+                assertTrue(new Parser(tokens).accepts(), "accepts");
+                SyntaxTree tree = new Parser(tokens).parseTree();
+                assertEquals(tokens.size() - 2, tree.lastToken(tree.root()), "Ağaç bütün ifadeyi kapsamıyor");
+            } catch (Throwable e) {
+                failure[0] = e;
+            }
+        }, "deep-nesting", STACK_SIZE);
+        thread.start();
+        thread.join();
+        if (failure[0] != null) throw failure[0];
+    }
+
+    // Tek bir ifade statement'ı, ifade depth seviye iç içe
+    private static String nested(Nesting nesting, int depth) {
+        StringBuilder sb = new StringBuilder(depth * 3 + 16).append("x + ");
+        for (int i = 0; i < depth; i++) {
+            switch (nesting) {
+                case PARENTHESES:
+                    sb.append('(');
+                    break;
+                case UNARY:
+                    sb.append('!');
+                    break;
+                case MIXED:
+                    sb.append(i % 3 == 0 ? '(' : i % 3 == 1 ? '-' : '!');
+                    break;
+            }
+        }
+        sb.append(nesting == Nesting.PARENTHESES ? "1" : "y");
+        if (nesting != Nesting.UNARY) {
+            int closing = nesting == Nesting.MIXED ? (depth + 2) / 3 : depth;
+            sb.append(")".repeat(closing));
+        }
+        return sb.append(";\n").toString();
+    }
+}
@@ -0,0 +1,73 @@
+package highlighter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Her düzenlemeden sonra artımlı ayrıştırmanın hataları, metnin baştan ayrıştırılmasıyla aynı olmalıdır
+class IncrementalParserTest {
+    private static final String[] FRAGMENTS = {
+            "int x = 1;\n", "y;\n", "{ ", "}\n", "if (a) ", "else ", "while (b) ",
+            "for (int i = 0; i < n; i++) ", "return x;\n", "x + ;\n", "(", ")", ";", "#", "\"s\"",
+            "\"a\\\"", "x++;\n", "int ", "q"
+    };
+    private static final String[] INSERTS = {
+            "{", "}", ";", "x", "(", ")", "if ", "1", "+", " ", "\n", "int ", "\"", "\\", "else "
+    };
+
+    private final Lexer lexer = new Lexer(true);
+
+    @Test
+    void matchesFullDiagnoseOnRandomEdits() throws LexicalException {
+        Random random = new Random(5);
+        for (int round = 0; round < 1000; round++) {
+            StringBuilder sb = new StringBuilder();
+            int count = 1 + random.nextInt(60);
+            for (int i = 0; i < count; i++) {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String text = sb.toString();
+            TokenStream tokens = lexer.tokenizeStream(text);
+            IncrementalParser parser = new IncrementalParser();
+            assertSameDiagnostics(text, parser.parse(tokens).toString());
+            for (int edit = 0; edit < 30; edit++) {
+                int offset = random.nextInt(text.length() + 1);
+                int removed = random.nextInt(Math.min(3, text.length() - offset) + 1);
+                String inserted = random.nextInt(3) == 0 ? "" : INSERTS[random.nextInt(INSERTS.length)];
+                String edited = text.substring(0, offset) + inserted + text.substring(offset + removed);
+                RelexResult result = lexer.retokenize(tokens, edited, offset, removed, inserted.length());
+                assertSameDiagnostics(edited, parser.update(result).toString());
+                tokens = result.getTokens();
+                text = edited;
+            }
+        }
+    }
+
+    // Uzun bir dosyanın ortasındaki düzenlemede sadece değişen statement yeniden ayrıştırılır;
+    // öncesindeki ve sonrasındaki kök statement'ları toptan kopyalanır
+    @Test
+    void reparsesOnlyTheEditedStatement() throws LexicalException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i % 7 == 0 ? "x + ;\n" : "int x = 1;\n");
+        }
+        String text = sb.toString();
+        IncrementalParser parser = new IncrementalParser();
+        TokenStream tokens = lexer.tokenizeStream(text);
+        parser.parse(tokens);
+
+        int offset = text.length() / 2;
+        offset = text.indexOf('=', offset) + 2;
+        String edited = text.substring(0, offset) + "2" + text.substring(offset);
+        RelexResult result = lexer.retokenize(tokens, edited, offset, 0, 1);
+        assertSameDiagnostics(edited, parser.update(result).toString());
+        assertEquals(1, parser.getParsedStatements());
+        assertEquals(999, parser.getReusedStatements());
+    }
+
+    private void assertSameDiagnostics(String text, String incremental) throws LexicalException {
+        assertEquals(new Parser(lexer.tokenizeStream(text)).diagnose().toString(), incremental, text);
+    }
+}
@@ -0,0 +1,57 @@
+package highlighter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hata kurtarma modunda artımlı taramanın sonucu, düzenlenmiş metnin baştan taranmasıyla aynı olmalıdır
+class RetokenizeTest {
+    private final Lexer lexer = new Lexer(true);
+
+    // Sondaki '"', '\"' kaçışını atlayan ilk kapanmayan string'i kapatır; sonraki kapanmayan string'den
+    // başlanırsa ilki UNKNOWN kalır
+    @Test
+    void quoteClosesEarliestUnclosedString() throws LexicalException {
+        String before = "\"a\n\\\"b\nx y z";
+        TokenStream tokens = lexer.tokenizeStream(before);
+        String after = before + "\"";
+        RelexResult result = lexer.retokenize(tokens, after, before.length(), 0, 1);
+        assertSameTokens(after, result.getTokens());
+        assertEquals(TokenType.STRING_LITERAL, result.getTokens().type(0));
+        assertEquals(after.length() - 1, result.getTokens().end(0));
+    }
+
+    // Tırnak, ters bölü ve satır sonu ağırlıklı metinlerde art arda düzenlemeler
+    @Test
+    void matchesFullLexOnRandomEdits() throws LexicalException {
+        Random random = new Random(11);
+        String alphabet = "\"\"\\\\\n ab1+/*'(){};";
+        for (int round = 0; round < 2000; round++) {
+            String text = randomText(random, alphabet, random.nextInt(40));
+            TokenStream tokens = lexer.tokenizeStream(text);
+            for (int edit = 0; edit < 20; edit++) {
+                int offset = random.nextInt(text.length() + 1);
+                int removed = random.nextInt(Math.min(3, text.length() - offset) + 1);
+                String inserted = randomText(random, alphabet, random.nextInt(3));
+                String edited = text.substring(0, offset) + inserted + text.substring(offset + removed);
+                tokens = lexer.retokenize(tokens, edited, offset, removed, inserted.length()).getTokens();
+                text = edited;
+                assertSameTokens(text, tokens);
+            }
+        }
+    }
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private void assertSameTokens(String text, TokenStream incremental) throws LexicalException {
+        assertEquals(lexer.tokenizeStream(text).toList().toString(), incremental.toList().toString(), text);
+    }
+}
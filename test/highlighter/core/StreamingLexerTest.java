@@ -0,0 +1,178 @@
+package highlighter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Pencereli Reader taraması, aynı metnin tokenizeStream ile taranmasıyla aynı token'ları ve aynı
+// hataları üretmelidir. Reader her okumada rastgele 1-9000 karakter verir; token'lar pencere sınırlarına
+// denk gelir, uzun yorum ve string'ler pencereyi büyütür.
+class StreamingLexerTest {
+    private static final String[] FRAGMENTS = {
+            "int x = 1;\n", "while (a <= b) { a++; }\n", "\"str\\\"ing\"", "'c'", "'\\n'", "// yorum\n",
+            "/* blok\n yorum */", "x+=y", "a&&b||!c", "3.14f", "42L", " ", "\n", "\t", "ğüş", "\"", "'", "#", "/",
+            "*", "\\"
+    };
+
+    @Test
+    void matchesTokenizeStreamInBothModes() throws IOException {
+        Random random = new Random(4);
+        for (int round = 0; round < 3000; round++) {
+            String text = randomText(random);
+            long seed = random.nextLong();
+            for (boolean recover : new boolean[]{true, false}) {
+                String expected = describe(() -> whole(new Lexer(recover), text));
+                String actual = describe(() -> streamed(new Lexer(recover), text, new Random(seed)));
+                assertEquals(expected, actual, (recover ? "recover: " : "") + text);
+            }
+        }
+    }
+
+    // Aynı Lexer art arda kullanılır: büyüyen pencere sonraki taramada küçültülür
+    @Test
+    void reusesLexerAcrossLargeAndSmallInputs() throws Exception {
+        Lexer lexer = new Lexer(true);
+        Random random = new Random(44);
+        String large = "/*" + "x".repeat(200_000) + "*/ int y = \"" + "s".repeat(100_000) + "\";\n";
+        String small = "int x = 1;\n";
+        for (String text : new String[]{large, small, large, small}) {
+            assertEquals(whole(new Lexer(true), text), streamed(lexer, text, random));
+        }
+    }
+
+    // Baştaki kapanmayan string, kapanışı aranırken dosyanın geri kalanını pencerede tutmaz:
+    // token, Reader 20M karakterin sonuna gelmeden üretilir
+    @Test
+    void unclosedStringDoesNotHoldRestOfInput() throws Exception {
+        String head = "x = \"oops;\n";
+        String line = "int a = 1; // yorum\n";
+        int lines = 20_000_000 / line.length();
+        RepeatingReader reader = new RepeatingReader(head, line, lines);
+        long[] readBeforeFirst = {-1};
+        int[] count = {0};
+        new Lexer(true).tokenize(reader, (type, start, end) -> {
+            if (count[0]++ == 2) {
+                assertEquals(TokenType.UNKNOWN, type);
+                assertEquals(head.length() - 2, end);
+                readBeforeFirst[0] = reader.position;
+            }
+        });
+        assertEquals(3 + 6L * lines + 1, count[0]);
+        assertTrue(readBeforeFirst[0] < 1_000_000, "okunan: " + readBeforeFirst[0]);
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int count = random.nextInt(40);
+        for (int i = 0; i < count; i++) {
+            if (random.nextInt(200) == 0) {
+                // Pencereden (8192) uzun tek bir token
+                sb.append(random.nextBoolean() ? "/*" + "*".repeat(9000 + random.nextInt(9000)) + "*/"
+                        : "\"" + "a\\\"".repeat(3000 + random.nextInt(3000)) + "\"");
+            } else {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Token'lar Reader ile taranır; metinleri sink içinden lexer'ın penceresinden okunur
+    private static String streamed(Lexer lexer, String text, Random random) throws IOException, LexicalException {
+        StringBuilder out = new StringBuilder();
+        StringWriter value = new StringWriter();
+        lexer.tokenize(new ChunkedReader(text, random), (type, start, end) -> {
+            value.getBuffer().setLength(0);
+            if (type != TokenType.EOF) lexer.writeText(start, end + 1, value);
+            out.append(type).append(' ').append(start).append('-').append(end).append(':').append(value).append('\n');
+        });
+        return out.toString();
+    }
+
+    private static String whole(Lexer lexer, String text) throws LexicalException {
+        TokenStream tokens = lexer.tokenizeStream(text);
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < tokens.size(); i++) {
+            out.append(tokens.type(i)).append(' ').append(tokens.start(i)).append('-').append(tokens.end(i)).append(':');
+            if (tokens.type(i) != TokenType.EOF) out.append(text, tokens.start(i), tokens.end(i) + 1);
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    // Taramanın sonucu ya da fırlattığı hatanın mesajı ve satırı
+    private static String describe(Scan scan) {
+        try {
+            return scan.run();
+        } catch (LexicalException e) {
+            return "LexicalException line " + e.getLineNumber() + ": " + e.getMessage();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private interface Scan {
+        String run() throws IOException, LexicalException;
+    }
+
+    // head'den sonra line'ı count kez verir; metin bellekte kurulmaz
+    private static final class RepeatingReader extends Reader {
+        private final String text;
+        private final long length;
+        private final int headLength;
+        private final int lineLength;
+        long position;
+
+        RepeatingReader(String head, String line, int count) {
+            this.text = head + line;
+            this.headLength = head.length();
+            this.lineLength = line.length();
+            this.length = headLength + (long) lineLength * count;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == this.length) return -1;
+            int count = (int) Math.min(length, this.length - position);
+            for (int i = 0; i < count; i++, position++) {
+                buffer[offset + i] = position < headLength ? text.charAt((int) position)
+                        : text.charAt(headLength + (int) ((position - headLength) % lineLength));
+            }
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    // Her read çağrısında 1-9000 karakter verir
+    private static final class ChunkedReader extends Reader {
+        private final String text;
+        private final Random random;
+        private int position;
+
+        ChunkedReader(String text, Random random) {
+            this.text = text;
+            this.random = random;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) return -1;
+            int count = Math.min(Math.min(length, 1 + random.nextInt(random.nextBoolean() ? 9 : 9000)),
+                    text.length() - position);
+            text.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
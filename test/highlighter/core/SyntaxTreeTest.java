@@ -0,0 +1,126 @@
+package highlighter.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Düz dizili ağacın biçimi: türler, token aralıkları ve üst/ilk çocuk/kardeş bağları.
+// wrap ve recover düğümleri yer değiştirdiği için bağlar her ağaçta ayrıca denetlenir.
+class SyntaxTreeTest {
+
+    @Test
+    void ifElse() throws LexicalException {
+        // if ( a ) x ; else { y ++ ; }
+        // 0  1 2 3 4 5 6    7 8 9  10 11
+        assertTree("if (a) x; else { y++; }",
+                "PROGRAM 0-11(IF 0-11(IDENTIFIER 2-2, EXPRESSION_STATEMENT 4-5(IDENTIFIER 4-4), "
+                        + "BLOCK 7-11(EXPRESSION_STATEMENT 8-10(POSTFIX 8-9(IDENTIFIER 8-8)))))");
+    }
+
+    @Test
+    void forLoop() throws LexicalException {
+        // for ( int i = 0 ; i < n ; i  ++ )  x  ;
+        // 0   1 2   3 4 5 6 7 8 9 10 11 12 13 14 15
+        assertTree("for (int i = 0; i < n; i++) x;",
+                "PROGRAM 0-15(FOR 0-15(DECLARATION 2-6(LITERAL 5-5), BINARY 7-9(IDENTIFIER 7-7, IDENTIFIER 9-9), "
+                        + "POSTFIX 11-12(IDENTIFIER 11-11), EXPRESSION_STATEMENT 14-15(IDENTIFIER 14-14)))");
+    }
+
+    // İkili operatörler sola bağlıdır, '*' '-'den önce bağlanır: (a - b) - (c * d)
+    @Test
+    void binaryPrecedenceAndAssociativity() throws LexicalException {
+        SyntaxTree tree = assertTree("a - b - c * d;",
+                "PROGRAM 0-7(EXPRESSION_STATEMENT 0-7(BINARY 0-6(BINARY 0-2(IDENTIFIER 0-0, IDENTIFIER 2-2), "
+                        + "BINARY 4-6(IDENTIFIER 4-4, IDENTIFIER 6-6))))");
+        int outer = tree.firstChild(tree.firstChild(tree.root()));
+        assertEquals(3, tree.operator(outer));
+        assertEquals(1, tree.operator(tree.firstChild(outer)));
+        assertEquals(5, tree.operator(tree.nextSibling(tree.firstChild(outer))));
+
+        assertTree("x-- < y || a && b;",
+                "PROGRAM 0-8(EXPRESSION_STATEMENT 0-8(BINARY 0-7(BINARY 0-3(POSTFIX 0-1(IDENTIFIER 0-0), "
+                        + "IDENTIFIER 3-3), BINARY 5-7(IDENTIFIER 5-5, IDENTIFIER 7-7))))");
+        assertTree("a + (b + c);",
+                "PROGRAM 0-7(EXPRESSION_STATEMENT 0-7(BINARY 0-6(IDENTIFIER 0-0, "
+                        + "PARENTHESIZED 2-6(BINARY 3-5(IDENTIFIER 3-3, IDENTIFIER 5-5)))))");
+    }
+
+    // Tekli operatörler sadece bir çarpana uygulanır: x + ((-(!y)) * (++z))
+    @Test
+    void prefixAndPostfixUnary() throws LexicalException {
+        SyntaxTree tree = assertTree("x + -!y * ++z;",
+                "PROGRAM 0-8(EXPRESSION_STATEMENT 0-8(BINARY 0-7(IDENTIFIER 0-0, BINARY 2-7(UNARY 2-4(UNARY 3-4("
+                        + "IDENTIFIER 4-4)), PREFIX 6-7(IDENTIFIER 7-7)))))");
+        int product = tree.nextSibling(tree.firstChild(tree.firstChild(tree.firstChild(tree.root()))));
+        assertEquals(2, tree.operator(tree.firstChild(product)));
+        assertEquals(6, tree.operator(tree.nextSibling(tree.firstChild(product))));
+        assertEquals(tree.nextSibling(tree.firstChild(product)), tree.parent(tree.nodeAt(7)));
+
+        tree = assertTree("y--;", "PROGRAM 0-2(EXPRESSION_STATEMENT 0-2(POSTFIX 0-1(IDENTIFIER 0-0)))");
+        assertEquals(1, tree.operator(tree.firstChild(tree.firstChild(tree.root()))));
+    }
+
+    // Hatalı statement ERROR olur, ayrıştırılabilen kısmı çocuk olarak kalır; sonraki statement'lar etkilenmez
+    @Test
+    void recoveryProducesErrorNodes() throws LexicalException {
+        // while ( a ) { b + ; c ; }
+        // 0     1 2 3 4 5 6 7 8 9 10
+        assertTree("while (a) { b + ; c; }",
+                "PROGRAM 0-10(WHILE 0-10(IDENTIFIER 2-2, BLOCK 4-10(ERROR 5-7(BINARY 5-6(IDENTIFIER 5-5)), "
+                        + "EXPRESSION_STATEMENT 8-9(IDENTIFIER 8-8))))");
+        // Kapanmayan parantez içindeki düğümler hatanın önündeki token'da biter
+        assertTree("x + (1 ;",
+                "PROGRAM 0-4(ERROR 0-4(BINARY 0-3(IDENTIFIER 0-0, PARENTHESIZED 2-3(LITERAL 3-3))))");
+        assertTree("int x = ;  y;", "PROGRAM 0-5(ERROR 0-3, EXPRESSION_STATEMENT 4-5(IDENTIFIER 4-4))");
+        // Eşleşmeyen '}' kökte tek token'lık ERROR olur
+        assertTree("} x;", "PROGRAM 0-2(ERROR 0-0, EXPRESSION_STATEMENT 1-2(IDENTIFIER 1-1))");
+    }
+
+    @Test
+    void emptyProgram() throws LexicalException {
+        SyntaxTree tree = assertTree("", "PROGRAM 0--1");
+        assertEquals(1, tree.size());
+        assertEquals(SyntaxTree.NONE, tree.nodeAt(0));
+    }
+
+    private static SyntaxTree assertTree(String source, String expected) throws LexicalException {
+        TokenStream tokens = new Lexer(true).tokenizeStream(source);
+        SyntaxTree tree = new Parser(tokens).parseTree();
+        assertEquals(expected, render(tree), source);
+        assertEquals(SyntaxTree.NONE, tree.parent(tree.root()));
+        assertEquals(tree.size(), checkLinks(tree, tree.root()), "Kökten ulaşılamayan düğüm var: " + source);
+        return tree;
+    }
+
+    // Çocukların üstü node'dur, sırayla ve node'un aralığı içinde yer alırlar; alt ağaçtaki düğüm sayısını döndürür
+    private static int checkLinks(SyntaxTree tree, int node) {
+        int count = 1;
+        int previousLast = tree.firstToken(node) - 1;
+        for (int child = tree.firstChild(node); child != SyntaxTree.NONE; child = tree.nextSibling(child)) {
+            assertEquals(node, tree.parent(child), "parent " + child);
+            assertTrue(tree.firstToken(child) > previousLast, "sıra " + child);
+            assertTrue(tree.lastToken(child) <= tree.lastToken(node), "aralık " + child);
+            previousLast = tree.lastToken(child);
+            count += checkLinks(tree, child);
+        }
+        return count;
+    }
+
+    private static String render(SyntaxTree tree) {
+        StringBuilder sb = new StringBuilder();
+        render(tree, tree.root(), sb);
+        return sb.toString();
+    }
+
+    private static void render(SyntaxTree tree, int node, StringBuilder sb) {
+        sb.append(tree.kind(node)).append(' ').append(tree.firstToken(node)).append('-').append(tree.lastToken(node));
+        int child = tree.firstChild(node);
+        if (child == SyntaxTree.NONE) return;
+        sb.append('(');
+        for (; child != SyntaxTree.NONE; child = tree.nextSibling(child)) {
+            render(tree, child, sb);
+            if (tree.nextSibling(child) != SyntaxTree.NONE) sb.append(", ");
+        }
+        sb.append(')');
+    }
+}
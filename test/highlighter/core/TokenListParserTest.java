@@ -0,0 +1,36 @@
+package highlighter.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Token listesinden kurulan Parser akıştakiyle aynı hataları verir. Metin verilmişse konumlar
+// akıştakiyle aynı satır ve sütunu gösterir; verilmemişse satır uydurulmaz, sadece pozisyon kalır.
+class TokenListParserTest {
+    private static final String SOURCE = "int x = 1;\n\n\nint y = ;\n";
+
+    @Test
+    void matchesStreamWhenSourceIsGiven() throws LexicalException {
+        List<Diagnostic> expected = new Parser(new Lexer(true).tokenizeStream(SOURCE)).diagnose();
+        List<Diagnostic> actual = new Parser(new Lexer(true).tokenize(SOURCE), SOURCE).diagnose();
+        assertEquals(1, expected.size());
+        assertEquals(4, expected.get(0).getLine());
+        assertEquals(9, expected.get(0).getColumn());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void omitsLineWithoutSource() throws LexicalException {
+        Diagnostic expected = new Parser(new Lexer(true).tokenizeStream(SOURCE)).diagnose().get(0);
+        List<Diagnostic> actual = new Parser(new Lexer(true).tokenize(SOURCE)).diagnose();
+        assertEquals(1, actual.size());
+        Diagnostic diagnostic = actual.get(0);
+        assertEquals(expected.getOffset(), diagnostic.getOffset());
+        assertEquals(expected.getMessage(), diagnostic.getMessage());
+        assertEquals(0, diagnostic.getLine());
+        assertEquals(0, diagnostic.getColumn());
+        assertEquals("Pozisyon " + expected.getOffset() + ": " + expected.getMessage(), diagnostic.toString());
+    }
+}
@@ -0,0 +1,126 @@
+package highlighter.grammar;
+
+import highlighter.core.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Tablo tabanlı ayrıştırıcı (Parser.accepts) özyinelemeli ayrıştırıcıyla (Parser.parse) aynı
+// programları kabul etmelidir
+class SimpleGrammarTest {
+    private static final String[] WORDS = {
+            "if", "else", "while", "for", "return", "int", "String", "x", "y", "1", "2.5", "\"s\"", "'c'",
+            "(", ")", "{", "}", ";", "=", "+", "-", "*", "/", "%", "<", ">", "<=", ">=", "==", "!=",
+            "&&", "||", "!", "++", "--", "boolean", "void", "true", ","
+    };
+    private static final String[] PREFIXES = {
+            "if (x) ", "while (x < 1) ", "for (int i = 0; i < 2; i++) ", "x = ", "int x = ", "return "
+    };
+    private static final int MAX_DEPTH = 12; // Bundan derinde en kısa alternatif seçilir
+
+    private final Lexer lexer = new Lexer();
+
+    // Dilbilgisindeki çakışmalar sadece bilerek bırakılan ikisidir; yenisi eklenirse test düşer
+    @Test
+    void onlyDocumentedConflicts() {
+        assertEquals(List.of(
+                "ElseOpt, 'else': 'ElseOpt -> 'else' Body' seçildi, 'ElseOpt -> ε' değil",
+                "ForInit, 'String': 'ForInit -> ! / 'String'' seçildi, 'ForInit -> Expr SEMICOLON' değil"),
+                SimpleGrammar.getTable().getConflicts());
+    }
+
+    // Rastgele kelime dizileri, bazen bir statement başıyla
+    @Test
+    void acceptsSameRandomPrograms() throws LexicalException {
+        Random random = new Random(7);
+        for (int round = 0; round < 20000; round++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextInt(3) == 0) sb.append(PREFIXES[random.nextInt(PREFIXES.length)]);
+            int count = random.nextInt(25);
+            for (int i = 0; i < count; i++) {
+                sb.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            assertSameAcceptance(sb.toString());
+        }
+    }
+
+    // Dilbilgisinden türetilmiş, bazıları birkaç kelimesi bozulmuş programlar
+    @Test
+    void acceptsSameGeneratedPrograms() throws LexicalException {
+        Random random = new Random(11);
+        Grammar grammar = SimpleGrammar.getGrammar();
+        for (int round = 0; round < 20000; round++) {
+            List<String> words = new ArrayList<>();
+            generate(grammar, grammar.getStart(), 0, random, words);
+            int mutations = random.nextInt(3);
+            for (int m = 0; m < mutations && !words.isEmpty(); m++) {
+                int at = random.nextInt(words.size());
+                String word = WORDS[random.nextInt(WORDS.length)];
+                switch (random.nextInt(3)) {
+                    case 0:
+                        words.remove(at);
+                        break;
+                    case 1:
+                        words.add(at, word);
+                        break;
+                    default:
+                        words.set(at, word);
+                }
+            }
+            assertSameAcceptance(String.join(" ", words));
+        }
+    }
+
+    private void assertSameAcceptance(String program) throws LexicalException {
+        TokenStream tokens = lexer.tokenizeStream(program);
+        assertEquals(new Parser(tokens).parse().isEmpty(), new Parser(tokens).accepts(), program);
+    }
+
+    // Sembolden rastgele bir sol türetme üretir
+    private static void generate(Grammar grammar, Symbol symbol, int depth, Random random, List<String> words) {
+        if (symbol.isTerminal()) {
+            if (symbol.getText() != null) {
+                words.add(symbol.getText());
+            } else if (symbol.getType().getText() != null) {
+                if (symbol.getType() != TokenType.EOF) words.add(symbol.getType().getText());
+            } else {
+                words.add(sample(symbol.getType(), random));
+            }
+            return;
+        }
+        List<GrammarRule> alternatives = new ArrayList<>();
+        for (GrammarRule rule : grammar.getRules()) {
+            if (rule.getLhs() == symbol && !rule.isReject()) alternatives.add(rule);
+        }
+        GrammarRule chosen = alternatives.get(random.nextInt(alternatives.size()));
+        if (depth > MAX_DEPTH) {
+            for (GrammarRule rule : alternatives) {
+                if (rule.getRhs().size() < chosen.getRhs().size()) chosen = rule;
+            }
+        }
+        for (Symbol child : chosen.getRhs()) {
+            generate(grammar, child, depth + 1, random, words);
+        }
+    }
+
+    private static String sample(TokenType type, Random random) {
+        switch (type) {
+            case IDENTIFIER:
+                return "v" + random.nextInt(3);
+            case INTEGER_LITERAL:
+                return "1";
+            case FLOAT_LITERAL:
+                return "2.5";
+            case STRING_LITERAL:
+                return "\"s\"";
+            case CHAR_LITERAL:
+                return "'c'";
+            default:
+                throw new IllegalStateException("No sample for " + type);
+        }
+    }
+}
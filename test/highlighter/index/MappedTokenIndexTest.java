@@ -0,0 +1,87 @@
+package highlighter.index;
+
+import highlighter.core.Keywords;
+import highlighter.core.Lexer;
+import highlighter.core.SymbolTable;
+import highlighter.core.TokenStream;
+import highlighter.core.TokenType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedTokenIndexTest {
+    private static final String SOURCE = "int x = 1;\nwhile (x < 10) { x = x + 1; }\n";
+    private static final int TYPES_AT = 32; // Başlıktan sonraki tür sütunu
+
+    @Test
+    void readsBackWrittenTokens(@TempDir Path directory) throws Exception {
+        TokenStream tokens = new Lexer().tokenizeStream(SOURCE);
+        Path file = directory.resolve("a.tok");
+        MappedTokenIndex.write(file, tokens);
+
+        MappedTokenIndex index = MappedTokenIndex.open(file, SOURCE);
+        assertNotNull(index);
+        assertEquals(tokens.size(), index.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(tokens.type(i), index.type(i), "type " + i);
+            assertEquals(tokens.start(i), index.start(i), "start " + i);
+            assertEquals(tokens.length(i), index.length(i), "length " + i);
+        }
+    }
+
+    // Bozuk tür baytı açarken yakalanır, dosya yeniden tarama için reddedilir
+    @Test
+    void rejectsUnknownTokenType(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("a.tok");
+        MappedTokenIndex.write(file, new Lexer().tokenizeStream(SOURCE));
+        for (int value : new int[]{TokenType.values().length, 0xff}) {
+            try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+                raw.seek(TYPES_AT + 2);
+                raw.write(value);
+            }
+            assertNull(MappedTokenIndex.open(file, SOURCE), "type byte " + value);
+        }
+    }
+
+    // Başlangıç ve uzunluk sütunları da açarken denetlenir; bozuk bir değer sonradan metni keserken
+    // StringIndexOutOfBoundsException'a yol açmaz
+    @Test
+    void rejectsCorruptedOffsets(@TempDir Path directory) throws Exception {
+        TokenStream tokens = new Lexer().tokenizeStream(SOURCE);
+        int size = tokens.size();
+        int startsAt = TYPES_AT + (size + 3) / 4 * 4;
+        int lengthsAt = startsAt + 4 * size;
+        int idsAt = lengthsAt + 4 * size;
+        int linesAt = idsAt + 4 * size;
+        int[][] corruptions = {
+                {startsAt + 4, -1},                         // Negatif başlangıç
+                {startsAt + 8, tokens.start(1) - 1},        // Önceki token'dan önce başlar
+                {lengthsAt + 4, 0},                         // EOF olmayan boş token
+                {lengthsAt + 4, -3},
+                {lengthsAt + 4 * (size - 2), SOURCE.length()}, // Metnin sonunu geçer
+                {startsAt + 4 * (size - 1), SOURCE.length() + 1}, // EOF metnin dışında
+                {idsAt, Keywords.WHILE},                    // 'int' başka bir anahtar kelimenin id'sini taşır
+                {idsAt, Keywords.COUNT},                    // Anahtar kelimede tanımlayıcı id'si
+                {idsAt, -1},
+                {idsAt + 4, Keywords.INT},                  // Tanımlayıcıda anahtar kelime id'si
+                {idsAt + 4, SymbolTable.STRING},            // 'x' String değildir
+                {idsAt + 8, Keywords.COUNT + 1},            // '=' sembol değildir
+                {linesAt, 1},                               // İlk satır 0'da başlamaz
+                {linesAt + 4, SOURCE.length() + 1},         // Satır başı metnin dışında
+        };
+        for (int[] corruption : corruptions) {
+            Path file = directory.resolve("a.tok");
+            MappedTokenIndex.write(file, tokens);
+            assertNotNull(MappedTokenIndex.open(file, SOURCE));
+            try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+                raw.seek(corruption[0]);
+                raw.writeInt(Integer.reverseBytes(corruption[1])); // Dosya küçük uçlu
+            }
+            assertNull(MappedTokenIndex.open(file, SOURCE), "offset " + corruption[0] + " = " + corruption[1]);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package highlighter.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramTest {
+
+    @Test
+    void keepsValuesBelowSixteenExact() {
+        Histogram histogram = new Histogram();
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, Histogram.bucketOf(value));
+            assertEquals(value, Histogram.upperBound(value));
+            histogram.record(value);
+        }
+        // 16 kayıt: her yüzde 1/16'lık bir adım
+        assertArrayEquals(new long[]{0, 7, 14, 15}, histogram.percentiles(0, 50, 90, 100));
+        assertEquals(16, histogram.count());
+        assertEquals(15, histogram.max());
+        assertEquals(120, histogram.sum());
+    }
+
+    @Test
+    void bucketBoundaries() {
+        // 16'dan sonra kovalar ikişer değer genişliğinde başlar: [16, 17], [18, 19], ...
+        assertEquals(Histogram.bucketOf(16), Histogram.bucketOf(17));
+        assertEquals(Histogram.bucketOf(17) + 1, Histogram.bucketOf(18));
+        assertEquals(17, Histogram.upperBound(Histogram.bucketOf(16)));
+        assertEquals(19, Histogram.upperBound(Histogram.bucketOf(18)));
+
+        // Her ikinin kuvveti yeni bir kova açar, bir öncesi önceki kovanın üst sınırıdır
+        for (int k = 4; k < 63; k++) {
+            long power = 1L << k;
+            assertEquals(Histogram.bucketOf(power - 1) + 1, Histogram.bucketOf(power), "2^" + k);
+            assertEquals(power - 1, Histogram.upperBound(Histogram.bucketOf(power - 1)), "2^" + k + "-1");
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.bucketOf(Long.MAX_VALUE)));
+
+        // Kovalar boşluksuz ve sıralıdır: bir kovanın üst sınırından sonraki değer sonraki kovadadır
+        int last = Histogram.bucketOf(Long.MAX_VALUE);
+        for (int bucket = 0; bucket < last; bucket++) {
+            long upper = Histogram.upperBound(bucket);
+            assertEquals(bucket, Histogram.bucketOf(upper), "bucket " + bucket);
+            assertEquals(bucket + 1, Histogram.bucketOf(upper + 1), "bucket " + bucket);
+        }
+    }
+
+    @Test
+    void errorIsAtMostOneEighth() {
+        Random random = new Random(22);
+        Histogram histogram = new Histogram();
+        long[] values = new long[20_000];
+        for (int i = 0; i < values.length; i++) {
+            // Her büyüklükten değer çıksın diye üs de rastgele
+            long value = random.nextLong() >>> 1 + random.nextInt(63);
+            values[i] = value;
+            histogram.record(value);
+            long upper = Histogram.upperBound(Histogram.bucketOf(value));
+            assertTrue(upper >= value && upper - value <= value / 8, "value " + value + " upper " + upper);
+        }
+        Arrays.sort(values);
+        double[] percents = {1, 25, 50, 90, 99, 99.9, 100};
+        long[] result = histogram.percentiles(percents);
+        for (int p = 0; p < percents.length; p++) {
+            long exact = values[(int) Math.ceil(values.length * percents[p] / 100) - 1];
+            assertTrue(result[p] >= exact && result[p] - exact <= exact / 8,
+                    "p" + percents[p] + ": " + result[p] + ", exact " + exact);
+        }
+        assertEquals(values[values.length - 1], result[percents.length - 1]);
+    }
+
+    @Test
+    void emptyHistogram() {
+        Histogram histogram = new Histogram();
+        assertArrayEquals(new long[]{0, 0, 0}, histogram.percentiles(50, 99, 100));
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test
+    void negativeValuesCountAsZero() {
+        Histogram histogram = new Histogram();
+        histogram.record(-5);
+        assertArrayEquals(new long[]{0}, histogram.percentiles(50));
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.sum());
+    }
+}
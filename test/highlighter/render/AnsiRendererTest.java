@@ -0,0 +1,35 @@
+package highlighter.render;
+
+import highlighter.core.Lexer;
+import highlighter.gui.Theme;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Kaynaktaki kontrol karakterleri terminale ulaşmaz; sadece çizicinin kendi renk dizileri kalır
+class AnsiRendererTest {
+    private static final String SOURCE = "x = \"\u001b[2J\u001b]0;title\u0007\";\t\u009b31m y\u007f;\r\n";
+    private static final String OWN_SEQUENCES = "\u001b\\[[0-9;]*m";
+
+    @Test
+    void escapesControlCharactersWhileStreaming() throws Exception {
+        StringWriter out = new StringWriter();
+        new AnsiRenderer(Theme.DARK).render(new StringReader(SOURCE), out);
+        assertVisible(out.toString());
+    }
+
+    @Test
+    void escapesControlCharactersFromTokenSource() throws Exception {
+        StringWriter out = new StringWriter();
+        new AnsiRenderer(Theme.DARK).render(new Lexer(true).tokenizeStream(SOURCE), out);
+        assertVisible(out.toString());
+    }
+
+    private static void assertVisible(String output) {
+        String text = output.replaceAll(OWN_SEQUENCES, "");
+        assertEquals("x = \"^[[2J^[]0;title^G\";\tM-^[31m y^?;\r\n", text);
+    }
+}
@@ -0,0 +1,102 @@
+package highlighter.server;
+
+import highlighter.core.TokenCategory;
+import highlighter.core.TokenType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Loopback'te boş bir portta açılan servise gerçek HTTP istekleri gönderilir
+class HighlightServerTest {
+    private static final int MAX_REQUEST_BYTES = 64;
+    private static final String SOURCE = "int x = 1;";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private HighlightServer server;
+    private String base;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = new HighlightServer(4, MAX_REQUEST_BYTES);
+        InetSocketAddress address = server.start(0);
+        base = "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void highlightsAsJson() throws Exception {
+        HttpResponse<String> response = post("/highlight", SOURCE);
+        assertEquals(200, response.statusCode());
+        assertEquals("application/json; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("{\"tokens\":[[\"KEYWORD\",\"KEYWORD\",0,3],[\"IDENTIFIER\",\"IDENTIFIER\",4,1],"
+                + "[\"ASSIGN\",\"OPERATOR\",6,1],[\"INTEGER_LITERAL\",\"LITERAL\",8,1],"
+                + "[\"SEMICOLON\",\"OPERATOR\",9,1]],\"diagnostics\":[]}", response.body());
+
+        // Tam olarak format olmayan parametreler biçimi değiştirmez
+        assertEquals(response.body(), post("/highlight?xformat=binary2", SOURCE).body());
+    }
+
+    @Test
+    void highlightsAsBinary() throws Exception {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(base + "/highlight?format=binary"))
+                .POST(HttpRequest.BodyPublishers.ofString("x + ;")).build(), HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(response.body()));
+        assertEquals(HighlightServer.BINARY_MAGIC, in.readInt());
+        assertEquals(HighlightServer.BINARY_VERSION, in.readShort());
+        assertEquals(3, in.readInt());
+        assertEquals(TokenType.IDENTIFIER.ordinal(), in.readByte());
+        assertEquals(TokenCategory.IDENTIFIER.ordinal(), in.readByte());
+        assertEquals(0, in.readInt());
+        assertEquals(1, in.readInt());
+        in.skipNBytes(2 * (2 + 4 + 4));
+        assertEquals(1, in.readInt()); // '+'dan sonra eksik operand
+        assertEquals(4, in.readInt());
+        in.skipNBytes(3 * 4);
+        assertFalse(in.readUTF().isEmpty());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    void rejectsUnknownFormat() throws Exception {
+        assertEquals(400, post("/highlight?format=xml", SOURCE).statusCode());
+        assertEquals(400, post("/highlight?a=1&format", SOURCE).statusCode());
+        assertEquals(200, post("/highlight?a=1&format=json", SOURCE).statusCode());
+    }
+
+    @Test
+    void rejectsLargeRequests() throws Exception {
+        HttpResponse<String> response = post("/highlight", "x".repeat(MAX_REQUEST_BYTES + 1));
+        assertEquals(413, response.statusCode());
+        assertTrue(response.body().contains("larger than " + MAX_REQUEST_BYTES), response.body());
+        assertEquals(200, post("/highlight", "x".repeat(MAX_REQUEST_BYTES - 1) + ";").statusCode());
+    }
+
+    @Test
+    void requiresPost() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(base + "/highlight")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, response.statusCode());
+        assertEquals("{\"error\":\"POST required\"}", response.body());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create(base + path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}